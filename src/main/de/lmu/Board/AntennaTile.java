@@ -1,5 +1,6 @@
 package de.lmu.Board;
 
+import de.lmu.cleverecousins.Direction;
 import de.lmu.cleverecousins.Player;
 import de.lmu.cleverecousins.Position;
 import de.lmu.cleverecousins.Robot;
@@ -13,18 +14,41 @@ import java.util.stream.Collectors;
  * <p>
  * The antenna itself does nothing on activation, but it provides helper logic to sort players
  * by priority: first by Manhattan distance to the antenna, then (for ties) by the clockwise angle
- * from the antenna to the robot position.
+ * from the direction the antenna faces to the robot position. The game does not sort with this
+ * tile directly: {@link CompiledMap#antennaRank(int)} holds the same order precomputed per field.
  */
 public class AntennaTile extends BoardTile {
 
+    /** Direction the antenna faces; the clockwise tiebreak starts there. */
+    private final Direction orientation;
+
     /**
-     * Creates an antenna tile at the given board position.
+     * Creates an antenna tile facing up at the given board position.
      *
      * @param position  tile coordinates
      * @param isOnBoard protocol flag/string indicating on-board state (passed to super)
      */
     public AntennaTile(Position position, String isOnBoard) {
+        this(position, isOnBoard, Direction.TOP);
+    }
+
+    /**
+     * Creates an antenna tile at the given board position.
+     *
+     * @param position    tile coordinates
+     * @param isOnBoard   protocol flag/string indicating on-board state (passed to super)
+     * @param orientation direction the antenna faces
+     */
+    public AntennaTile(Position position, String isOnBoard, Direction orientation) {
         super(position, isOnBoard);
+        this.orientation = orientation;
+    }
+
+    /**
+     * @return the direction the antenna faces
+     */
+    public Direction getOrientation() {
+        return orientation;
     }
 
     /**
@@ -65,21 +89,28 @@ public class AntennaTile extends BoardTile {
      * @param other position to compare
      * @return |dx| + |dy|
      */
-    private int manhattanDistance(Position other) {
+    int manhattanDistance(Position other) {
         return Math.abs(this.getPosition().getX() - other.getX()) +
                 Math.abs(this.getPosition().getY() - other.getY());
     }
 
     /**
-     * Tie-breaker: computes the clockwise angle from the antenna to the given position.
-     * Smaller angles have higher priority.
+     * Tie-breaker: computes the clockwise angle from the direction the antenna faces to the
+     * given position. Smaller angles have higher priority.
      *
      * @param other robot position
-     * @return angle in radians suitable for sorting
+     * @return angle in radians, {@code 0 <= angle < 2π}
      */
-    private double angleTo(Position other) {
+    double angleTo(Position other) {
         int dx = other.getX() - this.getPosition().getX();
-        int dy = this.getPosition().getY() - other.getY();
-        return Math.atan2(dx, dy);
+        int dy = other.getY() - this.getPosition().getY();
+        // so drehen, dass die Antenne nach oben zeigt (gegen den Uhrzeigersinn, y zeigt nach unten)
+        for (int i = 0; i < orientation.ordinal(); i++) {
+            int t = dx;
+            dx = dy;
+            dy = -t;
+        }
+        double angle = Math.atan2(dx, -dy);
+        return angle < 0 ? angle + 2 * Math.PI : angle;
     }
 }
@@ -1,77 +1,62 @@
 package de.lmu.Board;
 
+import de.lmu.cleverecousins.Direction;
 import de.lmu.cleverecousins.Position;
 import de.lmu.cleverecousins.Robot;
-import de.lmu.util.LogConfigurator;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.function.Consumer;
 
 /**
- * In-memory representation of the game board.
+ * The board of one game.
  * <p>
- * The board stores a 2D grid of {@link BoardTile} lists (multiple tiles can stack on one field),
- * tracks robot locations, and provides helpers such as restart-point lookup and maximum checkpoint count.
+ * The static map (tiles, walls, board elements, restart point) is a {@link CompiledMap} shared
+ * with every other game on the same map; this class only adds the state that changes while
+ * playing: robot locations and the energy cubes left on the energy spaces. The tile queries
+ * delegate to the map, so callers can keep using the board as before.
+ * <p>
+ * Robots are kept in an occupancy array over the cells of the map. The cell-based methods
+ * ({@link #getRobotAt(int)}, {@link #moveRobot(Robot, int)}) are what the movement code uses;
+ * robots always carry the canonical {@link Position} of their cell. A bit mask per row and
+ * column mirrors the occupancy, so {@link #firstRobot(int, Direction, int)} finds the robot a
+ * laser hits without walking the line, and {@link #forEachRobotWithin(int, int, Consumer)}
+ * visits only the occupied fields of a circle. All three are kept up to date by every move.
  */
 public class Board {
 
-    private static final Logger logger = Logger.getLogger(Board.class.getName());
-
-    static {
-        LogConfigurator.configureRootLogger(Level.FINE);
-    }
-
-    /** Board width in tiles. */
-    private final int width;
-
-    /** Board height in tiles. */
-    private final int height;
-
-    /** Grid of tile lists, indexed by [x][y]. */
-    private final List<BoardTile>[][] tiles;
+    /** The shared, immutable map. */
+    private final CompiledMap map;
 
-    /** Mapping from positions to robots currently occupying them. */
-    private final Map<Position, Robot> robotsOnBoard = new HashMap<>();
-
-    /** Cached restart point (first {@link RestartPointTile} found). */
-    private Position restartPoint;
+    /** Robot on each cell, {@code null} if the cell is free. */
+    private final Robot[] robots;
 
     /**
-     * Creates a new empty board with the given dimensions.
-     *
-     * @param width  number of columns
-     * @param height number of rows
+     * Occupied columns per row (bit x of entry y) and occupied rows per column (bit y of
+     * entry x); {@code null} if the map is wider or higher than 64 fields.
      */
-    @SuppressWarnings("unchecked")
-    public Board(int width, int height) {
-        this.width = width;
-        this.height = height;
-        this.tiles = new
-                ArrayList[width][height];
+    private final long[] rowMasks;
+    private final long[] columnMasks;
 
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                tiles[x][y] = new ArrayList<>();
-            }
-        }
-    }
+    /** Energy cubes still on each field, indexed by {@code y * width + x}. */
+    private final int[] energyCubes;
 
     /**
-     * Adds a tile at the given coordinates (if within bounds).
+     * Creates the board of a new game on the given map.
      *
-     * @param x    column index
-     * @param y    row index
-     * @param tile tile instance to add
+     * @param map the compiled map, possibly shared with other games
      */
-    public void addTile(int x, int y, BoardTile tile) {
-        logger.fine("[Board] Added tile: " + tile.getType() + " at (" + x + "," + y + ")");
-        if (isInBounds(x, y)) {
-            tiles[x][y].add(tile);
-        }
+    public Board(CompiledMap map) {
+        this.map = map;
+        this.energyCubes = map.energyCubes().clone();
+        this.robots = new Robot[map.getCellCount()];
+        boolean indexed = map.getWidth() <= Long.SIZE && map.getHeight() <= Long.SIZE;
+        this.rowMasks = indexed ? new long[map.getHeight()] : null;
+        this.columnMasks = indexed ? new long[map.getWidth()] : null;
+    }
+
+    /** @return the shared map of this board */
+    public CompiledMap getMap() {
+        return map;
     }
 
     /**
@@ -79,13 +64,10 @@ public class Board {
      *
      * @param x column
      * @param y row
-     * @return list of tiles (empty if out of bounds)
+     * @return unmodifiable list of tiles (empty if out of bounds)
      */
     public List<BoardTile> getTilesAt(int x, int y) {
-        if (isInBounds(x, y)) {
-            return tiles[x][y];
-        }
-        return List.of();
+        return map.getTilesAt(x, y);
     }
 
     /**
@@ -95,35 +77,40 @@ public class Board {
      * @return list of tiles at that position
      */
     public List<BoardTile> getTilesAt(Position pos) {
-        return getTilesAt(pos.getX(), pos.getY());
+        return map.getTilesAt(pos.getX(), pos.getY());
     }
 
     /**
      * @return {@code true} if (x,y) is inside the board boundaries
      */
     public boolean isInBounds(int x, int y) {
-        return x >= 0 && x < width && y >= 0 && y < height;
+        return map.isInBounds(x, y);
     }
 
     /** @return board width in tiles */
     public int getWidth() {
-        return width;
+        return map.getWidth();
     }
 
     /** @return board height in tiles */
     public int getHeight() {
-        return height;
+        return map.getHeight();
     }
 
     /**
      * Places a robot on the board at the given position and updates the robot's own position.
+     * Outside the board the robot only gets the position and occupies no cell.
      *
      * @param robot    robot to place
      * @param position target coordinates
      */
     public void placeRobot(Robot robot, Position position) {
-        robotsOnBoard.put(position, robot);
-        robot.setPosition(position);
+        int cell = map.cell(position);
+        if (cell < 0) {
+            robot.setPosition(position);
+            return;
+        }
+        occupy(cell, robot);
     }
 
     /**
@@ -133,9 +120,19 @@ public class Board {
      * @param newPosition new coordinates
      */
     public void moveRobot(Robot robot, Position newPosition) {
-        robotsOnBoard.remove(robot.getPosition());
-        robotsOnBoard.put(newPosition, robot);
-        robot.setPosition(newPosition);
+        removeRobot(robot);
+        placeRobot(robot, newPosition);
+    }
+
+    /**
+     * Moves a robot from its current cell to the given one.
+     *
+     * @param robot robot to move
+     * @param cell  valid target cell
+     */
+    public void moveRobot(Robot robot, int cell) {
+        removeRobot(robot);
+        occupy(cell, robot);
     }
 
     /**
@@ -145,7 +142,26 @@ public class Board {
      * @return robot or {@code null}
      */
     public Robot getRobotAt(Position pos) {
-        return robotsOnBoard.get(pos);
+        int cell = map.cell(pos);
+        return cell < 0 ? null : robots[cell];
+    }
+
+    /**
+     * Returns the robot on the given cell, or {@code null} if none.
+     *
+     * @param cell valid cell index
+     * @return robot or {@code null}
+     */
+    public Robot getRobotAt(int cell) {
+        return robots[cell];
+    }
+
+    /**
+     * @param robot a robot of this game
+     * @return the cell the robot stands on, or -1 if it is not on the board
+     */
+    public int cellOf(Robot robot) {
+        return map.cell(robot.getPosition());
     }
 
     /**
@@ -154,34 +170,183 @@ public class Board {
      * @param robot robot to remove
      */
     public void removeRobot(Robot robot) {
-        robotsOnBoard.remove(robot.getPosition());
+        int cell = map.cell(robot.getPosition());
+        if (cell >= 0 && robots[cell] == robot) {
+            vacate(cell);
+            return;
+        }
+        // Position wurde am Board vorbei geändert: alten Eintrag suchen, damit kein Geist zurückbleibt
+        for (int i = 0; i < robots.length; i++) {
+            if (robots[i] == robot) {
+                vacate(i);
+            }
+        }
+    }
+
+    private void occupy(int cell, Robot robot) {
+        robots[cell] = robot;
+        robot.setPosition(map.position(cell));
+        if (rowMasks != null) {
+            int x = cell % map.getWidth();
+            int y = cell / map.getWidth();
+            rowMasks[y] |= 1L << x;
+            columnMasks[x] |= 1L << y;
+        }
+    }
+
+    private void vacate(int cell) {
+        robots[cell] = null;
+        if (rowMasks != null) {
+            int x = cell % map.getWidth();
+            int y = cell / map.getWidth();
+            rowMasks[y] &= ~(1L << x);
+            columnMasks[x] &= ~(1L << y);
+        }
     }
 
     /**
-     * Searches the board for a {@link RestartPointTile} and caches its position.
+     * Returns the nearest robot on the line from a cell in the given direction, looking at most
+     * {@code range} fields ahead. The start cell itself is not checked. With the row and column
+     * masks this is a single bit search; on larger maps the line is walked.
      *
-     * @throws IllegalStateException if no restart point tile exists
+     * @param cell  valid start cell
+     * @param dir   direction to look in
+     * @param range number of fields to look at, e.g. {@link CompiledMap#reach(int, Direction)}
+     * @return the first robot within range, or {@code null}
      */
-    public void findRestartPoint() {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                for (BoardTile tile : tiles[x][y]) {
-                    if (tile instanceof RestartPointTile) {
-                        this.restartPoint = new Position(x, y);
-                        logger.fine("[DEBUG] Found RestartPoint at " + this.restartPoint);
-                        return;
+    public Robot firstRobot(int cell, Direction dir, int range) {
+        if (range <= 0) {
+            return null;
+        }
+        if (rowMasks == null) {
+            int c = cell;
+            for (int i = 0; i < range && (c = map.neighbour(c, dir)) >= 0; i++) {
+                if (robots[c] != null) {
+                    return robots[c];
+                }
+            }
+            return null;
+        }
+        int width = map.getWidth();
+        int x = cell % width;
+        int y = cell / width;
+        return switch (dir) {
+            case RIGHT -> {
+                long hits = rowMasks[y] & bits(x + 1, Math.min(x + range, width - 1));
+                yield hits == 0 ? null : robots[y * width + Long.numberOfTrailingZeros(hits)];
+            }
+            case LEFT -> {
+                long hits = rowMasks[y] & bits(Math.max(x - range, 0), x - 1);
+                yield hits == 0 ? null : robots[y * width + 63 - Long.numberOfLeadingZeros(hits)];
+            }
+            case BOTTOM -> {
+                long hits = columnMasks[x] & bits(y + 1, Math.min(y + range, map.getHeight() - 1));
+                yield hits == 0 ? null : robots[Long.numberOfTrailingZeros(hits) * width + x];
+            }
+            case TOP -> {
+                long hits = columnMasks[x] & bits(Math.max(y - range, 0), y - 1);
+                yield hits == 0 ? null : robots[(63 - Long.numberOfLeadingZeros(hits)) * width + x];
+            }
+        };
+    }
+
+    /**
+     * Calls {@code action} for every robot whose field lies within the given euclidean radius
+     * of a cell, the robot on the cell itself included. Per row of the circle only the occupied
+     * fields are visited (one mask per row); on larger maps the fields of each row are read.
+     *
+     * @param cell   valid centre cell
+     * @param radius radius in fields
+     * @param action called once per robot found
+     */
+    public void forEachRobotWithin(int cell, int radius, Consumer<Robot> action) {
+        int width = map.getWidth();
+        int x = cell % width;
+        int y = cell / width;
+        int top = Math.max(y - radius, 0);
+        int bottom = Math.min(y + radius, map.getHeight() - 1);
+        for (int row = top; row <= bottom; row++) {
+            int dy = row - y;
+            int dx = (int) Math.sqrt(radius * radius - dy * dy); // ganzzahlig: dx² + dy² <= r²
+            int left = Math.max(x - dx, 0);
+            int right = Math.min(x + dx, width - 1);
+            if (rowMasks == null) {
+                for (int c = row * width + left; c <= row * width + right; c++) {
+                    if (robots[c] != null) {
+                        action.accept(robots[c]);
                     }
                 }
+                continue;
             }
+            long hits = rowMasks[row] & bits(left, right);
+            while (hits != 0) {
+                action.accept(robots[row * width + Long.numberOfTrailingZeros(hits)]);
+                hits &= hits - 1;
+            }
+        }
+    }
+
+    /** @return a mask with bits {@code from..to} set, empty if {@code from > to} */
+    private static long bits(int from, int to) {
+        if (from > to) {
+            return 0L;
+        }
+        return (-1L >>> (63 - to)) & (-1L << from);
+    }
+
+    /**
+     * Takes one energy cube from the field, if any is left in this game.
+     *
+     * @param pos the energy space
+     * @return {@code true} if a cube was taken
+     */
+    public boolean takeEnergyCube(Position pos) {
+        int field = map.cell(pos);
+        if (field < 0 || energyCubes[field] == 0) {
+            return false;
         }
-        throw new IllegalStateException("No RestartPointTile on map!");
+        energyCubes[field]--;
+        return true;
     }
 
     /**
-     * @return cached restart point position (call {@link #findRestartPoint()} first)
+     * @return restart point position of the map
      */
     public Position getRestartPoint() {
-        return restartPoint;
+        return map.getRestartPoint();
+    }
+
+    /**
+     * Returns whether a wall blocks the way from field (x, y) in the given direction, on
+     * either side of the edge. Fields outside the board have no walls.
+     *
+     * @param x   column of the field
+     * @param y   row of the field
+     * @param dir direction of the move or beam
+     * @return {@code true} if a wall is in the way
+     */
+    public boolean isBlocked(int x, int y, Direction dir) {
+        return map.isBlocked(x, y, dir);
+    }
+
+    /**
+     * Same as {@link #isBlocked(int, int, Direction)} for a position.
+     *
+     * @param pos field to leave
+     * @param dir direction of the move or beam
+     * @return {@code true} if a wall is in the way
+     */
+    public boolean isBlocked(Position pos, Direction dir) {
+        return map.isBlocked(pos.getX(), pos.getY(), dir);
+    }
+
+    /**
+     * Returns the activation schedule of the board elements.
+     *
+     * @return the compiled board elements of the map
+     */
+    public BoardElements getElements() {
+        return map.getElements();
     }
 
     /**
@@ -190,17 +355,6 @@ public class Board {
      * @return max checkpoint number encountered (0 if none)
      */
     public int getMaxCheckpointCount() {
-        int max = 0;
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                for (BoardTile tile : tiles[x][y]) {
-                    if (tile instanceof CheckpointTile cp) {
-                        max = Math.max(max, cp.getCount());
-                    }
-                }
-            }
-        }
-        return max;
+        return map.getElements().getMaxCheckpoint();
     }
 }
-
@@ -0,0 +1,151 @@
+package de.lmu.Board;
+
+import de.lmu.cleverecousins.Direction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Activation schedule of a map: the board elements that act at the end of every register,
+ * grouped by kind in the order they fire (conveyors, blue before green, push panels, gears,
+ * board laser beams, energy spaces, checkpoints; robot lasers fire between board lasers and energy).
+ * <p>
+ * Compiled once with the {@link CompiledMap}, so the end-of-register phase only visits the fields
+ * that carry an element instead of scanning the whole tile grid every register. Each list is in
+ * grid order (x, then y) and immutable; the conveyors are compiled into a {@link ConveyorGraph}.
+ */
+public final class BoardElements {
+
+    private final ConveyorGraph conveyors;
+    private final List<PushPanelTile> pushPanels;
+    private final List<GearTile> gears;
+    private final List<LaserBeam> laserBeams;
+    private final List<EnergyTile> energySpaces;
+    private final List<CheckpointTile> checkpoints;
+
+    /** Highest checkpoint number on the map, 0 without checkpoints. */
+    private final int maxCheckpoint;
+
+    private BoardElements(ConveyorGraph conveyors, List<PushPanelTile> pushPanels, List<GearTile> gears, List<LaserBeam> laserBeams,
+                          List<EnergyTile> energySpaces, List<CheckpointTile> checkpoints) {
+        this.conveyors = conveyors;
+        this.pushPanels = Collections.unmodifiableList(pushPanels);
+        this.gears = Collections.unmodifiableList(gears);
+        this.laserBeams = Collections.unmodifiableList(laserBeams);
+        this.energySpaces = Collections.unmodifiableList(energySpaces);
+        this.checkpoints = Collections.unmodifiableList(checkpoints);
+        int max = 0;
+        for (CheckpointTile checkpoint : checkpoints) {
+            max = Math.max(max, checkpoint.getCount());
+        }
+        this.maxCheckpoint = max;
+    }
+
+    /**
+     * Collects the board elements of a map in one pass over its grid.
+     *
+     * @param map the map, with all tiles added
+     * @return the activation schedule of the map
+     */
+    static BoardElements compile(CompiledMap map) {
+        List<ConveyorBeltTile> belts = new ArrayList<>();
+        List<PushPanelTile> pushPanels = new ArrayList<>();
+        List<GearTile> gears = new ArrayList<>();
+        List<LaserBeam> laserBeams = new ArrayList<>();
+        List<EnergyTile> energySpaces = new ArrayList<>();
+        List<CheckpointTile> checkpoints = new ArrayList<>();
+
+        for (int x = 0; x < map.getWidth(); x++) {
+            for (int y = 0; y < map.getHeight(); y++) {
+                for (BoardTile tile : map.getTilesAt(x, y)) {
+                    if (tile instanceof ConveyorBeltTile belt) {
+                        belts.add(belt);
+                    } else if (tile instanceof PushPanelTile panel) {
+                        pushPanels.add(panel);
+                    } else if (tile instanceof GearTile gear) {
+                        gears.add(gear);
+                    } else if (tile instanceof BoardLaserTile laser) {
+                        addBeams(map, map.cell(x, y), laser, laserBeams);
+                    } else if (tile instanceof EnergyTile energy) {
+                        energySpaces.add(energy);
+                    } else if (tile instanceof CheckpointTile checkpoint) {
+                        checkpoints.add(checkpoint);
+                    }
+                }
+            }
+        }
+        return new BoardElements(ConveyorGraph.compile(map, belts), pushPanels, gears, laserBeams, energySpaces, checkpoints);
+    }
+
+    /**
+     * Adds a beam for every orientation in which the laser field is the emitter, i.e. the
+     * field upstream is walled off, off the map or carries no beam in that direction. The beam
+     * covers the following fields as long as they carry it and no wall is in between.
+     */
+    private static void addBeams(CompiledMap map, int cell, BoardLaserTile laser, List<LaserBeam> beams) {
+        for (Direction dir : laser.getOrientations()) {
+            Direction back = dir.opposite();
+            int upstream = map.neighbour(cell, back);
+            if (!map.isBlocked(cell, back) && upstream >= 0 && map.hasLaser(upstream, dir)) {
+                continue; // Feld mitten im Strahl
+            }
+            int length = 1;
+            int c = cell;
+            int next = map.neighbour(c, dir);
+            while (next >= 0 && !map.isBlocked(c, dir) && map.hasLaser(next, dir)) {
+                length++;
+                c = next;
+                next = map.neighbour(c, dir);
+            }
+            beams.add(new LaserBeam(cell, dir, length, laser.getCount()));
+        }
+    }
+
+    /**
+     * Returns whether a tile only acts in the end-of-register phase and must not be activated
+     * when a robot merely moves across it.
+     *
+     * @param tile the tile to check
+     * @return {@code true} for conveyors, push panels, gears, board lasers, energy spaces and checkpoints
+     */
+    public static boolean isScheduled(BoardTile tile) {
+        return tile instanceof ConveyorBeltTile || tile instanceof PushPanelTile || tile instanceof GearTile
+                || tile instanceof BoardLaserTile || tile instanceof EnergyTile || tile instanceof CheckpointTile;
+    }
+
+    /** @return the conveyor belts as successor table */
+    public ConveyorGraph getConveyors() {
+        return conveyors;
+    }
+
+    /** @return all push panels */
+    public List<PushPanelTile> getPushPanels() {
+        return pushPanels;
+    }
+
+    /** @return all gears */
+    public List<GearTile> getGears() {
+        return gears;
+    }
+
+    /** @return the board laser beams, one per emitter and direction */
+    public List<LaserBeam> getLaserBeams() {
+        return laserBeams;
+    }
+
+    /** @return all energy spaces */
+    public List<EnergyTile> getEnergySpaces() {
+        return energySpaces;
+    }
+
+    /** @return all checkpoints */
+    public List<CheckpointTile> getCheckpoints() {
+        return checkpoints;
+    }
+
+    /** @return the highest checkpoint number on the map (0 if none) */
+    public int getMaxCheckpoint() {
+        return maxCheckpoint;
+    }
+}
@@ -10,8 +10,8 @@ import java.util.List;
  * Tile that represents a board-mounted laser. It stores one or more firing orientations
  * and how many beams (strength) it emits in that direction.
  * <p>
- * The actual damage/animation logic should be implemented in {@link #activate(Robot)} or
- * elsewhere in the board processing pipeline.
+ * Every field of a beam carries such a tile. Hits are resolved per beam in the end-of-register
+ * phase, which needs the robots upstream on the beam, so {@link #activate(Robot)} does nothing.
  */
 public class BoardLaserTile extends BoardTile {
 
@@ -50,8 +50,7 @@ public class BoardLaserTile extends BoardTile {
     }
 
     /**
-     * Triggered when the tile activates for a robot. Implement laser hit logic here
-     * if the activation phase processes tiles individually.
+     * No effect; laser hits are resolved by the end-of-register phase (see {@link BoardElements}).
      *
      * @param robot robot currently being processed
      */
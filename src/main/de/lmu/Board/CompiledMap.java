@@ -0,0 +1,464 @@
+package de.lmu.Board;
+
+import de.lmu.cleverecousins.Direction;
+import de.lmu.cleverecousins.Position;
+import de.lmu.util.LogConfigurator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable, compiled form of a map, shared by every game played on it.
+ * <p>
+ * Besides the tile stacks, the static facts the rules ask for on every step are stored as
+ * flat arrays indexed by {@code y * width + x}: a field-kind bit set, the wall mask and the
+ * directions of the board laser beams. The activation schedule ({@link BoardElements}), the
+ * restart point, the reboot target and the antenna priority of every field and the energy
+ * cubes at game start are compiled here as well.
+ * <p>
+ * A field is addressed by its packed cell index {@code y * width + x}. The movement code works
+ * on cells only: {@link #neighbour(int, Direction)} replaces {@link Position#moved(Direction)},
+ * and {@link #position(int)} hands out one canonical {@link Position} per field, so a robot
+ * step allocates nothing. Canonical positions are shared and must not be modified.
+ * <p>
+ * Nothing in here changes during a game; robot positions and the energy cubes still left
+ * are kept by the per-game {@link Board} that wraps the map.
+ */
+public final class CompiledMap {
+
+    private static final Logger logger = Logger.getLogger(CompiledMap.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** Field-kind bits of {@link #flags}. */
+    public static final int PIT = 1;
+    public static final int CONVEYOR = 1 << 1;
+    public static final int PUSH_PANEL = 1 << 2;
+    public static final int GEAR = 1 << 3;
+    public static final int LASER = 1 << 4;
+    public static final int ENERGY = 1 << 5;
+    public static final int CHECKPOINT = 1 << 6;
+    public static final int START_POINT = 1 << 7;
+
+    /** {@link #rebootTarget(int)} of fields where a robot reboots on its own start point. */
+    public static final int REBOOT_AT_START = -1;
+
+    private final int width;
+    private final int height;
+
+    /** Tile stacks, indexed by [x][y]; every list is unmodifiable. */
+    private final List<BoardTile>[][] tiles;
+
+    /** Field kinds, one bit per tile type present on the field. */
+    private final byte[] flags;
+
+    /**
+     * Blocked sides per field: bit {@code 1 << dir.ordinal()} is set if a wall on this field or
+     * on the neighbour in {@code dir} is in the way.
+     */
+    private final byte[] walls;
+
+    /** Directions of the board laser beams crossing a field, one bit per direction. */
+    private final byte[] lasers;
+
+    /** Energy cubes on each field at game start. */
+    private final int[] energyCubes;
+
+    /** Board elements in activation order. */
+    private final BoardElements elements;
+
+    /** First {@link RestartPointTile} in grid order. */
+    private final Position restartPoint;
+
+    /**
+     * Where a robot leaving the game on a cell reboots: the cell of a restart point, or
+     * {@link #REBOOT_AT_START}. Derived from the board piece ({@link BoardTile#getIsOnBoard()})
+     * each field belongs to.
+     */
+    private final int[] rebootTarget;
+
+    /** Canonical position of every cell. */
+    private final Position[] positions;
+
+    /** Neighbour cell at {@code cell * 4 + dir.ordinal()}, -1 outside the map. */
+    private final int[] neighbours;
+
+    /**
+     * Line of sight at {@code cell * 4 + dir.ordinal()}: how many fields a beam leaving the cell
+     * in that direction crosses before a wall or the edge of the map stops it.
+     */
+    private final int[] reach;
+
+    /**
+     * Antenna priority per cell: 0 for the field nearest to the antenna, ties in distance
+     * broken clockwise from the direction it faces. {@code null} if the map has no antenna.
+     */
+    private final int[] antennaRank;
+
+    private CompiledMap(List<BoardTile>[][] tiles) {
+        this.width = tiles.length;
+        this.height = tiles[0].length;
+        this.tiles = tiles;
+        this.flags = new byte[width * height];
+        this.walls = new byte[width * height];
+        this.lasers = new byte[width * height];
+        this.energyCubes = new int[width * height];
+        this.positions = new Position[width * height];
+        this.neighbours = new int[width * height * 4];
+        this.reach = new int[width * height * 4];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int field = y * width + x;
+                positions[field] = new Position(x, y);
+                for (Direction dir : Direction.values()) {
+                    int nx = x + dx(dir);
+                    int ny = y + dy(dir);
+                    neighbours[field * 4 + dir.ordinal()] = isInBounds(nx, ny) ? ny * width + nx : -1;
+                }
+            }
+        }
+
+        Position restart = null;
+        AntennaTile antenna = null;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int field = y * width + x;
+                for (BoardTile tile : tiles[x][y]) {
+                    if (tile instanceof WallTile wall) {
+                        for (Direction side : wall.getBlockedSides()) {
+                            walls[field] |= (byte) (1 << side.ordinal());
+                            int nx = x + dx(side);
+                            int ny = y + dy(side);
+                            if (isInBounds(nx, ny)) {
+                                walls[ny * width + nx] |= (byte) (1 << side.opposite().ordinal());
+                            }
+                        }
+                    } else if (tile instanceof BoardLaserTile laser) {
+                        flags[field] |= (byte) LASER;
+                        for (Direction beam : laser.getOrientations()) {
+                            lasers[field] |= (byte) (1 << beam.ordinal());
+                        }
+                    } else if (tile instanceof EnergyTile energy) {
+                        flags[field] |= (byte) ENERGY;
+                        energyCubes[field] += energy.getCount();
+                    } else if (tile instanceof RestartPointTile && restart == null) {
+                        restart = positions[field];
+                    } else if (tile instanceof AntennaTile a && antenna == null) {
+                        antenna = a;
+                    } else {
+                        flags[field] |= (byte) kind(tile);
+                    }
+                }
+            }
+        }
+        if (restart == null) {
+            throw new IllegalStateException("No RestartPointTile on map!");
+        }
+        compileReach();
+        this.antennaRank = antenna == null ? null : compileAntennaRank(antenna);
+        this.restartPoint = restart;
+        this.rebootTarget = compileRebootTargets(cell(restart));
+        this.elements = BoardElements.compile(this);
+    }
+
+    /**
+     * Fills {@link #reach} from the far end of every row and column, so each entry is one more
+     * than the entry of the neighbour it looks at, unless a wall is in between.
+     */
+    private void compileReach() {
+        for (Direction dir : Direction.values()) {
+            // Felder in der Reihenfolge besuchen, in der der Nachbar in dir schon berechnet ist
+            boolean backwards = dir == Direction.RIGHT || dir == Direction.BOTTOM;
+            for (int i = 0; i < width * height; i++) {
+                int cell = backwards ? width * height - 1 - i : i;
+                int next = neighbours[cell * 4 + dir.ordinal()];
+                reach[cell * 4 + dir.ordinal()] = next < 0 || isBlocked(cell, dir) ? 0 : 1 + reach[next * 4 + dir.ordinal()];
+            }
+        }
+    }
+
+    /**
+     * Assigns every field its reboot target by board piece: fields of a start board reboot on
+     * the robot's start point; fields of a piece with restart points on the nearest of them
+     * (Manhattan distance, grid order on ties); fields of a piece without one on the map's
+     * first restart point.
+     *
+     * @param fallback cell of the first restart point in grid order
+     */
+    private int[] compileRebootTargets(int fallback) {
+        int cells = width * height;
+        String[] piece = new String[cells];
+        Map<String, List<Integer>> restartsByPiece = new HashMap<>();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int cell = y * width + x;
+                for (BoardTile tile : tiles[x][y]) {
+                    if (piece[cell] == null && tile.getIsOnBoard() != null) {
+                        piece[cell] = tile.getIsOnBoard().trim(); // manche Karten schreiben " Start A"
+                    }
+                    if (tile instanceof RestartPointTile && tile.getIsOnBoard() != null) {
+                        restartsByPiece.computeIfAbsent(tile.getIsOnBoard().trim(), k -> new ArrayList<>()).add(cell);
+                    }
+                }
+            }
+        }
+
+        int[] target = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            List<Integer> restarts = piece[cell] == null ? null : restartsByPiece.get(piece[cell]);
+            if (piece[cell] != null && piece[cell].startsWith("Start")) {
+                target[cell] = REBOOT_AT_START;
+            } else if (restarts == null) {
+                target[cell] = fallback;
+            } else {
+                int best = restarts.get(0);
+                for (int restart : restarts) {
+                    if (manhattan(cell, restart) < manhattan(cell, best)) {
+                        best = restart;
+                    }
+                }
+                target[cell] = best;
+            }
+        }
+        return target;
+    }
+
+    private int manhattan(int a, int b) {
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+    /**
+     * Ranks all fields by antenna priority once, so ordering robots needs no distances or angles.
+     * The rule is that of {@link AntennaTile#getPriorityOrder(List)}: Manhattan distance first,
+     * then the clockwise angle.
+     */
+    private int[] compileAntennaRank(AntennaTile antenna) {
+        Integer[] order = new Integer[width * height];
+        int[] distance = new int[order.length];
+        double[] angle = new double[order.length];
+        for (int cell = 0; cell < order.length; cell++) {
+            order[cell] = cell;
+            distance[cell] = antenna.manhattanDistance(positions[cell]);
+            angle[cell] = antenna.angleTo(positions[cell]);
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(c -> distance[c]).thenComparingDouble(c -> angle[c]));
+        int[] rank = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+
+    /**
+     * Compiles a map from its tile stacks. The lists are copied; conveyor belts are bound to
+     * the new map so they can follow their chain.
+     *
+     * @param tiles tile stacks indexed by [x][y], at least one column
+     * @return the compiled map
+     * @throws IllegalStateException if the map has no restart point
+     */
+    public static CompiledMap compile(List<BoardTile>[][] tiles) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<BoardTile>[][] copy = new List[tiles.length][];
+        for (int x = 0; x < tiles.length; x++) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            List<BoardTile>[] column = new List[tiles[x].length];
+            for (int y = 0; y < tiles[x].length; y++) {
+                column[y] = tiles[x][y] == null ? List.of() : List.copyOf(tiles[x][y]);
+            }
+            copy[x] = column;
+        }
+        CompiledMap map = new CompiledMap(copy);
+        for (List<BoardTile>[] column : copy) {
+            for (List<BoardTile> stack : column) {
+                for (BoardTile tile : stack) {
+                    if (tile instanceof ConveyorBeltTile belt) {
+                        belt.attach(map);
+                    }
+                }
+            }
+        }
+        logger.fine("[DEBUG] Karte kompiliert: " + map.width + "x" + map.height + ", RestartPoint " + map.restartPoint);
+        return map;
+    }
+
+    private static int kind(BoardTile tile) {
+        if (tile instanceof PitTile) return PIT;
+        if (tile instanceof ConveyorBeltTile) return CONVEYOR;
+        if (tile instanceof PushPanelTile) return PUSH_PANEL;
+        if (tile instanceof GearTile) return GEAR;
+        if (tile instanceof CheckpointTile) return CHECKPOINT;
+        if (tile instanceof StartPointTile) return START_POINT;
+        return 0;
+    }
+
+    /** @return column offset of one step in {@code dir} */
+    public static int dx(Direction dir) {
+        return dir == Direction.RIGHT ? 1 : dir == Direction.LEFT ? -1 : 0;
+    }
+
+    /** @return row offset of one step in {@code dir} (rows grow downwards) */
+    public static int dy(Direction dir) {
+        return dir == Direction.BOTTOM ? 1 : dir == Direction.TOP ? -1 : 0;
+    }
+
+    /** @return map width in tiles */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return map height in tiles */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return {@code true} if (x,y) is inside the map
+     */
+    public boolean isInBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /** @return number of fields, i.e. the size of the cell index range */
+    public int getCellCount() {
+        return positions.length;
+    }
+
+    /**
+     * @return cell index of (x, y), or -1 outside the map
+     */
+    public int cell(int x, int y) {
+        return isInBounds(x, y) ? y * width + x : -1;
+    }
+
+    /**
+     * @return cell index of the position, or -1 for {@code null} or outside the map
+     */
+    public int cell(Position pos) {
+        return pos == null ? -1 : cell(pos.getX(), pos.getY());
+    }
+
+    /**
+     * @param cell a valid cell index
+     * @return the canonical, shared position of the cell
+     */
+    public Position position(int cell) {
+        return positions[cell];
+    }
+
+    /**
+     * Returns the neighbouring cell, the packed form of {@link Position#moved(Direction)}.
+     *
+     * @param cell a valid cell index
+     * @param dir  direction of the step
+     * @return the cell one step away, or -1 if that leaves the map
+     */
+    public int neighbour(int cell, Direction dir) {
+        return neighbours[cell * 4 + dir.ordinal()];
+    }
+
+    /**
+     * Returns how far a beam leaving the cell in the given direction gets.
+     *
+     * @param cell a valid cell index
+     * @param dir  direction of the beam
+     * @return number of fields the beam crosses before a wall or the edge of the map
+     */
+    public int reach(int cell, Direction dir) {
+        return reach[cell * 4 + dir.ordinal()];
+    }
+
+    /**
+     * Returns the tiles of a field.
+     *
+     * @return unmodifiable list of tiles (empty if out of bounds)
+     */
+    public List<BoardTile> getTilesAt(int x, int y) {
+        return isInBounds(x, y) ? tiles[x][y] : List.of();
+    }
+
+    /**
+     * Returns whether a field carries a tile of the given kind.
+     *
+     * @param kind one of the field-kind bits, e.g. {@link #PIT}
+     * @return {@code false} outside the map
+     */
+    public boolean is(int x, int y, int kind) {
+        return isInBounds(x, y) && (flags[y * width + x] & kind) != 0;
+    }
+
+    /**
+     * Returns whether a wall blocks the way from field (x, y) in the given direction, on
+     * either side of the edge. Fields outside the map have no walls.
+     */
+    public boolean isBlocked(int x, int y, Direction dir) {
+        return isInBounds(x, y) && (walls[y * width + x] & (1 << dir.ordinal())) != 0;
+    }
+
+    /** Same as {@link #is(int, int, int)} for a valid cell index. */
+    public boolean is(int cell, int kind) {
+        return (flags[cell] & kind) != 0;
+    }
+
+    /** Same as {@link #isBlocked(int, int, Direction)} for a valid cell index. */
+    public boolean isBlocked(int cell, Direction dir) {
+        return (walls[cell] & (1 << dir.ordinal())) != 0;
+    }
+
+    /** Same as {@link #hasLaser(int, int, Direction)} for a valid cell index. */
+    public boolean hasLaser(int cell, Direction beam) {
+        return (lasers[cell] & (1 << beam.ordinal())) != 0;
+    }
+
+    /**
+     * Returns whether a board laser beam running in {@code beam} crosses field (x, y).
+     */
+    public boolean hasLaser(int x, int y, Direction beam) {
+        return isInBounds(x, y) && (lasers[y * width + x] & (1 << beam.ordinal())) != 0;
+    }
+
+    /** Energy cubes per field at game start; the caller must copy before changing it. */
+    int[] energyCubes() {
+        return energyCubes;
+    }
+
+    /**
+     * @param cell valid cell index, the field where a robot fell into a pit or left the board
+     * @return the cell of the restart point the robot reboots on, or {@link #REBOOT_AT_START}
+     */
+    public int rebootTarget(int cell) {
+        return rebootTarget[cell];
+    }
+
+    /** @return {@code true} if the map has an antenna, see {@link #antennaRank(int)} */
+    public boolean hasAntenna() {
+        return antennaRank != null;
+    }
+
+    /**
+     * @param cell valid cell index
+     * @return priority of a robot on the cell, lower goes first; 0 without antenna
+     */
+    public int antennaRank(int cell) {
+        return antennaRank == null ? 0 : antennaRank[cell];
+    }
+
+    /** @return the board elements in activation order */
+    public BoardElements getElements() {
+        return elements;
+    }
+
+    /** @return the restart point of the map */
+    public Position getRestartPoint() {
+        return restartPoint;
+    }
+}
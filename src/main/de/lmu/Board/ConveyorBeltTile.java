@@ -28,19 +28,20 @@ public class ConveyorBeltTile extends BoardTile {
     private final Direction exitDir;
     private final List<Direction> entryDirs;
     private final int speed;
-    private final Board board;
+
+    /** The map this belt belongs to, set once when the map is compiled. */
+    private CompiledMap map;
 
     /**
-     * Constructs a {@code ConveyorBeltTile} with the given position, directions, speed and board reference.
+     * Constructs a {@code ConveyorBeltTile} with the given position, directions and speed.
      *
      * @param position the tile's location on the board
      * @param isOnBoard indicator if the tile is part of the game board
      * @param directions a list where the first is the exit direction, and the rest (optional) are entry directions
      * @param speed how many steps the belt moves a robot during activation
-     * @param board the game board containing all tiles
      * @throws IllegalArgumentException if {@code directions} is null or empty
      */
-    public ConveyorBeltTile(Position position, String isOnBoard, List<Direction> directions, int speed, Board board) {
+    public ConveyorBeltTile(Position position, String isOnBoard, List<Direction> directions, int speed) {
         super(position, isOnBoard);
 
         if (directions == null || directions.isEmpty()) {
@@ -56,72 +57,55 @@ public class ConveyorBeltTile extends BoardTile {
         }
 
         this.speed = speed;
-        this.board = board;
     }
 
     /**
-     * Activates the conveyor belt, moving the given robot forward automatically.
+     * Binds the belt to the map it was compiled into; chained activation follows the map's
+     * {@link ConveyorGraph}.
      *
-     * If the belt supports chaining (has entry directions), the robot continues
-     * to move along connected conveyor tiles for up to {@code speed} steps.
+     * @param map the compiled map containing this belt
+     */
+    void attach(CompiledMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Activates the conveyor belt, moving the given robot forward automatically.
+     * <p>
+     * The robot follows the compiled successor table of the map for up to {@code speed}
+     * steps, turning on curves, and stops at walls or where the belts end. Only the robot is
+     * updated; games move all robots at once in the end-of-register phase instead.
      *
      * @param robot the robot to move
      */
     @Override
     public void activate(Robot robot) {
-        if (entryDirs.isEmpty()) {
+        if (map == null) {
             logger.fine("ConveyorBelt: Simple move " + speed + " step(s) towards " + exitDir);
             robot.moveInDirection(exitDir, speed);
-        } else {
-            logger.fine("ConveyorBelt: Start activate with entryDirs, speed = " + speed);
-
-            BoardTile currentTile = this;
-            Direction prevExitDir = this.exitDir;
-
-            for (int step = 0; step < speed; step++) {
-                ConveyorBeltTile belt = (ConveyorBeltTile) currentTile;
-                logger.fine("ConveyorBelt: Step " + (step + 1));
-                belt.stepOnAndMove(robot, prevExitDir);
-
-                prevExitDir = belt.getExitDir();
-                List<BoardTile> tilesAt = board.getTilesAt(robot.getPosition());
-                ConveyorBeltTile nextBelt = null;
-                for (BoardTile t : tilesAt) {
-                    if (t instanceof ConveyorBeltTile) {
-                        nextBelt = (ConveyorBeltTile) t;
-                        break;
-                    }
-                }
-                if (nextBelt == null) {
-                    break;
-                }
-
-                currentTile = nextBelt;
-            }
+            return;
         }
-    }
-
-    /**
-     * Moves a robot one step forward along the conveyor belt.
-     *
-     * Used internally for step-by-step chained movement.
-     *
-     * @param robot the robot to move
-     * @param prevExitDir the direction from which the robot arrived (used to compute entry logic)
-     */
-    public void stepOnAndMove(Robot robot, Direction prevExitDir) {
-        Direction entryDir = prevExitDir.opposite();
-        logger.fine("ConveyorBelt: Calculated entryDir = " + entryDir);
-
-        if (!entryDir.equals(exitDir)) {
-            if (entryDirs.contains(entryDir)) {
-                logger.fine("ConveyorBelt: Valid entry direction " + entryDir + " → follow exit " + exitDir + " (NO turning)");
-            } else {
-                logger.fine("ConveyorBelt: Entry direction " + entryDir + " not listed → still push straight towards " + exitDir);
+        ConveyorGraph belts = map.getElements().getConveyors();
+        int cell = map.cell(robot.getPosition());
+        for (int step = 0; step < speed && cell >= 0 && belts.speed(cell) > 0; step++) {
+            int next = belts.next(cell);
+            if (next == cell) {
+                break; // Wand
+            }
+            if (next == ConveyorGraph.OFF_MAP) {
+                robot.moveInDirection(belts.exit(cell), 1);
+                break;
+            }
+            int turn = belts.turn(cell);
+            if (turn > 0) {
+                robot.rotateClockwise();
+            } else if (turn < 0) {
+                robot.rotateCounterclockwise();
             }
+            robot.setPosition(map.position(next));
+            logger.fine("ConveyorBelt: Step " + (step + 1) + " to " + robot.getPosition());
+            cell = next;
         }
-        logger.fine("ConveyorBelt: Moving robot 1 step towards " + exitDir);
-        robot.moveInDirection(exitDir, 1);
     }
 
     /**
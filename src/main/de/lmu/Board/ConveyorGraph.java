@@ -0,0 +1,132 @@
+package de.lmu.Board;
+
+import de.lmu.cleverecousins.Direction;
+
+import java.util.List;
+
+/**
+ * The conveyor belts of a map, compiled into a successor table over its cells.
+ * <p>
+ * For every belt cell the table holds the belt speed, the cell the belt carries a robot to
+ * and the turn the robot makes on arrival: a robot carried onto a curved belt through one of
+ * its entry sides turns with the belt. A belt facing a wall keeps the robot on its cell; a belt
+ * leading off the map has no successor. All entries are indexed by the packed cell index of
+ * {@link CompiledMap}, so moving the robots on the belts costs a few array reads per robot.
+ */
+public final class ConveyorGraph {
+
+    /** {@link #next(int)} of a belt leading off the map. */
+    public static final int OFF_MAP = -1;
+
+    /** Belt speed per cell, 0 without a belt. */
+    private final byte[] speed;
+
+    /** Exit direction per cell, {@code null} without a belt. */
+    private final Direction[] exit;
+
+    /** Cell the belt carries a robot to, the cell itself if a wall is in the way. */
+    private final int[] next;
+
+    /** Turn on arrival at {@link #next}: 1 clockwise, -1 counterclockwise, 0 none. */
+    private final byte[] turn;
+
+    /** Number of belts per speed. */
+    private final int[] beltsBySpeed;
+
+    private ConveyorGraph(byte[] speed, Direction[] exit, int[] next, byte[] turn, int[] beltsBySpeed) {
+        this.speed = speed;
+        this.exit = exit;
+        this.next = next;
+        this.turn = turn;
+        this.beltsBySpeed = beltsBySpeed;
+    }
+
+    /**
+     * Compiles the successor table of the given belts.
+     *
+     * @param map   the map, with walls and neighbours compiled
+     * @param belts all conveyor belts of the map
+     * @return the conveyor graph of the map
+     */
+    static ConveyorGraph compile(CompiledMap map, List<ConveyorBeltTile> belts) {
+        int cells = map.getCellCount();
+        byte[] speed = new byte[cells];
+        Direction[] exit = new Direction[cells];
+        ConveyorBeltTile[] beltAt = new ConveyorBeltTile[cells];
+        int[] beltsBySpeed = new int[3];
+        for (ConveyorBeltTile belt : belts) {
+            int cell = map.cell(belt.getPosition());
+            beltAt[cell] = belt;
+            speed[cell] = (byte) Math.min(belt.getSpeed(), 2);
+            beltsBySpeed[speed[cell]]++;
+            exit[cell] = belt.getExitDir();
+        }
+
+        int[] next = new int[cells];
+        byte[] turn = new byte[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            Direction dir = exit[cell];
+            if (dir == null) {
+                next[cell] = cell;
+                continue;
+            }
+            if (map.isBlocked(cell, dir)) {
+                next[cell] = cell; // Wand: der Roboter bleibt stehen
+                continue;
+            }
+            int target = map.neighbour(cell, dir);
+            next[cell] = target < 0 ? OFF_MAP : target;
+            ConveyorBeltTile onto = target < 0 ? null : beltAt[target];
+            // Kurve: über eine Eingangsseite auf ein Band mit anderer Ausgangsrichtung
+            if (onto != null && onto.getEntryDirs().contains(dir.opposite())) {
+                if (onto.getExitDir() == dir.turnRight()) {
+                    turn[cell] = 1;
+                } else if (onto.getExitDir() == dir.turnLeft()) {
+                    turn[cell] = -1;
+                }
+            }
+        }
+        return new ConveyorGraph(speed, exit, next, turn, beltsBySpeed);
+    }
+
+    /**
+     * @param speed 2 for blue, 1 for green belts
+     * @return {@code true} if the map has belts of that speed
+     */
+    public boolean hasSpeed(int speed) {
+        return speed >= 0 && speed < beltsBySpeed.length && beltsBySpeed[speed] > 0;
+    }
+
+    /**
+     * @param cell valid cell index
+     * @return speed of the belt on the cell: 2 blue, 1 green, 0 no belt
+     */
+    public int speed(int cell) {
+        return speed[cell];
+    }
+
+    /**
+     * @param cell a belt cell
+     * @return direction the belt moves robots in
+     */
+    public Direction exit(int cell) {
+        return exit[cell];
+    }
+
+    /**
+     * @param cell a belt cell
+     * @return the cell the belt carries a robot to, the cell itself if a wall is in the way,
+     *         or {@link #OFF_MAP}
+     */
+    public int next(int cell) {
+        return next[cell];
+    }
+
+    /**
+     * @param cell a belt cell
+     * @return turn of a robot carried to {@link #next(int)}: 1 clockwise, -1 counterclockwise, 0 none
+     */
+    public int turn(int cell) {
+        return turn[cell];
+    }
+}
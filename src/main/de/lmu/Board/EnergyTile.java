@@ -8,8 +8,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Tile that dispenses a limited amount of energy. Each activation gives the robot
- * one energy (until the internal counter reaches zero) and decrements the stock.
+ * Tile that dispenses a limited amount of energy. The tile only stores the number of energy
+ * cubes at game start; it belongs to a {@link CompiledMap} shared by several games, so the
+ * cubes left in a game are counted by that game's {@link Board}.
  */
 public class EnergyTile extends BoardTile {
 
@@ -19,8 +20,8 @@ public class EnergyTile extends BoardTile {
         LogConfigurator.configureRootLogger(Level.FINE);
     }
 
-    /** Remaining energy units available on this tile. */
-    private int energyCount;
+    /** Energy units on this tile at game start. */
+    private final int energyCount;
 
     /**
      * Creates an energy tile.
@@ -35,18 +36,14 @@ public class EnergyTile extends BoardTile {
     }
 
     /**
-     * Gives one energy to the robot if any is left, then decrements the counter.
+     * No effect on the shared tile; the end-of-register phase takes a cube from the
+     * game's board ({@link Board#takeEnergyCube}) and credits the robot.
      *
      * @param robot robot currently being processed
      */
     @Override
     public void activate(Robot robot) {
-        logger.fine("EnergyTile: Aktueller Energie-Zähler = " + energyCount);
-        if(energyCount > 0){
-            energyCount--;
-            logger.fine("EnergyTile: Robot hat Energie erhalten, verbleibend: " + energyCount);
-        }
-        logger.fine("EnergyTile: Keine Energie mehr verfügbar. ");
+        logger.fine("EnergyTile: Energie-Würfel zu Spielbeginn = " + energyCount);
     }
 
     /**
@@ -58,7 +55,7 @@ public class EnergyTile extends BoardTile {
     }
 
     /**
-     * @return remaining energy units on this tile
+     * @return energy units on this tile at game start
      */
     public int getCount() {
         return energyCount;
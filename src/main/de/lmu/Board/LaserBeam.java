@@ -0,0 +1,17 @@
+package de.lmu.Board;
+
+import de.lmu.cleverecousins.Direction;
+
+/**
+ * One board laser beam, compiled from the {@link BoardLaserTile}s that cover its fields.
+ * <p>
+ * The beam starts on the emitter field and runs {@code length} fields in {@code direction};
+ * the first robot on those fields is hit.
+ *
+ * @param source    cell index of the emitter field
+ * @param direction direction the beam travels
+ * @param length    number of fields covered, including the emitter field
+ * @param damage    Spam cards dealt per hit
+ */
+public record LaserBeam(int source, Direction direction, int length, int damage) {
+}
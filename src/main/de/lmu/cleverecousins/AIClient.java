@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.lmu.cleverecousins.protocol.message.*;
 import de.lmu.cleverecousins.protocol.messageBody.*;
+import de.lmu.util.HashedWheelTimer;
 import de.lmu.util.LogConfigurator;
 
 import java.io.BufferedReader;
@@ -65,7 +66,7 @@ public class AIClient {
     private Socket socket;
     private BufferedReader in;
     private PrintWriter out;
-    private Timer aliveTimer;
+    private HashedWheelTimer.Timeout aliveTimer;
 
     // --- Runtime state ---
     /** Client ID assigned by the server. */
@@ -163,18 +164,12 @@ public class AIClient {
      * Starts a timer that sends an Alive message every 5 seconds to keep the connection alive.
      */
     private void startAliveSender() {
-        aliveTimer = new Timer();
-        aliveTimer.scheduleAtFixedRate(new TimerTask() {
-
-            @Override
-            public void run() {
-                try {
-                    sendAliveMessage();
-                } catch (IOException e) {
-                    logger.log(Level.WARNING, "Alive konnte nicht gesendet werden: " + e.getMessage(), e);
-                    aliveTimer.cancel();
-                    closeConnection();
-                }
+        aliveTimer = HashedWheelTimer.shared().scheduleAtFixedRate(() -> {
+            try {
+                sendAliveMessage();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Alive konnte nicht gesendet werden: " + e.getMessage(), e);
+                closeConnection();
             }
         }, 0, 5000); // alle 5 Sekunden
     }
@@ -193,20 +188,17 @@ public class AIClient {
     /**
      * Sets our status to "ready" after joining the game. The message is delayed to avoid race conditions.
      *
-     * @throws IOException not thrown directly because the code runs inside a TimerTask
+     * @throws IOException not thrown directly because the code runs inside a timer task
      */
     private void sendStatus() throws IOException {
 
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    String json = "{\"messageType\":\"SetStatus\",\"messageBody\":{\"ready\":true}}";
-                    out.println(json);
-                    logger.fine("[KI] SetStatus auf ready gesendet. ");
-                } catch (Exception e) {
-                    logger.log(Level.SEVERE, "[KI] Fehler beim Senden von SetStatus", e);
-                }
+        HashedWheelTimer.shared().schedule(() -> {
+            try {
+                String json = "{\"messageType\":\"SetStatus\",\"messageBody\":{\"ready\":true}}";
+                out.println(json);
+                logger.fine("[KI] SetStatus auf ready gesendet. ");
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "[KI] Fehler beim Senden von SetStatus", e);
             }
         }, 4000); // 4 seconds delay
 
@@ -279,12 +271,7 @@ public class AIClient {
      * @param delayMs milliseconds to wait before retrying
      */
     private void retrySetStartingPoint(int delayMs) {
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                sendSetStartingPointLogic();
-            }
-        }, delayMs);
+        HashedWheelTimer.shared().schedule(this::sendSetStartingPointLogic, delayMs);
     }
 
     /**
@@ -397,12 +384,7 @@ public class AIClient {
 
                 if (startPoints.isEmpty()) {
                     logger.warning("Startpunkte leer, versuche es später erneut...");
-                    new Timer().schedule(new TimerTask() {
-                        @Override
-                        public void run() {
-                            sendSetStartingPointLogic();
-                        }
-                    }, 200);
+                    HashedWheelTimer.shared().schedule(this::sendSetStartingPointLogic, 200);
                 } else {
                     sendSetStartingPointLogic();
                 }
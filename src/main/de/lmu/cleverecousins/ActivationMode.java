@@ -0,0 +1,50 @@
+package de.lmu.cleverecousins;
+
+/**
+ * How the registers are executed in the activation phase.
+ * <p>
+ * The mode is chosen once at server startup, either via an {@code --activation=<name>} program
+ * argument or the {@code roborally.activation} system property, and applies to every room.
+ */
+public enum ActivationMode {
+
+    /**
+     * Every player plays the card of the current register with {@code PlayCard} when prompted
+     * via {@code CurrentCards}; the next player is prompted after a short pause (original behaviour).
+     */
+    CLIENT,
+
+    /**
+     * The server executes all five registers of all robots as soon as the programming timer has
+     * ended. Each register is sent as one batch of messages (the {@code CurrentCards} of all
+     * players, then movements, card effects and shots in execution order); clients only animate
+     * and {@code PlayCard} is ignored.
+     */
+    SERVER;
+
+    /** System property that selects the mode if no program argument is given. */
+    public static final String PROPERTY = "roborally.activation";
+
+    /**
+     * Resolves the mode from the program arguments, falling back to the system property
+     * and finally to {@link #CLIENT}.
+     *
+     * @param args program arguments of {@code Server.main}
+     * @return the selected mode
+     * @throws IllegalArgumentException if an unknown mode name is given
+     */
+    public static ActivationMode fromArgs(String[] args) {
+        String value = System.getProperty(PROPERTY);
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--activation=")) {
+                    value = arg.substring("--activation=".length());
+                }
+            }
+        }
+        if (value == null || value.isBlank()) {
+            return CLIENT;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -4,12 +4,15 @@ package de.lmu.cleverecousins;
  * thread of each player is responsible for receiving, sending messeages and broadcasting
  */
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import de.lmu.Board.Board;
-import de.lmu.cleverecousins.protocol.MapBuilder;
-import de.lmu.cleverecousins.protocol.cheats.CheatMoveMessage;
-import de.lmu.cleverecousins.protocol.cheats.CheatTurnMessage;
+import de.lmu.cleverecousins.network.ClientTransport;
+import de.lmu.cleverecousins.network.ConnectionHandler;
+import de.lmu.cleverecousins.network.OutboundFrame;
+import de.lmu.cleverecousins.network.SocketTransport;
+import de.lmu.cleverecousins.protocol.MapCache;
+import de.lmu.cleverecousins.protocol.MessageDecoder;
+import de.lmu.cleverecousins.protocol.cheats.CheatMoveBody;
+import de.lmu.cleverecousins.protocol.cheats.CheatTurnBody;
 import de.lmu.cleverecousins.protocol.message.*;
 import de.lmu.cleverecousins.protocol.messageBody.*;
 import de.lmu.util.LogConfigurator;
@@ -17,9 +20,9 @@ import de.lmu.util.LogConfigurator;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.net.Socket;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
@@ -28,8 +31,10 @@ import java.util.logging.Logger;
 /**
  * The {@code ClientManager} class handles communication with a single client in a multiplayer game server.
  * <p>
- * Each instance runs in its own thread and is responsible for receiving and sending JSON messages,
- * processing protocol-specific commands, maintaining the connection, and updating the game state accordingly.
+ * Each instance is responsible for receiving and sending JSON messages, processing protocol-specific
+ * commands, maintaining the connection, and updating the game state accordingly. In the blocking engine
+ * {@link #run()} reads the socket on a thread of its own, a platform or a virtual one; in the NIO
+ * engine the selector thread feeds it through the {@link ConnectionHandler} callbacks instead.
  * </p>
  *
  * <p>Main responsibilities include:</p>
@@ -46,7 +51,7 @@ import java.util.logging.Logger;
  * @author Gabriel
  * @version 1.0
  */
-public class ClientManager extends Thread {
+public class ClientManager implements Runnable, ConnectionHandler {
 
     /**
      * Logger used for debugging and tracking important events during game phases.
@@ -62,19 +67,21 @@ public class ClientManager extends Thread {
     // --- Network and Communication ---
 
     /**
-     * The socket connection between this server thread and the client.
+     * The connection to the client, either a blocking socket or a non-blocking channel.
      */
-    private Socket socket;
+    private final ClientTransport transport;
 
     /**
      * Input stream to receive messages from the client.
+     * Only used by the blocking engine; {@code null} for NIO connections.
      */
     private BufferedReader in;
 
     /**
-     * Output stream to send messages to the client.
+     * Thread running the read loop of {@link #run()}; {@code null} for NIO connections and
+     * before the loop has started. Interrupted by {@link #disconnect()}.
      */
-    private PrintWriter out;
+    private volatile Thread reader;
 
     /**
      * A static set containing all connected client threads.
@@ -120,62 +127,99 @@ public class ClientManager extends Thread {
      */
     private long lastAliveTimestamp = System.currentTimeMillis();
 
-    // --- Shared Session State ---
+    // --- Game Logic References ---
+
+    /** Recipients before the login, when the client is in no room yet. */
+    private static final ClientManager[] NO_MEMBERS = new ClientManager[0];
 
     /**
-     * Tracks whether the map selection phase has started.
-     * Only the first ready player will be allowed to choose the map.
+     * Registry of all rooms hosted by the server.
      */
-    private static boolean isMapSelectionPhase = false;
+    private final RoomRegistry rooms;
 
     /**
-     * Holds a reference to the first player who marked themselves as ready.
-     * This player will be prompted to select the game map.
+     * The room this client currently plays in; {@code null} before the login.
+     * All game broadcasts of this client go to the members of this room only.
      */
-    private static ClientManager firstReadyPlayer = null;
+    private volatile GameRoom room;
 
-    // --- JSON Utilities ---
+    /**
+     * Creates a new {@code ClientManager} instance for managing communication with a single client.
+     * This constructor initializes the socket streams for input and output. The client joins a
+     * {@link GameRoom} from the given registry when it logs in.
+     *
+     * @param socket   the client socket used for communication
+     * @param clients  the shared set of all connected {@code ClientManager} instances
+     * @param rooms    the registry of all game rooms
+     * @throws IOException if an I/O error occurs while creating the input or output streams
+     */
+    public ClientManager(Socket socket, Set<ClientManager> clients, RoomRegistry rooms) throws IOException {
+        this(new SocketTransport(socket), clients, rooms);
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+    }
 
     /**
-     * Jackson ObjectMapper used for parsing and serializing JSON messages.
+     * Creates a new {@code ClientManager} for an already established transport.
+     * Used by the NIO engine, which reads from the channel itself and delivers complete lines
+     * through {@link #onLine(String)}.
+     *
+     * @param transport the connection used to send messages to the client
+     * @param clients   the shared set of all connected {@code ClientManager} instances
+     * @param rooms     the registry of all game rooms
      */
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    public ClientManager(ClientTransport transport, Set<ClientManager> clients, RoomRegistry rooms) {
+        this.transport = transport;
+        this.clients = clients;
+        this.rooms = rooms;
+        this.lastAliveTimestamp = System.currentTimeMillis(); // neu
+    }
 
-    // --- Game Logic References ---
+    /**
+     * Returns the room this client is currently in.
+     *
+     * @return the room, or {@code null} before the login
+     */
+    public GameRoom getRoom() {
+        return room;
+    }
 
     /**
-     * The list representing the player turn order. Filled during login.
+     * Sets the room of this client. Called by the {@link RoomRegistry} only.
+     *
+     * @param room the new room, or {@code null} after leaving
      */
-    private final List<Integer> playerOrder = new ArrayList<>();
+    void setRoom(GameRoom room) {
+        this.room = room;
+    }
 
     /**
-     * Reference to the shared {@link Game} instance representing the full game state.
+     * Returns the game of the client's room.
+     *
+     * @return the game state shared by all members of the room
      */
-    private final Game game;
+    private Game game() {
+        return room.getGame();
+    }
 
     /**
-     * Controller responsible for managing all game phases and logic.
+     * Returns the controller of the game running in the client's room.
+     *
+     * @return the controller, or {@code null} if the game has not started yet
      */
-    private final GamePhaseController phaseController;
+    private GamePhaseController phaseController() {
+        GameRoom current = room;
+        return current != null ? current.getPhaseController() : null;
+    }
 
     /**
-     * Creates a new {@code ClientManager} instance for managing communication with a single client.
-     * This constructor initializes the socket streams for input and output, assigns the shared game instance,
-     * and sets up the reference to the {@link GamePhaseController}.
+     * Returns the members of the client's room, the recipients of all game broadcasts.
+     * The array is an immutable snapshot and can be iterated without locking.
      *
-     * @param socket           the client socket used for communication
-     * @param clients          the shared set of all connected {@code ClientManager} instances
-     * @param phaseController  the controller responsible for managing game phases
-     * @throws IOException if an I/O error occurs while creating the input or output streams
+     * @return the room members, or an empty array before the login
      */
-    public ClientManager(Socket socket, Set<ClientManager> clients, GamePhaseController phaseController) throws IOException {
-        this.socket = socket;
-        this.clients = clients;
-        this.game = Server.sharedGame; // alle greifen auf die gleiche Game-Instanz zu!
-        this.phaseController = phaseController;
-        in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        out = new PrintWriter(socket.getOutputStream(), true);
-        this.lastAliveTimestamp = System.currentTimeMillis(); // neu
+    private ClientManager[] roomMembers() {
+        GameRoom current = room;
+        return current != null ? current.members() : NO_MEMBERS;
     }
 
     /**
@@ -190,20 +234,45 @@ public class ClientManager extends Thread {
     /**
      * Checks whether the connection to the client is closed.
      *
-     * @return {@code true} if the socket is {@code null} or already closed; {@code false} otherwise.
+     * @return {@code true} if the connection is already closed; {@code false} otherwise.
      */
     public boolean isClosed() {
-        return socket == null || socket.isClosed();
+        return !transport.isOpen();
     }
 
     /**
      * Sends a JSON-formatted message to the connected client.
+     * The message is queued and written asynchronously; the call never blocks on the socket.
      *
      * @param json the message to send
-     * @throws IOException if an I/O error occurs when sending the message
+     * @throws IOException if the connection is closed or its send queue overflowed
      */
     public void sendMessageToClient(String json) throws IOException {
-        out.println(json);
+        transport.write(json);
+    }
+
+    /**
+     * Sends a JSON-formatted message that may be dropped if the client cannot keep up,
+     * depending on the configured {@link de.lmu.cleverecousins.network.OverflowPolicy}.
+     *
+     * @param json        the message to send
+     * @param coalescable {@code true} for transient messages (alive, animation, system notices)
+     * @throws IOException if the connection is closed or its send queue overflowed
+     */
+    public void sendMessageToClient(String json, boolean coalescable) throws IOException {
+        transport.write(json, coalescable);
+    }
+
+    /**
+     * Sends an already encoded frame. Used for broadcasts: the frame is encoded once and
+     * shared by all recipients; this client's queue keeps its own reference.
+     *
+     * @param frame       the encoded message
+     * @param coalescable {@code true} for transient messages
+     * @throws IOException if the connection is closed or its send queue overflowed
+     */
+    public void sendFrame(OutboundFrame frame, boolean coalescable) throws IOException {
+        transport.send(frame, coalescable);
     }
 
     /**
@@ -239,72 +308,97 @@ public class ClientManager extends Thread {
     /**
      * Continuously listens for incoming JSON messages from the connected client and dispatches them for processing.
      *
-     * <p>This method is the main loop of the client thread. It:
+     * <p>This method is the main loop of the client thread in the blocking engine. It:
      * <ul>
-     *   <li>Sends an initial {@code HelloClient} message to confirm the protocol version.</li>
-     *   <li>Continuously reads lines from the input stream and passes each message to the {@code messageDispatcher()} method.</li>
-     *   <li>Handles exceptions gracefully and performs cleanup when the client disconnects or an error occurs.</li>
+     *   <li>Sends an initial {@code HelloClient} message via {@link #onOpen()}.</li>
+     *   <li>Continuously reads lines from the input stream and passes each one to {@link #onLine(String)}.</li>
+     *   <li>Performs cleanup through {@link #onClose()} when the client disconnects or an error occurs.</li>
      * </ul>
      *
-     * <p>Note: This method is automatically invoked when the thread is started.</p>
+     * <p>Note: The server runs this method on a platform or virtual thread of its own.</p>
      */
     @Override
     public void run() {
-        // notify the player to do the log in
-        /** HelloClient: Give the protocol version when client first succesfully connected to server*/
+        reader = Thread.currentThread();
         try {
-            String helloClient = NetworkManager.serialize(
-                    new HelloClientMessage(new HelloClientBody("Version 1.0"))
-            );
-            sendMessageToClient(helloClient);
+            onOpen();
 
             String line;
             while ((line = in.readLine()) != null) {
-                if (line.isBlank()) continue;
-
-                try {
-                    messageDispatcher(line);
-                } catch (IOException ex) {
-                    logger.log(Level.WARNING, "[ERROR] Fehler im messageDispatcher", ex);
-                } catch (Exception ex) {
-                    logger.log(Level.SEVERE, "[ERROR] Unerwarteter Fehler im Dispatcher", ex);
-                }
+                onLine(line);
             }
 
             logger.info("[INFO] Client hat die Verbindung geschlossen: " + getPlayerName());
-            disconnectCleanup();
-
         } catch (IOException e) {
-            logger.log(Level.SEVERE, "[ERROR] Verbindung zum Client verloren. ", e);
-            disconnectCleanup();
+            logger.log(Level.WARNING, "[WARN] Verbindung zu Client " + clientID + " verloren!", e);
+        } finally {
+            reader = null;
         }
+        onClose();
+    }
+
+    /**
+     * Notifies the player to log in.
+     * HelloClient: gives the protocol version when the client first successfully connected to the server.
+     *
+     * @throws IOException if the message cannot be sent
+     */
+    @Override
+    public void onOpen() throws IOException {
+        String helloClient = NetworkManager.serialize(
+                new HelloClientMessage(new HelloClientBody("Version 1.0"))
+        );
+        sendMessageToClient(helloClient);
+    }
+
+    /**
+     * Handles one complete line received from the client. Errors are logged and do not
+     * terminate the connection.
+     *
+     * @param line the raw JSON line
+     */
+    @Override
+    public void onLine(String line) {
+        if (line.isBlank()) return;
 
-        //listening to the Client
         try {
-            String line;
-            while ((line = in.readLine()) != null) {
-                try {
-                    messageDispatcher(line);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        } catch (IOException e) {
-            // Falls Client Verbindung verliert
-            logger.log(Level.WARNING, "[WARN] Verbindung zu Client " + clientID + " verloren!", e);
-            handleDisconnect();
+            messageDispatcher(line);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "[ERROR] Fehler im messageDispatcher", ex);
+        } catch (Exception ex) {
+            logger.log(Level.SEVERE, "[ERROR] Unerwarteter Fehler im Dispatcher", ex);
+        }
+    }
+
+    /**
+     * Removes the client from the server and informs the remaining players. Only the connection
+     * and the session are torn down on the calling I/O thread; leaving the room, the broadcasts
+     * and the game cleanup are one event on the room's loop, which stays open until the client
+     * has left.
+     */
+    @Override
+    public void onClose() {
+        GameRoom left = room;
+        disconnectCleanup();
+        if (left != null) {
+            left.submit(() -> handleDisconnect(left));
+        } else {
+            Server.releaseClientID(clientID);
         }
     }
 
     /**
      * Dispatches a received JSON message to the corresponding handler based on its {@code messageType}.
      *
-     * <p>This method parses the {@code messageType} from the JSON and uses a {@code switch-case}
-     * structure to call the appropriate handler method (e.g. {@code handleHelloServer()}, {@code handlePlayerValues()}, etc.).
+     * <p>The message is decoded once by {@link MessageDecoder}, which reads the {@code messageType}
+     * and binds the body to its typed class in the same pass. A {@code switch-case} structure then
+     * calls the appropriate handler with the typed body (e.g. {@code handleHelloServer()}, {@code handlePlayerValues()}, etc.).
      *
-     * <p>If the message type is unknown or missing, a warning is logged and no further action is taken.
+     * <p>Login, keep-alive and room management are handled right away on the connection's thread.
+     * All other messages belong to the game of the client's room and are queued as events on the
+     * room's {@link GameLoop}, see {@link #dispatchGameMessage(MessageDecoder.Decoded, String)}.
+     *
+     * <p>If the message type is missing, a warning is logged and no further action is taken.
      *
      * @param json the full JSON message received from the client
      * @throws Exception if a handler method throws an exception
@@ -312,43 +406,92 @@ public class ClientManager extends Thread {
     public void messageDispatcher(String json) throws Exception {
         //TODO: a switch-case structure to dispatch different type of messages
 
-        String type = NetworkManager.getMessageType(json);
+        MessageDecoder.Decoded msg = MessageDecoder.decode(json);
+        String type = msg.type();
         if (type == null) {
             logger.warning("Fehlendes messageType-Feld in JSON");
             return;
         }
 
         switch (type) {
-            //TODO: fill all necessary JSON types, and writing their individual handle method
             case "HelloServer":
-                handleHelloServer(json);
+                handleHelloServer(msg.body(HelloServerBody.class));
+                return;
+
+            case "Alive":
+                handleAlive();
+                return;
+
+            /// Räume
+            case "CreateRoom":
+                handleCreateRoom(msg.body(CreateRoomBody.class));
+                return;
+
+            case "JoinRoom":
+                handleJoinRoom(msg.body(JoinRoomBody.class));
+                return;
+
+            case "ListRooms":
+                handleListRooms();
+                return;
+
+            default:
                 break;
+        }
+
+        GameRoom current = room;
+        if (current == null) {
+            logger.warning("[WARN] " + type + " vor dem Login ignoriert");
+            return;
+        }
+        current.submit(() -> {
+            try {
+                dispatchGameMessage(msg, json);
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "[ERROR] Fehler im messageDispatcher", ex);
+            } catch (Exception ex) {
+                logger.log(Level.SEVERE, "[ERROR] Unerwarteter Fehler im Dispatcher", ex);
+            }
+        });
+    }
 
+    /**
+     * Handles a game message of this client. Runs as an event on the room's {@link GameLoop},
+     * so it never overlaps with other messages, timer expirations or disconnects of the same game.
+     *
+     * @param msg  the decoded message
+     * @param json the full JSON message, for the placeholder handlers
+     * @throws Exception if a handler method throws an exception
+     */
+    private void dispatchGameMessage(MessageDecoder.Decoded msg, String json) throws Exception {
+        String type = msg.type();
+        switch (type) {
+            //TODO: fill all necessary JSON types, and writing their individual handle method
             case "PlayerValues":
-                handlePlayerValues(json);
+                handlePlayerValues(msg.body(PlayerValuesBody.class));
                 break;
 
             case "SendChat":
-                handleSendChat(json);
+                handleSendChat(msg.body(SendChatBody.class));
                 break;
 
             case "SetStatus":
-                handleSetStatus(json);
+                handleSetStatus(msg.body(SetStatusBody.class));
                 break;
 
             // Newly added cases
 
             case "ActivePhase":
-                handleActivePhase(json);
+                handleActivePhase(msg.body(ActivePhaseBody.class));
                 break;
 
 
             case "SelectMap":
-                handleSelectMap(json);
+                handleSelectMap(msg.body(MapSelectedBody.class));
                 break;
 
             case "MapSelected":
-                handleMapSelected(this, json);
+                handleMapSelected(this, msg.body(MapSelectedBody.class));
                 break;
 
             // TODO Wie unten in der handleMethode "GameStarted" wird in SelectMap Logic eingebaut
@@ -357,24 +500,20 @@ public class ClientManager extends Thread {
                 break;
 
             case "SetStartingPoint":
-                handleSetStartingPoint(json);
+                handleSetStartingPoint(msg.body(SetStartingPointBody.class));
                 break;
 
 
             case "SelectedCard":
-                Server.phaseController.selectCard(clientID, json);
+                phaseController().selectCard(clientID, msg.body(SelectedCardBody.class));
                 break;
 
             case "PlayCard":
-                Server.phaseController.playCard(clientID, json);
+                phaseController().playCard(clientID, msg.body(PlayCardBody.class));
                 break;
 
             case "SelectionFinished":
-                handleSelectionFinished(json);
-                break;
-
-            case "Alive":
-                handleAlive(json);
+                handleSelectionFinished(msg.body(SelectionFinishedBody.class));
                 break;
 
             case "Animation":
@@ -404,16 +543,16 @@ public class ClientManager extends Thread {
             ///Neu hinzugefügt (PickDamage)
             case "PickDamage":
                 //handlePickDamage(json);
-                Server.phaseController.handlePickDamage(clientID, json);
+                phaseController().handlePickDamage(clientID, msg.body(PickDamageBody.class));
                 break;
 
             /// Admin Cheats
             case "CheatMove":
-                handleCheatMove(objectMapper.treeToValue(objectMapper.readTree(json), CheatMoveMessage.class));
+                handleCheatMove(msg.body(CheatMoveBody.class));
                 break;
 
             case "CheatTurn":
-                handleCheatTurn(objectMapper.treeToValue(objectMapper.readTree(json), CheatTurnMessage.class));
+                handleCheatTurn(msg.body(CheatTurnBody.class));
                 break;
 
             default:
@@ -426,56 +565,47 @@ public class ClientManager extends Thread {
      * Parses group name and AI status from the client,
      * assigns a unique client ID, and sends a welcome message back.
      *
-     * @param json the HelloServer JSON message sent by the client
-     * @throws IOException if parsing or communication fails
+     * @param body the body of the HelloServer message sent by the client
+     * @throws IOException if communication fails
      */
-    public void handleHelloServer(String json) throws IOException {
-        logger.fine("[DEBUG] Full message: " + json);
-        logger.fine("[DEBUG] messageBody: " + objectMapper.readTree(json).get("messageBody").toPrettyString());
-
-        //save groupName, save ifUsingAI to the ClientManager
-        JsonNode root = objectMapper.readTree(json); //解析整个json对象
-        JsonNode body = root.get("messageBody");
+    public void handleHelloServer(HelloServerBody body) throws IOException {
+        logger.fine("[DEBUG] HelloServer: group=" + body.getGroup() + ", isAI=" + body.isAI() + ", protocol=" + body.getProtocol());
 
         //setting the client information: group name and ifUsingAI
-        this.groupName = body.get("group").asText();
-        this.ifUsingAI = body.get("isAI").asBoolean();
+        this.groupName = body.getGroup();
+        this.ifUsingAI = body.isAI();
 
         // server give a clientID to this client
         clientID = Server.generateUniqueClientID();
-        game.addToPlayerOrder(clientID);
+        rooms.getSessions().register(this);
+
+        // ohne eigene Raumwahl kommt der Client in den ersten offenen Raum
+        rooms.joinOpenRoom(this);
 
         //server then send the welcome message to the client
         String welcome = null;
         welcome = NetworkManager.serialize(new WelcomeMessage(new WelcomeBody(clientID)));
         sendMessageToClient(welcome);
         logger.fine("[DEBUG] Sending welcome JSON: " + welcome);
-        logger.fine("[DEBUG] Spielerreihenfolge: " + game.getPlayerOrder());
+        logger.fine("[DEBUG] Client " + clientID + " spielt in Raum " + room.getRoomId());
     }
 
     /**
      * Handles player customization input, such as name and selected figure.
      * Broadcasts the new player to all other clients and sends the current player list to the new client.
      *
-     * @param json the PlayerValues JSON message containing name and figure
-     * @throws IOException if JSON parsing or broadcasting fails
+     * @param body the PlayerValues body containing name and figure
+     * @throws IOException if broadcasting fails
      */
-    public void handlePlayerValues(String json) throws IOException {
-        logger.fine("[DEBUG] Full message: " + json);
-        logger.fine("[DEBUG] messageBody " + objectMapper.readTree(json).get("messageBody").toPrettyString());
-
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
+    public void handlePlayerValues(PlayerValuesBody body) throws IOException {
+        logger.fine("[DEBUG] PlayerValues: name=" + body.getName() + ", figure=" + body.getFigure());
 
-        String newName = body.get("name").asText();
-        int newFigure = body.get("figure").asInt();
+        String newName = body.getName();
+        int newFigure = body.getFigure();
 
         // Prüfen, ob Roboter bereits vergeben ist
-        boolean figureTaken;
-        synchronized (clients) {
-            figureTaken = clients.stream()
-                    .anyMatch(c -> c != this && c.figure == newFigure);
-        }
+        boolean figureTaken = Arrays.stream(roomMembers())
+                .anyMatch(c -> c != this && c.figure == newFigure);
 
         if (figureTaken) {
             logger.warning("[WARN] Roboter " + newFigure + " ist bereits vergeben. ");
@@ -485,43 +615,47 @@ public class ClientManager extends Thread {
 
 
         // 1. Neue Werte setzen
-        this.name = body.get("name").asText();
-        this.figure = body.get("figure").asInt();
+        this.name = newName;
+        this.figure = newFigure;
+
+        // Unveränderliches Mitglieder-Array: beim Senden wird kein Monitor gehalten
+        ClientManager[] snapshot = roomMembers();
 
         // 2. Vorhandene Spieler an den neuen Client senden
-        synchronized (clients) {
-            for (ClientManager existing : clients) {
-                if (existing != this && existing.name != null) {
-                    PlayerAddedBody existingBody = new PlayerAddedBody(existing.clientID, existing.name, existing.figure);
-                    PlayerAddedMessage existingMessage = new PlayerAddedMessage(existingBody);
-                    String existingJson = NetworkManager.serialize(existingMessage);
-                    this.sendMessageToClient(existingJson);
-                }
+        for (ClientManager existing : snapshot) {
+            if (existing != this && existing.name != null) {
+                PlayerAddedBody existingBody = new PlayerAddedBody(existing.clientID, existing.name, existing.figure);
+                PlayerAddedMessage existingMessage = new PlayerAddedMessage(existingBody);
+                String existingJson = NetworkManager.serialize(existingMessage);
+                this.sendMessageToClient(existingJson);
             }
+        }
 
-            // 3. Jetzt den neuen Spieler an alle senden
-            PlayerAddedBody newBody = new PlayerAddedBody(this.clientID, this.name, this.figure);
-            PlayerAddedMessage newMessage = new PlayerAddedMessage(newBody);
-            String newJson = NetworkManager.serialize(newMessage);
-
-            for (ClientManager c : clients) {
-                c.sendMessageToClient(newJson);
+        // 3. Jetzt den neuen Spieler an alle senden (einmal kodiert, für alle geteilt)
+        PlayerAddedBody newBody = new PlayerAddedBody(this.clientID, this.name, this.figure);
+        PlayerAddedMessage newMessage = new PlayerAddedMessage(newBody);
+        OutboundFrame newFrame = NetworkManager.encode(newMessage);
+        try {
+            for (ClientManager c : snapshot) {
+                c.sendFrame(newFrame, false);
             }
-            logger.fine("[DEBUG] Broadcasting new PlayerAdded JSON: " + newJson);
+        } finally {
+            newFrame.release();
+        }
+        logger.fine("[DEBUG] Broadcasting new PlayerAdded for client " + this.clientID);
 
-            // Hier jetzt **zusätzlich** UsedRobots nur an diesen neuen Client senden
-            List<Integer> currentlyUsedFigures = clients.stream()
-                    .filter(c -> c.figure != 0)  // oder nach Default prüfen
-                    .map(c -> c.figure)
-                    .toList();
+        // Hier jetzt **zusätzlich** UsedRobots nur an diesen neuen Client senden
+        List<Integer> currentlyUsedFigures = Arrays.stream(snapshot)
+                .filter(c -> c.figure != 0)  // oder nach Default prüfen
+                .map(c -> c.figure)
+                .toList();
 
-            UsedRobotsMessage usedRobotsMessage = new UsedRobotsMessage(new UsedRobotsBody(currentlyUsedFigures));
-            String usedRobotsJson = NetworkManager.serialize(usedRobotsMessage);
-            this.sendMessageToClient(usedRobotsJson);
+        UsedRobotsMessage usedRobotsMessage = new UsedRobotsMessage(new UsedRobotsBody(currentlyUsedFigures));
+        String usedRobotsJson = NetworkManager.serialize(usedRobotsMessage);
+        this.sendMessageToClient(usedRobotsJson);
 
-            // Und dann die Liste an alle broadcasten (optional, falls nötig)
-            broadcastUsedRobots();
-        }
+        // Und dann die Liste an alle broadcasten (optional, falls nötig)
+        broadcastUsedRobots();
     }
 
     /**
@@ -530,21 +664,20 @@ public class ClientManager extends Thread {
      * @throws IOException if JSON serialization or message sending fails
      */
     private void broadcastUsedRobots() throws IOException {
-        List<Integer> takenRobots;
-        synchronized (clients) {
-            takenRobots = clients.stream()
-                    .map(c -> c.figure)
-                    .filter(f -> f > 0)
-                    .toList();
-        }
+        ClientManager[] snapshot = roomMembers();
+        List<Integer> takenRobots = Arrays.stream(snapshot)
+                .map(c -> c.figure)
+                .filter(f -> f > 0)
+                .toList();
 
         UsedRobotsMessage usedMsg = new UsedRobotsMessage(new UsedRobotsBody(takenRobots));
-        String usedJson = NetworkManager.serialize(usedMsg);
-
-        synchronized (clients) {
-            for (ClientManager c : clients) {
-                c.sendMessageToClient(usedJson);
+        OutboundFrame usedFrame = NetworkManager.encode(usedMsg);
+        try {
+            for (ClientManager c : snapshot) {
+                c.sendFrame(usedFrame, false);
             }
+        } finally {
+            usedFrame.release();
         }
     }
 
@@ -553,15 +686,12 @@ public class ClientManager extends Thread {
      * Sets up the board and starts the game setup phase.
      *
      * @param sender the client who selected the map
-     * @param json the MapSelected JSON message
+     * @param selected the MapSelected body
      * @throws IOException if map loading or broadcasting fails
      */
-    private void handleMapSelected(ClientManager sender, String json) throws IOException {
-        logger.fine("[DEBUG] Full message: " + json);
-        JsonNode bodyNode = objectMapper.readTree(json).get("messageBody");
-        logger.fine("[DEBUG] messageBody: " + bodyNode.toPrettyString());
-
-        String mapName = bodyNode.get("mapName").asText();
+    private void handleMapSelected(ClientManager sender, MapSelectedBody selected) throws IOException {
+        String mapName = selected.getMapName();
+        logger.fine("[DEBUG] MapSelected: " + mapName);
         String playerName = sender.getPlayerName();
         logger.fine("[DEBUG] Player who selected map: " + playerName);
 
@@ -569,65 +699,57 @@ public class ClientManager extends Thread {
         MapSelectedBody body = new MapSelectedBody(mapName, playerName);
         MapSelectedMessage msMsg = new MapSelectedMessage(body);
         String msJson = NetworkManager.serialize(msMsg);
-        for (ClientManager cm : clients) {
+        for (ClientManager cm : roomMembers()) {
             cm.sendMessageToClient(msJson);
         }
         logger.fine("[DEBUG] Broadcasted MapSelectedMessage: " + msJson);
 
-        // Map laden
-        GameStartedBody mapBody = MapLoader.loadMap("/map-" + mapName.toLowerCase().replace(" ", "-") + ".json");
-        Board board = MapBuilder.buildBoard(mapBody);
+        // Map aus dem Cache: kompilierte Karte und kodierte GameStarted-Nachricht teilen sich alle Spiele
+        MapCache.Entry map = MapCache.get(mapName);
+        Board board = new Board(map.map());
 
         // alle Clients als Spieler hinzufügen
-        for (ClientManager cm : clients) {
+        for (ClientManager cm : roomMembers()) {
             int id = cm.getClientID();
             String pname = cm.getPlayerName();
             Position defaultPosition = new Position(0,0);
             Robot robot = new Robot(defaultPosition, Direction.TOP);
 
             Player player = new Player(id, robot, defaultPosition);
-            Server.sharedGame.addPlayer(player);
+            game().addPlayer(player);
             logger.fine("[DEBUG] Player hinzugefügt: " + pname + " (ID: " + id + ")");
         }
 
-        // GamePhaseController starten
-        Server.phaseController = new GamePhaseController(
-                Server.sharedGame,
-                board,
-                Server.cardExecutor,
-                Server.timerService,
-                Server.clients
-        );
-        Server.phaseController.startSetupPhase();
-        logger.fine("[DEBUG] Server: Setup-Phase gestartet");
-
-        // GameStartedMessage an alle senden
-        GameStartedMessage gsMsg = new GameStartedMessage(mapBody);
-        String gsJson = NetworkManager.serialize(gsMsg);
-        for (ClientManager cm : clients) {
-            cm.sendMessageToClient(gsJson);
+        // GamePhaseController des Raums starten
+        room.startGame(board);
+
+        // GameStartedMessage an alle senden: die Bytes kommen fertig kodiert aus dem Cache
+        OutboundFrame gsFrame = map.gameStartedFrame();
+        try {
+            for (ClientManager cm : roomMembers()) {
+                cm.sendFrame(gsFrame, false);
+            }
+        } finally {
+            gsFrame.release();
         }
-        logger.fine("[DEBUG] Broadcasted GamestartedMessage: " + gsJson);
+        logger.fine("[DEBUG] Broadcasted GameStartedMessage (" + gsFrame.length() + " bytes)");
     }
 
     /**
      * Handles the current game phase notification from a client
      * and broadcasts the updated phase to all other clients.
      *
-     * @param json the ActivePhase JSON message
+     * @param body the ActivePhase body
      * @throws IOException if broadcasting fails
      */
-    private void handleActivePhase(String json) throws IOException {
-        logger.fine("[DEBUG] Full message: " + json);
-        logger.fine("[DEBUG] messageBody: " + objectMapper.readTree(json).get("messageBody").toPrettyString());
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
-        int phase = body.get("phase").asInt();
+    private void handleActivePhase(ActivePhaseBody body) throws IOException {
+        int phase = body.getPhase();
+        logger.fine("[DEBUG] ActivePhase: " + phase);
         // Phase im Spiel speichern
         // Server.getGame().setCurrentPhase(phase);
         // Broadcast der aktiven Phase an alle Clients
         String phaseUpdate = NetworkManager.serialize(new ActivePhaseMessage(new ActivePhaseBody(phase)));
-        for (ClientManager c : clients) {
+        for (ClientManager c : roomMembers()) {
             c.sendMessageToClient(phaseUpdate);
         }
         logger.fine("[DEBUG] Broadcasted active phase: " + phase + " to all Clients. ");
@@ -636,15 +758,12 @@ public class ClientManager extends Thread {
     /**
      * Handles chat messages sent by a client. Supports both broadcast and private messages.
      *
-     * @param json the SendChat JSON message
-     * @throws IOException if parsing or message delivery fails
+     * @param body the SendChat body
+     * @throws IOException if message delivery fails
      */
-    public void handleSendChat(String json) throws IOException {
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
-
-        String message = body.get("message").asText();
-        int target = body.get("to").asInt(); // -1 = broadcast
+    public void handleSendChat(SendChatBody body) throws IOException {
+        String message = body.getMessage();
+        int target = body.getTo(); // -1 = broadcast
 
         if (target == -1) {
             // 📢 Broadcast – an alle außer dem Sender
@@ -652,7 +771,7 @@ public class ClientManager extends Thread {
                     new ReceivedChatMessage(new ReceivedChatBody(clientID, this.name, message, false))
             );
 
-            for (ClientManager c : clients) {
+            for (ClientManager c : roomMembers()) {
                 if (c.clientID != this.clientID) {
                     c.sendMessageToClient(broadcast);
                 }
@@ -667,27 +786,24 @@ public class ClientManager extends Thread {
             );
             String toRecipientJson = NetworkManager.serialize(toRecipient);
 
+            // Empfänger direkt über die Client-ID auflösen, nur innerhalb des eigenen Raums
+            GameRoom current = room;
+            ClientManager recipient = current != null ? current.member(target) : null;
+
             // Nachricht an den Sender selbst
-            String recipientName = "Spieler " + target; // falls Name nicht bekannt
-            for (ClientManager c : clients) {
-                if (c.clientID == target) {
-                    recipientName = c.name;
-                }
-            }
+            String recipientName = recipient != null ? recipient.name : "Spieler " + target; // falls Name nicht bekannt
 
             ReceivedChatMessage toSender = new ReceivedChatMessage(
                     new ReceivedChatBody(clientID, "Du an " + recipientName, message, true)
             );
             String toSenderJson = NetworkManager.serialize(toSender);
 
-            boolean found = false;
-            for (ClientManager c : clients) {
-                if (c.clientID == target) {
-                    c.sendMessageToClient(toRecipientJson);
-                    found = true;
-                } else if (c.clientID == this.clientID) {
-                    c.sendMessageToClient(toSenderJson);
-                }
+            boolean found = recipient != null;
+            if (found) {
+                recipient.sendMessageToClient(toRecipientJson);
+            }
+            if (target != this.clientID) {
+                sendMessageToClient(toSenderJson);
             }
 
             if (found) {
@@ -703,40 +819,42 @@ public class ClientManager extends Thread {
      * If all clients are ready and the map selection phase hasn't started yet,
      * triggers the map selection process.
      *
-     * @param json the SetStatus JSON message containing the ready flag
-     * @throws IOException if broadcasting or parsing fails
+     * @param body the SetStatus body containing the ready flag
+     * @throws IOException if broadcasting fails
      */
-    public void handleSetStatus(String json) throws IOException {
-        // 1) Parse Incoming JSON
-        JsonNode root = objectMapper.readTree(json);
-        boolean newReadyStatus = root.path("messageBody").path("ready").asBoolean();
+    public void handleSetStatus(SetStatusBody body) throws IOException {
+        // 1) Ready-Flag aus dem Body
+        boolean newReadyStatus = body.getReady();
 
         // 2) Setze den neuen Ready-Status und update Server-Liste
         this.ready = newReadyStatus;
-        Server.changeReadyList(this);
+        GameRoom room = this.room;
+        room.changeReadyList(this);
 
         // 3) Merke den allerersten Ready-Spieler
-        if (newReadyStatus && firstReadyPlayer == null) {
-            firstReadyPlayer = this;
+        if (newReadyStatus) {
+            room.offerFirstReadyPlayer(this);
         }
+        ClientManager firstReadyPlayer = room.getFirstReadyPlayer();
 
         // 4) Broadcast des neuen PlayerStatus an alle
         String statusJson = NetworkManager.serialize(
                 new PlayerStatusMessage(new PlayerStatusBody(clientID, ready))
         );
-        for (ClientManager cm : clients) {
+        for (ClientManager cm : roomMembers()) {
             cm.sendMessageToClient(statusJson);
         }
 
         // 5) Sobald **alle** Clients ready sind und noch nicht in Map-Selection-Phase…
-        if (!isMapSelectionPhase && Server.getReadyPlayers().size() == clients.size()) {
+        if (!room.isMapSelectionPhase() && firstReadyPlayer != null
+                && room.getReadyPlayers().size() == room.size()) {
             // a) System-Nachricht: Auswahlphase startet
             SystemMessage sysMsg = new SystemMessage(
                     "Spieler " + firstReadyPlayer.getPlayerName() + " wählt jetzt die Map aus."
             );
             String sysJson = NetworkManager.serialize(sysMsg);
-            for (ClientManager cm : clients) {
-                cm.sendMessageToClient(sysJson);
+            for (ClientManager cm : roomMembers()) {
+                cm.sendMessageToClient(sysJson, true);
             }
 
             // b) Liste der verfügbaren Maps
@@ -754,11 +872,11 @@ public class ClientManager extends Thread {
             String selJson = NetworkManager.serialize(selMsg);
 
             // d) Broadcast SelectMapMessage an alle
-            for (ClientManager cm : clients) {
+            for (ClientManager cm : roomMembers()) {
                 cm.sendMessageToClient(selJson);
             }
 
-            isMapSelectionPhase = true;
+            room.setMapSelectionPhase(true);
             logger.fine("[DEBUG] Broadcasting SelectMapMessage: " + selJson);
         }
     }
@@ -767,33 +885,25 @@ public class ClientManager extends Thread {
      * Handles the map selection command from the first ready player.
      * Loads the map and starts the setup phase.
      *
-     * @param json the SelectMap JSON message with the chosen map name
+     * @param body the SelectMap body with the chosen map name
      * @throws IOException if the map loading or broadcasting fails
      */
-    private void handleSelectMap(String json) throws IOException {
-        logger.fine("[DEBUG] Full message: " + json);
-        logger.fine("[DEBUG] messageBody: " + objectMapper.readTree(json).get("messageBody").toPrettyString());
-
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
-
-        String mapName = body.get("mapName").asText();
+    private void handleSelectMap(MapSelectedBody body) throws IOException {
+        String mapName = body.getMapName();
+        logger.fine("[DEBUG] SelectMap: " + mapName);
 
         try {
-            // 加载 .json 地图
-            GameStartedBody mapBody = MapLoader.loadMap("/map-" + mapName.toLowerCase().replace(" ", "-") + ".json");
-
-            Board board = MapBuilder.buildBoard(mapBody);
-            Server.phaseController = new GamePhaseController(Server.sharedGame, board, Server.cardExecutor, Server.timerService, Server.clients);
-            Server.phaseController.startSetupPhase();
-
-            // 构造 GameStarted 消息
-            GameStartedMessage msg = new GameStartedMessage(mapBody);
-            String jsonMessage = NetworkManager.serialize(msg);
+            MapCache.Entry map = MapCache.get(mapName);
+            room.startGame(new Board(map.map()));
 
             // 广播给所有客户端
-            for (ClientManager cm : clients) {
-                cm.sendMessageToClient(jsonMessage);
+            OutboundFrame frame = map.gameStartedFrame();
+            try {
+                for (ClientManager cm : roomMembers()) {
+                    cm.sendFrame(frame, false);
+                }
+            } finally {
+                frame.release();
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -804,26 +914,27 @@ public class ClientManager extends Thread {
      * Handles the player's starting point selection during the setup phase.
      * Forwards the request to the GamePhaseController and transitions to the next phase when all players have selected.
      *
-     * @param json the SetStartingPoint JSON message
+     * @param body the SetStartingPoint body
      * @throws IOException if broadcasting or setup fails
      */
-    private void handleSetStartingPoint(String json) throws IOException {
+    private void handleSetStartingPoint(SetStartingPointBody body) throws IOException {
         // 1) Debug-Ausgabe
-        logger.fine("[DEBUG] handleSetStartingPoint aufgerufen mit: " + json);
+        logger.fine("[DEBUG] handleSetStartingPoint aufgerufen mit: " + body.getX() + "," + body.getY());
 
 
         // 2) An den GamePhaseController weiterreichen
         //    (broadcastet intern StartingPointTakenMessage und CurrentPlayerMessage)
-        Server.phaseController.setStartingPoint(clientID, json);
+        GamePhaseController phaseController = phaseController();
+        phaseController.setStartingPoint(clientID, body);
 
         // 3) Wenn wirklich alle Spieler ihren Punkt gewählt haben…
-        if (Server.phaseController.allPlayersChoseStart()) {
+        if (phaseController.allPlayersChoseStart()) {
             logger.fine("[DEBUG] Alle Startpunkte gesetzt, sende ActivePhase=1");
             ActivePhaseMessage apMsg = new ActivePhaseMessage(new ActivePhaseBody(1));
             String apJson = NetworkManager.serialize(apMsg);
 
             // 4) Broadcast ActivePhase=1 an alle Clients
-            for (ClientManager cm : clients) {
+            for (ClientManager cm : roomMembers()) {
                 cm.sendMessageToClient(apJson);
             }
             logger.fine("[DEBUG] Broadcasted ActivePhase 1: " + apJson);
@@ -834,23 +945,21 @@ public class ClientManager extends Thread {
      * Called when a player finishes selecting cards during the programming phase.
      * Notifies the GamePhaseController and optionally broadcasts the info to others.
      *
-     * @param json the SelectionFinished JSON message
+     * @param body the SelectionFinished body
      * @throws IOException if broadcasting fails
      */
-    private void handleSelectionFinished(String json) throws IOException {
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
-        int finishedClientId = body.get("clientID").asInt();
+    private void handleSelectionFinished(SelectionFinishedBody body) throws IOException {
+        int finishedClientId = body.getClientID();
         logger.fine("[DEBUG] Spieler " + finishedClientId + " hat seine Kartenauswahl abgeschlossen.");
 
         // hier kannst du serverseitig reagieren, z.B. Timer starten:
-        Server.phaseController.selectionFinished(finishedClientId);
+        phaseController().selectionFinished(finishedClientId);
 
         // Optional an alle broadcasten:
         var msg = new SystemMessage("Spieler " + finishedClientId + " hat alle Karten programmiert.");
         String msgJson = NetworkManager.serialize(msg);
-        for (ClientManager cm : clients) {
-            cm.sendMessageToClient(msgJson);
+        for (ClientManager cm : roomMembers()) {
+            cm.sendMessageToClient(msgJson, true);
         }
     }
 
@@ -858,32 +967,142 @@ public class ClientManager extends Thread {
      * Updates the timestamp of the last received keep-alive message from the client.
      * Helps detect disconnects.
      *
-     * @param json the Alive JSON message (contents ignored)
      */
-    private void handleAlive(String json) {
+    private void handleAlive() {
         this.lastAliveTimestamp = System.currentTimeMillis();
     }
 
     /**
-     * Handles a client disconnect, cleaning up its data and informing other clients.
+     * Creates a new room and moves the client into it.
+     *
+     * @param body the CreateRoom body with the optional room name
+     * @throws IOException if the answer cannot be sent
      */
-    private void handleDisconnect() {
-        logger.info("[INFO] Verbindung zu Client " + clientID + " verloren");
+    private void handleCreateRoom(CreateRoomBody body) throws IOException {
+        if (!canSwitchRoom()) {
+            return;
+        }
+        GameRoom created = rooms.createRoom(body.getName());
+        if (!switchRoom(created)) {
+            sendRoomUnavailable(created.getRoomId());
+        }
+    }
 
-        Player player = game.getPlayer(clientID);
-        if (player != null) {
-            player.getRobot().setPosition(null); // oder auf null setzen / deaktivieren
-            game.getPlayerOrder().remove((Integer) clientID);
+    /**
+     * Moves the client into an existing room that has not started yet.
+     *
+     * @param body the JoinRoom body with the target room ID
+     * @throws IOException if the answer cannot be sent
+     */
+    private void handleJoinRoom(JoinRoomBody body) throws IOException {
+        if (!canSwitchRoom()) {
+            return;
         }
+        GameRoom target = rooms.getRoom(body.getRoomID());
+        // isOpen() allein genügt nicht, der Raum kann bis zum Beitritt starten oder schließen
+        if (target == null || !switchRoom(target)) {
+            sendRoomUnavailable(body.getRoomID());
+        }
+    }
+
+    /**
+     * Tells the client that a room does not exist (anymore) or can no longer be joined.
+     *
+     * @param roomId the requested room
+     * @throws IOException if the error message cannot be sent
+     */
+    private void sendRoomUnavailable(int roomId) throws IOException {
+        logger.warning("[WARN] Raum " + roomId + " existiert nicht oder ist nicht mehr offen.");
+        sendMessageToClient(NetworkManager.serialize(
+                new ErrorMessage(new ErrorBody("Raum " + roomId + " ist nicht verfügbar"))));
+    }
+
+    /**
+     * Sends the list of all rooms to the client.
+     *
+     * @throws IOException if the list cannot be sent
+     */
+    private void handleListRooms() throws IOException {
+        List<RoomListBody.RoomInfo> infos = new ArrayList<>();
+        for (GameRoom r : rooms.listRooms()) {
+            infos.add(new RoomListBody.RoomInfo(r.getRoomId(), r.getName(), r.size(), r.isStarted()));
+        }
+        sendMessageToClient(NetworkManager.serialize(new RoomListMessage(new RoomListBody(infos))));
+    }
+
+    /**
+     * Rooms can only be switched after the login and before the own game has started.
+     *
+     * @return {@code true} if the client may change its room
+     * @throws IOException if the error message cannot be sent
+     */
+    private boolean canSwitchRoom() throws IOException {
+        GameRoom current = room;
+        if (current != null && !current.isStarted()) {
+            return true;
+        }
+        logger.warning("[WARN] Client " + clientID + " kann den Raum jetzt nicht wechseln.");
+        sendMessageToClient(NetworkManager.serialize(
+                new ErrorMessage(new ErrorBody("Raumwechsel nur in der Lobby möglich"))));
+        return false;
+    }
+
+    /**
+     * Moves the client from its current room into the target room: takes a seat in the new
+     * turn order, resets the ready flag and introduces the player to the new room.
+     *
+     * @param target the room to join
+     * @return {@code false} if the room could not be joined; the client stays in its room
+     * @throws IOException if a message cannot be sent
+     */
+    private boolean switchRoom(GameRoom target) throws IOException {
+        GameRoom previous = room;
+        if (!rooms.join(this, target)) {
+            return false;
+        }
+        this.ready = false;
+
+        if (previous != null && previous != target && name != null) {
+            previous.broadcastPlayerDisconnected(clientID, name);
+        }
+
+        sendMessageToClient(NetworkManager.serialize(
+                new RoomJoinedMessage(new RoomJoinedBody(target.getRoomId(), target.getName()))));
+        logger.fine("[DEBUG] Client " + clientID + " ist jetzt in Raum " + target.getRoomId());
+
+        if (name != null) {
+            // Vorstellung im neuen Raum ist ein Ereignis seiner Spielschleife
+            PlayerValuesBody values = new PlayerValuesBody(name, figure);
+            target.submit(() -> {
+                try {
+                    handlePlayerValues(values);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "[WARN] PlayerValues im neuen Raum fehlgeschlagen", e);
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Handles a client disconnect: leaves the room, which also removes the player from its game,
+     * and informs the other members. Runs as an event on the loop of the room the client was in.
+     *
+     * @param left the room the client was in
+     */
+    private void handleDisconnect(GameRoom left) {
+        logger.info("[INFO] Verbindung zu Client " + clientID + " verloren");
+
+        rooms.leave(this, left);
+        // erst jetzt frei, sonst könnte ein neuer Client den alten Platz im Raum erben
+        Server.releaseClientID(clientID);
+        left.broadcastPlayerDisconnected(clientID, name != null ? name : "Unbekannt");
 
         ConnectionUpdateBody body = new ConnectionUpdateBody(clientID, false, "Remove");
         ConnectionUpdateMessage msg = new ConnectionUpdateMessage(body);
 
         try {
-            String json = NetworkManager.serialize(msg);
-            for (ClientManager cm : clients) {
-                cm.sendMessageToClient(json);
-            }
+            left.broadcast(msg, false);
         } catch (IOException ex) {
             logger.severe("[ERROR] Fehler beim Senden von ConnectionUpdate: " + ex);
         }
@@ -965,48 +1184,42 @@ public class ClientManager extends Thread {
 
     /**
      * Gracefully disconnects the client by closing all input/output streams
-     * and the socket. Also interrupts the thread.
+     * and the socket. Also interrupts the thread reading from the socket, if any.
      */
     public void disconnect() {
         try {
             if (in != null) {
                 in.close();
             }
-            if (out != null) {
-                out.close();
-            }
-            if (socket != null && !socket.isClosed()) {
-                socket.close();
+            if (transport.isOpen()) {
+                transport.close();
             }
             logger.info("[INFO] Verbindung zu Client " + clientID + " wurde sauber getrennt.");
         } catch (IOException e) {
             logger.log(Level.SEVERE, "[ERROR] Fehler beim Schließen der Verbindung", e);
         }
-        this.interrupt();  // <--- das hier wichtig
+        Thread current = reader;
+        if (current != null) {
+            current.interrupt();  // <--- das hier wichtig
+        }
     }
 
     /**
-     * Performs cleanup operations after a disconnect:
-     * removes client from server structures and notifies others.
+     * Performs cleanup operations after a disconnect: closes the connection and removes the
+     * client from the server structures. The room is left and the client ID released in
+     * {@link #handleDisconnect(GameRoom)}.
      */
     public void disconnectCleanup() {
         try {
-            if (socket != null && !socket.isClosed()) {
-                socket.close();
+            if (transport.isOpen()) {
+                transport.close();
             }
         } catch (IOException e) {
             logger.log(Level.SEVERE, "[ERROR] Fehler beim Socket schließen", e);
         }
 
-        synchronized (Server.clients) {
-            Server.clients.remove(this);
-            Server.readyPlayers.remove(Integer.valueOf(this.clientID));
-            Server.releaseClientID(this.clientID);
-        }
-
-        // alle anderen Spieler informieren
-        Server.broadcastPlayerDisconnected(this.clientID, this.name != null ? this.name : "Unbekannt");
-
+        Server.clients.remove(this);
+        rooms.getSessions().unregister(this);
         logger.info("[INFO] Spieler " + getPlayerName() + " (" + clientID + ") wurde entfernt.");
 
     }
@@ -1014,10 +1227,10 @@ public class ClientManager extends Thread {
     /**
      * Checks whether the client is currently disconnected.
      *
-     * @return true if the socket is null or closed
+     * @return true if the connection is closed
      */
     public boolean isDisconnected() {
-        return socket == null || socket.isClosed();
+        return !transport.isOpen();
     }
 
     ///  Admin Cheats
@@ -1026,18 +1239,19 @@ public class ClientManager extends Thread {
      * Handles a cheat command that moves the robot forward or backward
      * by the specified number of steps.
      *
-     * @param msg the CheatMoveMessage containing the step count
+     * @param body the CheatMove body containing the step count
      */
-    public void handleCheatMove(CheatMoveMessage msg){
-        int steps = msg.getBody().getSteps();
+    public void handleCheatMove(CheatMoveBody body){
+        int steps = body.getSteps();
         logger.fine("[CHEAT] Moving robot " + steps + " steps forward.");
 
-        Player player = game.getPlayer(this.clientID);
-        if (player != null && player.getRobot() != null) {
+        Player player = game().getPlayer(this.clientID);
+        GamePhaseController phaseController = phaseController();
+        if (player != null && player.getRobot() != null && phaseController != null) {
             if (steps >= 0) {
-                Server.phaseController.executeMoveForward(player.getRobot(), steps);
+                phaseController.executeMoveForward(player.getRobot(), steps);
             } else {
-                Server.phaseController.executeMoveBackward(player.getRobot(), -steps);
+                phaseController.executeMoveBackward(player.getRobot(), -steps);
             }
         }
     }
@@ -1046,13 +1260,13 @@ public class ClientManager extends Thread {
      * Handles a cheat command that turns the robot in a specified direction.
      * Accepts: "left", "right", or "u" (for U-turn).
      *
-     * @param msg the CheatTurnMessage containing the direction
+     * @param body the CheatTurn body containing the direction
      */
-    public void handleCheatTurn(CheatTurnMessage msg){
-        String direction = msg.getBody().getDirection();
+    public void handleCheatTurn(CheatTurnBody body){
+        String direction = body.getDirection();
         logger.fine("[CHEAT] Turning robot " + direction);
 
-        Player player = game.getPlayer(this.clientID);
+        Player player = game().getPlayer(this.clientID);
         if (player != null && player.getRobot() != null) {
             switch (direction) {
                 case "left" -> player.getRobot().rotateCounterclockwise();
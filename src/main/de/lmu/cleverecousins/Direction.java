@@ -6,13 +6,16 @@ package de.lmu.cleverecousins;
 public enum Direction {
     TOP, RIGHT, BOTTOM, LEFT;;
 
+    /** Cached {@link #values()}, which would copy the array on every turn. */
+    private static final Direction[] VALUES = values();
+
     /**
      * Returns the direction 90° to the left (counter‑clockwise) of this one.
      *
      * @return direction after a left turn
      */
     public Direction turnLeft() {
-        return values()[(this.ordinal() + 3) % 4];
+        return VALUES[(this.ordinal() + 3) % 4];
     }
 
     /**
@@ -21,7 +24,7 @@ public enum Direction {
      * @return direction after a right turn
      */
     public Direction turnRight() {
-        return values()[(this.ordinal() + 1) % 4];
+        return VALUES[(this.ordinal() + 1) % 4];
     }
 
     /**
@@ -30,7 +33,7 @@ public enum Direction {
      * @return direction after a U‑turn
      */
     public Direction uturn() {
-        return values()[(this.ordinal() + 2) % 4];
+        return VALUES[(this.ordinal() + 2) % 4];
     }
 
     /**
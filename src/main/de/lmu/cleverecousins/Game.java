@@ -1,5 +1,8 @@
 package de.lmu.cleverecousins;
 
+import de.lmu.Board.Board;
+import de.lmu.Board.CompiledMap;
+
 import java.util.*;
 
 /**
@@ -34,6 +37,12 @@ public class Game {
     /** Register pointer used during the programming phase. */
     private int currentRegister = 0;
 
+    /** Board of this game, holding the robot positions; set when the game starts. */
+    private Board board;
+
+    /** Antenna ranks of the players in {@link #playerOrder}, reused by {@link #sortPlayerOrderByPriority()}. */
+    private int[] priorityKeys = new int[6];
+
 
     // --------------------------------------
     // Phase and Timer Accessors
@@ -109,6 +118,25 @@ public class Game {
         players.put(player.getClientID(), player);
     }
 
+    /**
+     * Removes a player and its seat in the turn order. The current player stays the same; if
+     * the removed player was current, the pointer moves on to the next one in order, or past
+     * the end if it was the last.
+     *
+     * @param clientID unique identifier of the player
+     */
+    public void removePlayer(int clientID) {
+        players.remove(clientID);
+        int idx = playerOrder.indexOf(clientID);
+        if (idx < 0) {
+            return;
+        }
+        playerOrder.remove(idx);
+        if (idx < currentPlayerIndex) {
+            currentPlayerIndex--;
+        }
+    }
+
     /**
      * Retrieves a player by their client ID.
      *
@@ -135,12 +163,27 @@ public class Game {
      * @return {@link Player} controlling the robot, or {@code null} if none
      */
     public Player getPlayerByRobot(Robot robot) {
-        for (Player p : getAllPlayers()) {
-            if (p.getRobot() == robot) {
-                return p;
-            }
-        }
-        return null;
+        // der Roboter kennt seinen Besitzer, nur noch prüfen, ob er in diesem Spiel ist
+        Player owner = robot.getOwner();
+        return owner != null && players.get(owner.getClientID()) == owner ? owner : null;
+    }
+
+    /**
+     * Returns the board of this game, e.g. for effects that look for robots nearby.
+     *
+     * @return the board, or {@code null} before the game started
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board of this game.
+     *
+     * @param board the board the game is played on
+     */
+    public void setBoard(Board board) {
+        this.board = board;
     }
 
 
@@ -167,6 +210,37 @@ public class Game {
         return Collections.unmodifiableList(playerOrder);
     }
 
+    /**
+     * Sorts the turn order by antenna priority, as at the start of every register. The rank of
+     * each robot's field is precomputed by the map ({@link CompiledMap#antennaRank(int)}), so
+     * this is an insertion sort over the players' integer keys. Ties and robots off the board
+     * keep their previous relative order, the latter go last. Without antenna nothing changes.
+     */
+    public void sortPlayerOrderByPriority() {
+        if (board == null || !board.getMap().hasAntenna()) {
+            return;
+        }
+        CompiledMap map = board.getMap();
+        int n = playerOrder.size();
+        if (priorityKeys.length < n) {
+            priorityKeys = new int[n];
+        }
+        for (int i = 0; i < n; i++) {
+            Player player = players.get(playerOrder.get(i));
+            int cell = player == null ? -1 : board.cellOf(player.getRobot());
+            int key = cell < 0 ? Integer.MAX_VALUE : map.antennaRank(cell);
+            Integer id = playerOrder.get(i);
+            int j = i - 1;
+            while (j >= 0 && priorityKeys[j] > key) {
+                priorityKeys[j + 1] = priorityKeys[j];
+                playerOrder.set(j + 1, playerOrder.get(j));
+                j--;
+            }
+            priorityKeys[j + 1] = key;
+            playerOrder.set(j + 1, id);
+        }
+    }
+
     /**
      * Sets the current player pointer to the given client ID.
      *
@@ -0,0 +1,231 @@
+package de.lmu.cleverecousins;
+
+import de.lmu.cleverecousins.network.ServerThreads;
+import de.lmu.util.Cancellable;
+import de.lmu.util.Clock;
+import de.lmu.util.HashedWheelTimer;
+import de.lmu.util.LogConfigurator;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serial event loop of one {@link GameRoom}.
+ * <p>
+ * All inputs that touch the state of a game (player messages, timer expirations, delayed
+ * prompts, disconnects) are submitted here and run one after another, in submission order,
+ * never concurrently. The game objects ({@link Game}, {@code Board}, decks) therefore need no
+ * locks. A loop owns no thread: it drains its mailbox on a pool shared by all rooms (virtual
+ * threads in the virtual-thread server mode), so idle rooms cost nothing but their queue.
+ * A busy room hands the pool back after {@value #BATCH} events so other rooms are not starved.
+ * <p>
+ * Delayed events wait on the {@link Clock} of the loop, by default the process-wide
+ * {@link HashedWheelTimer}. They are bound to the lifetime of the loop: {@link #close()}
+ * cancels everything still pending. A simulation passes a {@code VirtualClock} as both clock
+ * and executor and runs the same game code without waiting.
+ */
+public class GameLoop {
+
+    private static final Logger logger = Logger.getLogger(GameLoop.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** Maximum number of events processed in one turn before yielding the pool thread. */
+    private static final int BATCH = 64;
+
+    /** Name of the room, for thread names and log messages. */
+    private final String name;
+
+    /** Pending events in submission order. */
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+
+    /** Set while a drain of this loop is scheduled or running. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** Thread currently draining this loop, {@code null} between turns. */
+    private volatile Thread owner;
+
+    /** Time source for delayed events. */
+    private final Clock clock;
+
+    /** Runs the drains of this loop. */
+    private final Executor workers;
+
+    /** Delayed events not yet due, cancelled on {@link #close()}. */
+    private final Set<Delayed> timeouts = ConcurrentHashMap.newKeySet();
+
+    /** Set by {@link #close()}; later events are dropped. */
+    private volatile boolean closed;
+
+    /**
+     * Creates an idle loop on the system clock and the shared worker pool.
+     *
+     * @param name name used in log messages
+     */
+    public GameLoop(String name) {
+        this(name, Clock.system(), null);
+    }
+
+    /**
+     * Creates an idle loop.
+     *
+     * @param name    name used in log messages
+     * @param clock   time source for delayed events
+     * @param workers runs the drains, or {@code null} for the shared worker pool
+     */
+    public GameLoop(String name, Clock clock, Executor workers) {
+        this.name = name;
+        this.clock = clock;
+        this.workers = workers;
+    }
+
+    /**
+     * Queues an event. It runs after all previously submitted events of this loop.
+     * Exceptions are logged and do not stop the loop.
+     *
+     * @param event the event handler
+     */
+    public void execute(Runnable event) {
+        if (closed) {
+            return;
+        }
+        mailbox.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            workers().execute(this::drain);
+        }
+    }
+
+    /**
+     * Queues an event after the given delay. Delayed events are merged into the mailbox in
+     * due order; the timer thread never runs game code itself.
+     *
+     * @param event       the event handler
+     * @param delayMillis delay in milliseconds
+     * @return a handle to cancel the event before it is queued
+     */
+    public Cancellable schedule(Runnable event, long delayMillis) {
+        Delayed delayed = new Delayed(event);
+        timeouts.add(delayed);
+        delayed.timeout = clock.schedule(delayed, delayMillis);
+        if (closed) {
+            delayed.cancel();
+        }
+        return delayed;
+    }
+
+    /** @return the time source of this loop */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Cancels all pending delayed events and drops every later event. Called when the
+     * room is removed.
+     */
+    public void close() {
+        closed = true;
+        for (Delayed delayed : timeouts) {
+            delayed.cancel();
+        }
+        mailbox.clear();
+    }
+
+    /** @return number of delayed events still pending */
+    public int pendingTimeouts() {
+        return timeouts.size();
+    }
+
+    /**
+     * Returns whether the calling thread is currently processing an event of this loop.
+     *
+     * @return {@code true} inside an event handler of this loop
+     */
+    public boolean inLoop() {
+        return owner == Thread.currentThread();
+    }
+
+    private void drain() {
+        owner = Thread.currentThread();
+        try {
+            for (int i = 0; i < BATCH; i++) {
+                Runnable event = mailbox.poll();
+                if (event == null) {
+                    break;
+                }
+                try {
+                    event.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "[ERROR] Fehler in der Spielschleife von " + name + ": " + e.getMessage(), e);
+                }
+            }
+        } finally {
+            owner = null;
+            scheduled.set(false);
+        }
+        // Neue oder übrige Ereignisse: erneut einplanen, statt den Pool-Thread festzuhalten
+        if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+            workers().execute(this::drain);
+        }
+    }
+
+    private Executor workers() {
+        return workers != null ? workers : Pools.WORKERS;
+    }
+
+    /**
+     * A delayed event. Removing it from {@link #timeouts} decides the race between firing
+     * and cancelling, so it is queued at most once.
+     */
+    private final class Delayed implements Runnable, Cancellable {
+
+        private final Runnable event;
+
+        /** Handle of the clock, set right after scheduling. */
+        private volatile Cancellable timeout;
+
+        Delayed(Runnable event) {
+            this.event = event;
+        }
+
+        @Override
+        public void run() {
+            if (timeouts.remove(this)) {
+                execute(event);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!timeouts.remove(this)) {
+                return false;
+            }
+            Cancellable t = timeout;
+            if (t != null) {
+                t.cancel();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Pool shared by all loops, created on first use so the server mode is already configured.
+     */
+    private static final class Pools {
+
+        /** Runs the drains; virtual threads in virtual mode, one platform thread per core otherwise. */
+        static final ExecutorService WORKERS = ServerThreads.isVirtual()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                        Thread.ofPlatform().name("game-loop-", 0).daemon(true).factory());
+    }
+}
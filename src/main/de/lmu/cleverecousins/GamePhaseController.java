@@ -1,20 +1,19 @@
 package de.lmu.cleverecousins;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import de.lmu.Board.*;
+import de.lmu.cleverecousins.cards.CardType;
 import de.lmu.cleverecousins.cards.DamageDeck;
 import de.lmu.cleverecousins.cards.damageCards.DamageCard;
 import de.lmu.cleverecousins.cards.damageCards.Spam;
 import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCard;
-import de.lmu.cleverecousins.protocol.BaseMessage;
-import de.lmu.cleverecousins.protocol.message.*;
+import de.lmu.cleverecousins.event.EventSink;
+import de.lmu.cleverecousins.event.GameEvent;
 import de.lmu.cleverecousins.protocol.messageBody.*;
 import de.lmu.test.MapTestRunner;
 import de.lmu.util.LogConfigurator;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,9 +29,10 @@ import java.util.logging.Logger;
  *  Additionally, this class handles game events such as robot movement, reboots,
  *  energy tile activation, damage card distribution, and checkpoint handling.
  *
- *  It works closely with the {@link Game}, {@link Board}, {@link DamageDeck},
- *  and all connected {@link ClientManager} instances to control player actions and
- *  broadcast the appropriate network messages.
+ *  It works closely with the {@link Game}, {@link Board} and {@link DamageDeck} to control
+ *  player actions, and reports everything that happens as {@link GameEvent}s to an
+ *  {@link EventSink}. In a {@link GameRoom} the sink sends the protocol messages to the
+ *  members; {@link HeadlessGame} runs the same rules in-process without network or JSON.
  *  </p>
  *
  *  <p><b>Responsibilities:</b></p>
@@ -47,6 +47,10 @@ import java.util.logging.Logger;
  *  After the setup phase, the controller starts the programming phase via {@code startProgrammingPhase()},
  *  deals cards to players, starts a timer, and then transitions into the activation phase,
  *  where one card per register is executed per player.
+ *  </p>
+ *  <p>All public entry points are called on the {@link GameLoop} of the owning {@link GameRoom}:
+ *  player messages, the timer expiration and delayed prompts run one at a time, so the game
+ *  state is never accessed concurrently and needs no locking.</p>
  *
  *  @author Gabriel, Liz
  */
@@ -80,9 +84,12 @@ public class GamePhaseController implements TimerListener{
     private final GameTimerService timerService;
 
     /**
-     * Set of all connected clients used primarily for broadcasting messages and identifying active participants.
+     * Receives everything that happens in the game, e.g. the network sink of the room.
      */
-    private final Set<ClientManager> clients;   // zum Broadcasten
+    private final EventSink events;
+
+    /** How the registers are executed; read at the start of every activation phase. */
+    private volatile ActivationMode activationMode;
 
     /**
      * Tracks which players have already chosen a starting point during the setup phase.
@@ -95,11 +102,6 @@ public class GamePhaseController implements TimerListener{
      */
     private final DamageDeck damageDeck = new DamageDeck();
 
-    /**
-     * Jackson ObjectMapper for parsing JSON messages from clients.
-     */
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
     /**
      * Optional test runner used for automated map testing and debugging.
      */
@@ -110,6 +112,26 @@ public class GamePhaseController implements TimerListener{
      */
     private Board board;
 
+    /**
+     * The compiled map under {@link #board}; movement, pushing, conveyors and lasers work on its
+     * packed cell indices instead of {@link Position} objects.
+     */
+    private final CompiledMap map;
+
+    /**
+     * Reusable buffers of {@link #moveConveyors}: the robots on the belts with their start and
+     * target cells and whether they move, and the robots the first blue pass moved. Sized to
+     * the number of players.
+     */
+    private Robot[] beltRobots = new Robot[0];
+    private int[] beltFrom = new int[0];
+    private int[] beltTo = new int[0];
+    private boolean[] beltMoves = new boolean[0];
+    private Robot[] movedRobots = new Robot[0];
+
+    /** Reusable buffer of {@link #pushChain(int, Direction)}: the robots of the chain, nearest first. */
+    private Robot[] pushChain = new Robot[0];
+
     /**
      * Maximum number of checkpoints defined on the board. Used to determine game end conditions.
      */
@@ -120,6 +142,29 @@ public class GamePhaseController implements TimerListener{
      */
     private boolean gameOver = false;
 
+    /** Outcome of executing one register card. */
+    private enum Step {
+        /** The next player or register is up. */
+        NEXT,
+        /** All five registers were executed; the next programming phase is due. */
+        ROUND_OVER,
+        /** A robot reached the last checkpoint. */
+        GAME_OVER
+    }
+
+    /**
+     * Constructs a new GamePhaseController that sends the game messages to the members of a room.
+     *
+     * @param game the current game state and configuration
+     * @param board the game board used for positioning and tile logic
+     * @param cardExecutor responsible for executing card actions during the activation phase
+     * @param timerService handles the timer and timeouts during timed phases
+     * @param room the room whose members receive the game messages
+     */
+    public GamePhaseController(Game game, Board board, CardExecutor cardExecutor, GameTimerService timerService, GameRoom room) {
+        this(game, board, cardExecutor, timerService, new RoomEventSink(room), room.getActivationMode());
+    }
+
     /**
      * Constructs a new GamePhaseController.
      *
@@ -127,15 +172,20 @@ public class GamePhaseController implements TimerListener{
      * @param board the game board used for positioning and tile logic
      * @param cardExecutor responsible for executing card actions during the activation phase
      * @param timerService handles the timer and timeouts during timed phases
-     * @param clients the set of connected clients to which game messages are broadcast
+     * @param events receives the events of the game
+     * @param activationMode how the registers are executed
      */
-    public GamePhaseController(Game game, Board board, CardExecutor cardExecutor, GameTimerService timerService, Set<ClientManager> clients) {
+    public GamePhaseController(Game game, Board board, CardExecutor cardExecutor, GameTimerService timerService,
+                               EventSink events, ActivationMode activationMode) {
         this.game = game;
         this.cardExecutor = cardExecutor;
         this.timerService = timerService;
-        this.clients = clients;
+        this.events = events;
+        this.activationMode = activationMode;
         this.timerService.getTimer().addListener(this);
         this.board = board;
+        this.map = board.getMap();
+        game.setBoard(board);
         this.maxCheckpointCount = board.getMaxCheckpointCount();
     }
 
@@ -149,6 +199,15 @@ public class GamePhaseController implements TimerListener{
         return gameOver;
     }
 
+    /**
+     * Sets how the registers are executed; takes effect with the next activation phase.
+     *
+     * @param activationMode the mode
+     */
+    public void setActivationMode(ActivationMode activationMode) {
+        this.activationMode = activationMode;
+    }
+
     /**
      * Initializes the setup phase of the game.
      * Resets all start point selections, sets the first player, and broadcasts the current phase and active player.
@@ -183,12 +242,10 @@ public class GamePhaseController implements TimerListener{
 
 
         // 1) ActivePhase=0 an alle
-        ActivePhaseMessage phaseMsg = new ActivePhaseMessage(new ActivePhaseBody(0));
-        broadcast(phaseMsg);
+        events.accept(new GameEvent.PhaseChanged(0));
 
-        // 2) CurrentPlayerMessage an alle, damit der erste Spieler sein Startpunkt-UI sieht
-        CurrentPlayerMessage cpMsg = new CurrentPlayerMessage(new CurrentPlayerBody(firstID));
-        broadcast(cpMsg);
+        // 2) CurrentPlayer an alle, damit der erste Spieler sein Startpunkt-UI sieht
+        events.accept(new GameEvent.CurrentPlayer(firstID));
         logger.fine("[DEBUG] Broadcasted CurrentPlayer for Setup: " + firstID);
     }
 
@@ -202,73 +259,36 @@ public class GamePhaseController implements TimerListener{
         game.setCurrentPhase(2);
         game.setTimerStarted(false);
 
-        ActivePhaseMessage phaseMsg = new ActivePhaseMessage(new ActivePhaseBody(2));
-        broadcast(phaseMsg);
+        events.accept(new GameEvent.PhaseChanged(2));
 
         for (Player p : game.getAllPlayers()) {
             p.prepareNextRoundDeck();
             boolean shuffled = p.drawCards();
 
-            List<String> cardNames = p.getHand().stream().map(ProgrammingCard::getName).toList();
-
-            // 1. An Spieler selbst senden
-            try {
-                String yourCards = NetworkManager.serialize(new YourCardsMessage(new YourCardsBody(cardNames)));
-
-                for (ClientManager c : clients) {
-                    if (c.getClientID() == p.getClientID()) {
-                        try {
-                            c.sendMessageToClient(yourCards);
-                        } catch (IOException e) {
-                            logger.log(Level.SEVERE, "[ERROR] Fehler beim Senden von Karten an Client " + p.getClientID(), e);
-                        }
-                        break; // Spieler gefunden, abbrechen
-                    }
-                }
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, "[ERROR] Fehler beim Serialisieren der YourCards-Nachricht für Client " + p.getClientID(), e);
-            }
-
-            // 2. An andere Spieler senden
-            try {
-                String notYourCards = NetworkManager.serialize(new NotYourCardsMessage(new NotYourCardsBody(p.getClientID(), cardNames.size())));
-
-                for (ClientManager c : clients) {
-                    if (c.getClientID() != p.getClientID()) {
-                        try {
-                            c.sendMessageToClient(notYourCards);
-                        } catch (IOException e) {
-                            logger.log(Level.SEVERE, "[ERROR] Fehler bei NotYourCards an Client " + c.getClientID(), e);
-                        }
-                    }
-                }
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, "[ERROR] Fehler beim Serialisieren der NotYourCards-Nachricht für Client " + p.getClientID(), e);
-            }
+            // 1. Hand an den Spieler, die Anzahl an alle anderen
+            events.accept(new GameEvent.CardsDealt(p.getClientID(), types(p.getHand())));
 
-            // 3. Mischen melden
+            // 2. Mischen melden
             if (shuffled) {
-                try {
-                    String shuffleMsg = NetworkManager.serialize(new ShuffleCodingMessage(new ShuffleCodingBody(p.getClientID())));
-                    broadcastRaw(shuffleMsg);
-                    logger.fine("[DEBUG] Kartenstapel von Spieler " + p.getClientID() + " wurde neu gemischt.");
-                } catch (IOException e) {
-                    logger.log(Level.SEVERE, "[ERROR] Fehler bei ShuffleCoding", e);
-                }
+                events.accept(new GameEvent.DeckShuffled(p.getClientID()));
+                logger.fine("[DEBUG] Kartenstapel von Spieler " + p.getClientID() + " wurde neu gemischt.");
             }
             logger.fine("[DEBUG] Karten an Spieler " + p.getClientID() + " verteilt.");
         }
 
-        // 4. Aktuellen Spieler setzen
+        // 3. Aktuellen Spieler setzen
         int firstID = game.getPlayerOrder().get(0);
         game.setCurrentPlayer(firstID);
+        events.accept(new GameEvent.CurrentPlayer(firstID));
+    }
 
-        try {
-            String msg = NetworkManager.serialize(new CurrentPlayerMessage(new CurrentPlayerBody(firstID)));
-            broadcastRaw(msg);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "[ERROR] Fehler bei CurrentPlayerMessage", e);
+    /** @return the types of the given cards, in order */
+    private static List<CardType> types(List<ProgrammingCard> cards) {
+        List<CardType> types = new ArrayList<>(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            types.add(cards.get(i).getType());
         }
+        return types;
     }
 
     /**
@@ -283,7 +303,7 @@ public class GamePhaseController implements TimerListener{
         // Wenn der erste fertig ist, den Timer starten
         if (!game.hasTimerStarted()) {
             game.setTimerStarted(true);
-            broadcast(new TimerStartedMessage());
+            events.accept(new GameEvent.TimerStarted());
             logger.fine("[DEBUG] Timer gestartet (30 Sekunden)");
             timerService.getTimer().start();
         }
@@ -291,15 +311,74 @@ public class GamePhaseController implements TimerListener{
 
     /**
      * Starts the activation phase by setting the register index to 0
-     * and prompting the first player to play their card.
+     * and prompting the first player to play their card. In {@link ActivationMode#SERVER}
+     * all registers are executed right away instead.
      */
     public void startActivationPhase() {
         logger.fine("[DEBUG] Starte Aktivierungsphase (3)");
 
         game.setCurrentPhase(3);
         game.setCurrentRegister(0);
+        game.sortPlayerOrderByPriority();
         game.setCurrentPlayer(game.getPlayerOrder().get(0));
-        promptCurrentPlayerToPlayCard();
+        if (activationMode == ActivationMode.SERVER) {
+            executeAllRegisters();
+        } else {
+            promptCurrentPlayerToPlayCard();
+        }
+    }
+
+    /**
+     * Executes all five registers of all robots without waiting for {@code PlayCard}
+     * ({@link ActivationMode#SERVER}). Each register is one batch of events: the cards of all
+     * players, followed by every event the cards cause, in execution order. The game rules are
+     * exactly those of {@link #playCard(int, PlayCardBody)}.
+     */
+    private void executeAllRegisters() {
+        events.beginBatch();
+        Step step = Step.NEXT;
+        try {
+            while (step == Step.NEXT) {
+                int register = game.getCurrentRegister();
+                if (game.getCurrentPlayerIndex() == 0) {
+                    // neues Register, neuer Batch
+                    events.endBatch();
+                    events.beginBatch();
+                    events.accept(new GameEvent.RegisterRevealed(register, activeCards(register)));
+                }
+
+                Player player = game.getPlayer(game.getCurrentPlayerClientID());
+                ProgrammingCard card = player.getRobot().getRegister(register);
+                if (card == null) {
+                    logger.severe("[ERROR] Keine Karte in Register " + register + " bei Spieler " + player.getClientID());
+                }
+                step = executeCard(player, card);
+            }
+        } finally {
+            events.endBatch();
+        }
+        logger.fine("[DEBUG] Aktivierungsphase vom Server ausgeführt: " + step);
+
+        if (step == Step.ROUND_OVER) {
+            startProgrammingPhase();
+        }
+    }
+
+    /**
+     * Returns the cards of all players for one register, in turn order.
+     *
+     * @param register the register index
+     * @return one entry per player that has a card in this register
+     */
+    private List<GameEvent.RegisterCard> activeCards(int register) {
+        List<GameEvent.RegisterCard> cards = new ArrayList<>();
+        for (int id : game.getPlayerOrder()) {
+            ProgrammingCard card = game.getPlayer(id).getRobot().getRegister(register);
+            if (card != null) {
+                cards.add(new GameEvent.RegisterCard(id, card.getType()));
+            }
+        }
+        return cards;
     }
 
     /**
@@ -308,11 +387,10 @@ public class GamePhaseController implements TimerListener{
      * Once all players have selected a position, the game proceeds to the programming phase.
      *
      * @param clientID ID of the player sending the request
-     * @param json the incoming message containing the desired x and y coordinates
-     * @throws IOException if the JSON message cannot be parsed
+     * @param body the decoded message body containing the desired x and y coordinates
      */
-    public void setStartingPoint(int clientID, String json) throws IOException {
-        logger.fine("[DEBUG] SetStartingPoint aufgerufen mit: " + json);
+    public void setStartingPoint(int clientID, SetStartingPointBody body) {
+        logger.fine("[DEBUG] SetStartingPoint aufgerufen mit: " + body.getX() + "," + body.getY());
 
         // NEU: nur in Phase 0 erlauben
         if (game.getCurrentPhase() != 0) {
@@ -320,11 +398,9 @@ public class GamePhaseController implements TimerListener{
             return;
         }
 
-        // 1) JSON parsen
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
-        int x = body.get("x").asInt();
-        int y = body.get("y").asInt();
+        // 1) Koordinaten aus dem Body
+        int x = body.getX();
+        int y = body.getY();
 
         // 2) Ist der richtige Spieler am Zug?
         int expectedID = game.getPlayerOrder().get(game.getCurrentPlayerIndex());
@@ -337,13 +413,12 @@ public class GamePhaseController implements TimerListener{
         Player player = game.getPlayer(clientID);
         Position pos = new Position(x, y);
         player.setStartPoint(pos);
-        player.getRobot().setPosition(pos);
+        board.placeRobot(player.getRobot(), pos);
         player.getRobot().setDirection(Direction.RIGHT);
         player.setHasChosenStartPoint(true);
 
-        // 4) Broadcast StartingPointTakenMessage an alle
-        StartingPointTakenBody takenBody = new StartingPointTakenBody(x, y, "right", clientID);
-        broadcast(new StartingPointTakenMessage(takenBody));
+        // 4) StartingPointTaken an alle
+        events.accept(new GameEvent.StartingPointTaken(clientID, x, y, "right"));
         logger.fine("[DEBUG] Spieler " + clientID + " hat Startpunkt bei " + x + "," + y);
         sendRobotPosition(clientID, x, y, "right");
 
@@ -356,12 +431,8 @@ public class GamePhaseController implements TimerListener{
             game.advanceStartingPlayer();
             int nextID = game.getCurrentPlayerClientID();
 
-            CurrentPlayerMessage cpMsg = new CurrentPlayerMessage(new CurrentPlayerBody(nextID));
-            String cpJson = NetworkManager.serialize(cpMsg);
-            for (ClientManager cm : clients) {
-                cm.sendMessageToClient(cpJson);
-            }
-            logger.fine("[DEBUG] Broadcasted CurrentPlayer for Startpoint: " + cpJson);
+            events.accept(new GameEvent.CurrentPlayer(nextID));
+            logger.fine("[DEBUG] Broadcasted CurrentPlayer for Startpoint: " + nextID);
             return;
         }
 
@@ -385,17 +456,19 @@ public class GamePhaseController implements TimerListener{
      * When all registers are filled, starts the programming timer if not already running.
      *
      * @param clientID ID of the player sending the card selection
-     * @param json the incoming message specifying the card name and target register
-     * @throws IOException if the JSON message cannot be parsed
+     * @param body the decoded message body specifying the card name and target register
      */
-    public void selectCard(int clientID, String json) throws IOException {
+    public void selectCard(int clientID, SelectedCardBody body) {
         logger.fine("[DEBUG] selectCard aufgerufen");
 
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
-
-        String cardName = body.get("card").isNull() ? null : body.get("card").asText();
-        int register = body.get("register").asInt();
+        String cardName = body.getCard();
+        int register = body.getRegister();
+        // Name nur hier am Protokollrand auflösen, danach zählt nur noch der Kartentyp
+        CardType type = CardType.fromName(cardName);
+        if (cardName != null && (type == null || !type.isProgramming())) {
+            logger.warning("[WARN] Unbekannte Karte: " + cardName);
+            return;
+        }
 
         // Check nur außerhalb der Programmierphase
         if (game.getCurrentPhase() != 2) {
@@ -411,32 +484,23 @@ public class GamePhaseController implements TimerListener{
             logger.severe("[ERROR] Spieler nicht gefunden!");
             return;
         }
-        logger.fine("[DEBUG] Handkarten von Spieler " + clientID + ":");
-
-        for (ProgrammingCard card : player.getHand()) {
-            logger.fine(" - " + card.getName());
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("[DEBUG] Handkarten von Spieler " + clientID + ":");
+            for (ProgrammingCard card : player.getHand()) {
+                logger.fine(" - " + card.getName());
+            }
         }
 
-        boolean filled = cardName != null;
-        boolean success = player.setRegisterCard(cardName, register);
+        boolean filled = type != null;
+        // nimmt die Karte auch aus der Hand
+        boolean success = player.setRegisterCard(type, register);
 
         if (!success) {
             logger.warning("[WARN] Karte konnte nicht gesetzt werden: " + cardName);
             return;
         }
 
-        if (filled) {
-            Iterator<ProgrammingCard> it = player.getHand().iterator();
-            while (it.hasNext()) {
-                ProgrammingCard card = it.next();
-                if (card.getName().equals(cardName)) {
-                    it.remove();
-                    break;
-                }
-            }
-        }
-
-        broadcast(new CardSelectedMessage(new CardSelectedBody(clientID, register, filled)));
+        events.accept(new GameEvent.CardSelected(clientID, register, filled));
 
         long filledNow = 0;
         for (int i = 0; i < 5; i++) {
@@ -447,12 +511,12 @@ public class GamePhaseController implements TimerListener{
 
         if (filledNow == 5) {
             logger.fine("[DEBUG] Spieler " + clientID + " hat 5 Karten gesetzt.");
-            broadcast(new SelectionFinishedMessage(new SelectionFinishedBody(clientID)));
+            events.accept(new GameEvent.SelectionFinished(clientID));
 
             // Timer nur starten, wenn er noch nicht läuft
             if (!game.hasTimerStarted()) {
                 game.setTimerStarted(true);
-                broadcast(new TimerStartedMessage());
+                events.accept(new GameEvent.TimerStarted());
                 logger.fine("[DEBUG] Timer wird gestartet (30 Sekunden)");
                 timerService.getTimer().start();
             }
@@ -476,27 +540,29 @@ public class GamePhaseController implements TimerListener{
             if(filled < 5){
                 slowClients.add(p.getClientID());
 
-                List<ProgrammingCard> hand = new ArrayList<>(p.getHand());
-                Collections.shuffle(hand);
+                // zufällige Handkarten ziehen; sie verlassen die Hand, sonst landen sie nach der
+                // Runde zusätzlich zum Register noch einmal im Ablagestapel
+                List<ProgrammingCard> hand = p.getHand();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
                 for(int i = 0; i < 5 && !hand.isEmpty(); i++){
                     if(p.getRobot().getRegister(i) == null){
-                        p.getRobot().setRegister(i, hand.remove(0));
+                        p.getRobot().setRegister(i, hand.remove(random.nextInt(hand.size())));
                     }
                 }
 
-                List<String> drawn = new ArrayList<>();
+                List<CardType> drawn = new ArrayList<>();
                 for(int i = 0; i < 5; i++){
                     ProgrammingCard card = p.getRobot().getRegister(i);
-                    if(card != null) drawn.add(card.getName());
+                    if(card != null) drawn.add(card.getType());
                 }
-                broadcastToClient(p.getClientID(), new CardsYouGotNowMessage(new CardsYouGotNowBody(drawn)));
+                events.accept(new GameEvent.RegistersFilled(p.getClientID(), drawn));
             }
         }
-        broadcast(new TimerEndedMessage(new TimerEndedBody(slowClients)));
+        events.accept(new GameEvent.TimerEnded(slowClients));
         logger.fine("[DEBUG] Timer beendet. Nachzügler: " + slowClients);
 
         game.setTimerStarted(false);
-        broadcast(new ActivePhaseMessage(new ActivePhaseBody(3)));
+        events.accept(new GameEvent.PhaseChanged(3));
         startActivationPhase();
     }
 
@@ -506,19 +572,20 @@ public class GamePhaseController implements TimerListener{
      * and moves to the next player or register.
      *
      * @param clientID The ID of the player playing the card.
-     * @param json The JSON data containing the card information.
-     * @throws IOException If message broadcasting fails.
+     * @param body The decoded message body containing the card information.
      */
-    public void playCard(int clientID, String json) throws IOException {
-        JsonNode root = objectMapper.readTree(json);
-        JsonNode body = root.get("messageBody");
-
+    public void playCard(int clientID, PlayCardBody body) {
         if (gameOver) {
             logger.fine("[DEBUG] Spiel ist bereits beendet, keine weiteren Aktionen.");
             return;
         }
+        if (activationMode == ActivationMode.SERVER) {
+            logger.fine("[DEBUG] PlayCard von Spieler " + clientID + " ignoriert, der Server führt die Register aus.");
+            return;
+        }
 
-        String cardName = body.get("card").asText();
+        String cardName = body.getCard();
+        CardType played = CardType.fromName(cardName);
         int currentRegister = game.getCurrentRegister();
         int expectedID = game.getPlayerOrder().get(game.getCurrentPlayerIndex());
 
@@ -533,73 +600,86 @@ public class GamePhaseController implements TimerListener{
         Robot robot = player.getRobot();
         ProgrammingCard card = robot.getRegister(currentRegister);
 
-        if (card == null || !card.getName().equals(cardName)) {
+        if (card == null || card.getType() != played) {
             logger.severe("[ERROR] Gespielte Karte stimmt nicht mit Register überein!");
             return;
         }
 
         logger.fine("[DEBUG] Spieler " + clientID + " spielt Karte: " + card.getName());
 
-        /// Movement and Turning
-        Position before = robot.getPosition();
-        Direction beforeDir = robot.getDirection();
-
-        // NEW: central Logic for Movements
-        card.execute(robot, this);
-
-        Position after = robot.getPosition();
-        Direction afterDir = robot.getDirection();
+        continueActivation(executeCard(player, card));
+    }
 
-        // Movement check
-        if (!before.equals(after)) {
-            broadcast(new MovementMessage(new MovementBody(clientID, after.getX(), after.getY())));
-            logger.fine("[Debug] Bewegung erkannt: " + after);
+    /**
+     * Continues the client-driven activation after a turn: starts the next round or announces
+     * the next player with the card of the current register.
+     *
+     * @param step what comes next after the turn
+     */
+    private void continueActivation(Step step) {
+        switch (step) {
+            case GAME_OVER:
+                return;
+            case ROUND_OVER:
+                // Neue Runde: zurück zur Programmierphase
+                startProgrammingPhase();
+                return;
+            case NEXT:
+                break;
         }
 
-        // Turning check
-        if (!beforeDir.equals(afterDir)) {
-            String rotation = beforeDir.turnRight() == afterDir ? "clockwise"
-                    : beforeDir.turnLeft() == afterDir ? "counterclockwise"
-                    : "uturn";
-
-            broadcast(new PlayerTurningMessage(new PlayerTurningBody(clientID, rotation)));
-            logger.fine("[DEBUG] Rotation erkannt: " + rotation);
-        }
+        // Aktuelle Karte des nächsten Spielers melden; der Raum sendet sie nach einer kurzen Pause
+        Player nextPlayer = game.getPlayer(game.getPlayerOrder().get(game.getCurrentPlayerIndex()));
+        ProgrammingCard nextCard = nextPlayer.getRobot().getRegister(game.getCurrentRegister());
 
-        // Energy check
-        if(card.getName().equals("PowerUp")) {
-            broadcast(new EnergyMessage(new EnergyBody(clientID, 1, "PowerUpCard")));
-            logger.fine("[DEBUG] PowerUp erkannt: 1");
+        if (nextCard == null) {
+            logger.warning("WARNUNG: nextCard ist null – vermutlich neue Runde noch nicht vollständig initialisiert.");
+            return;
         }
 
-        // Check if SpamCard
-        if (card.getName().equals("Spam")) {
-            logger.fine("[DEBUG] Spam-Karte gespielt auf Register " + currentRegister);
-
-            // 1. Hole Spieler
-            Player spamPlayer = robot.getOwner();
+        events.accept(new GameEvent.TurnPassed(nextPlayer.getClientID(), nextCard.getType()));
+        logger.fine("[DEBUG] Nächster Spieler: " + nextPlayer.getClientID() + " mit Karte: " + nextCard.getName());
+    }
 
-            // 2. Ziehe neue Karte aus seinem DiscardDeck (ggf. mischt er selbst)
-            ProgrammingCard newCard = spamPlayer.getDiscardDeck().draw();
+    /**
+     * Executes the card of the current player in the current register, then moves on to the
+     * next player or register. Shared by the client-driven and the server-driven activation.
+     *
+     * @param player the current player
+     * @param card   the card in the current register, or {@code null} to only move on
+     * @return what comes next
+     */
+    private Step executeCard(Player player, ProgrammingCard card) {
+        int clientID = player.getClientID();
+        int currentRegister = game.getCurrentRegister();
+        Robot robot = player.getRobot();
 
-            // Falls leer
-            if (newCard == null) {
-                logger.warning("[WARN] Keine Ersatzkarte mehr verfügbar, Register bleibt leer");
-                robot.setRegister(currentRegister, null);
-            } else {
-                robot.setRegister(currentRegister, newCard);
-                sendReplaceCard(clientID, currentRegister, newCard.getName());
-                logger.fine("[DEBUG] Spam-Karte ersetzt durch: " + newCard.getName());
-            }
+        if (card != null) {
+            applyCard(clientID, robot, card, currentRegister);
         }
 
-        broadcast(new CardPlayedMessage(new CardPlayedBody(clientID, card.getName())));
+        // Nächster Spieler oder, wenn alle gespielt haben, Spielfeldelemente und nächstes Register
+        if (game.getCurrentPlayerIndex() < game.getPlayerOrder().size() - 1) {
+            game.nextPlayer();
+            return Step.NEXT;
+        }
+        return endRegister(currentRegister);
+    }
 
-        // Check if robot has all Checkpoints -> Game ends, robot wins
-        if (robot.getNextCheckpoint() > maxCheckpointCount) {
-            logger.info("[DEBUG] Spieler " + player.getClientID() + " hat alle Checkpoints erreicht und gewinnt!");
+    /**
+     * Ends a register after the last player's turn: activates the board elements, then moves
+     * on to the next register or ends the round.
+     *
+     * @param currentRegister the register that ends
+     * @return what comes next
+     */
+    private Step endRegister(int currentRegister) {
+        Player winner = activateBoardElements(currentRegister);
+        if (winner != null) {
+            // Check if robot has all Checkpoints -> Game ends, robot wins
+            logger.info("[DEBUG] Spieler " + winner.getClientID() + " hat alle Checkpoints erreicht und gewinnt!");
 
-            sendGameFinished(player.getClientID());
+            sendGameFinished(winner.getClientID());
             for (Player p : game.getAllPlayers()) {
                 Robot r = p.getRobot();
                 if (r != null) {
@@ -608,95 +688,387 @@ public class GamePhaseController implements TimerListener{
                 }
             }
             gameOver = true;
-            return;
+            return Step.GAME_OVER;
         }
 
-        // Nächster Spieler oder nächstes Register
-        if (game.getCurrentPlayerIndex() < game.getPlayerOrder().size() - 1) {
-            game.nextPlayer();
-        } else {
-            if (currentRegister < 4) {
-                game.setCurrentRegister(currentRegister + 1);
-                game.setCurrentPlayer(game.getPlayerOrder().get(0));
-            } else {
-                logger.fine("[DEBUG] Alle 5 Register abgearbeitet.");
+        if (currentRegister < 4) {
+            game.setCurrentRegister(currentRegister + 1);
+            // Reihenfolge nach Antennenpriorität, die Roboter haben sich bewegt
+            game.sortPlayerOrderByPriority();
+            game.setCurrentPlayer(game.getPlayerOrder().get(0));
+            return Step.NEXT;
+        }
 
-                // Nimmt alle Karten im Register und tut sie zurück in den Pile
-                for (Player p : game.getAllPlayers()) {
-                    p.discardHand();
-                    p.discardUsedCards();
-                }
+        logger.fine("[DEBUG] Alle 5 Register abgearbeitet.");
 
-                // Spiellogik zurücksetzen
-                game.setCurrentRegister(0);
-                game.setCurrentPlayer(game.getPlayerOrder().get(0));
+        // Nimmt alle Karten im Register und tut sie zurück in den Pile
+        for (Player p : game.getAllPlayers()) {
+            p.discardHand();
+            p.discardUsedCards();
+        }
 
-                // Neue Runde: zurück zur Programmierphase
-                startProgrammingPhase();
-                return;
+        // Spiellogik zurücksetzen
+        game.setCurrentRegister(0);
+        game.setCurrentPlayer(game.getPlayerOrder().get(0));
+        return Step.ROUND_OVER;
+    }
+
+    /**
+     * Activates the board elements at the end of a register, after every robot has executed
+     * its card, in the order of the rules: blue conveyors, green conveyors, push panels, gears,
+     * board lasers, robot lasers, energy spaces, checkpoints. Only the fields listed in the
+     * compiled {@link BoardElements} of the map are visited.
+     *
+     * @param register the register that just ended (0-4)
+     * @return the first player whose robot reached the last checkpoint, or {@code null}
+     */
+    private Player activateBoardElements(int register) {
+        BoardElements elements = board.getElements();
+        int robots = game.getAllPlayers().size();
+        if (beltRobots.length < robots) {
+            beltRobots = new Robot[robots];
+            beltFrom = new int[robots];
+            beltTo = new int[robots];
+            beltMoves = new boolean[robots];
+            movedRobots = new Robot[robots];
+        }
+
+        // Blaue Förderbänder bewegen zwei Felder, das zweite nur, wenn der Roboter auf Blau bleibt
+        ConveyorGraph conveyors = elements.getConveyors();
+        if (conveyors.hasSpeed(2)) {
+            animate("BlueConveyorBelt");
+            int moved = moveConveyors(conveyors, 2, null, 0, movedRobots);
+            moveConveyors(conveyors, 2, movedRobots, moved, null);
+        }
+        if (conveyors.hasSpeed(1)) {
+            animate("GreenConveyorBelt");
+            moveConveyors(conveyors, 1, null, 0, null);
+        }
+
+        if (!elements.getPushPanels().isEmpty()) {
+            animate("PushPanel");
+            for (PushPanelTile panel : elements.getPushPanels()) {
+                int cell = map.cell(panel.getPosition());
+                Robot robot = board.getRobotAt(cell);
+                if (robot != null && panel.getActiveRegisters().contains(register)
+                        && !isOccupied(map.neighbour(cell, panel.getPushDir()))) {
+                    moveOneStep(robot, panel.getPushDir());
+                }
             }
         }
 
-        // 🔫 Shooting check am Ende des Registers
-        if (game.getCurrentRegister() == 4) {
-            Robot shooter = robot;
-            Position shooterPos = shooter.getPosition();
-            Direction shooterDir = shooter.getDirection();
+        if (!elements.getGears().isEmpty()) {
+            animate("Gear");
+            for (GearTile gear : elements.getGears()) {
+                Robot robot = board.getRobotAt(gear.getPosition());
+                if (robot != null) {
+                    gear.activate(robot);
+                    events.accept(new GameEvent.RobotTurned(robot.getOwner().getClientID(),
+                            gear.isClockwise() ? GameEvent.Rotation.CLOCKWISE : GameEvent.Rotation.COUNTERCLOCKWISE));
+                }
+            }
+        }
 
-            for (Player other : game.getAllPlayers()) {
-                if (other.getClientID() == clientID) continue;
+        fireLasers(elements.getLaserBeams());
 
-                Robot target = other.getRobot();
-                Position targetPos = target.getPosition();
+        if (!elements.getEnergySpaces().isEmpty()) {
+            animate("EnergySpace");
+            for (EnergyTile energy : elements.getEnergySpaces()) {
+                Robot robot = board.getRobotAt(energy.getPosition());
+                if (robot != null && board.takeEnergyCube(energy.getPosition())) {
+                    robot.gainEnergy(1);
+                    events.accept(new GameEvent.EnergyGained(robot.getOwner().getClientID(), 1, "EnergyTile"));
+                }
+            }
+        }
 
-                Position p = shooterPos.moved(shooterDir);
-                boolean wallBetween = false;
+        Player winner = null;
+        if (!elements.getCheckpoints().isEmpty()) {
+            animate("CheckPoint");
+            for (CheckpointTile checkpoint : elements.getCheckpoints()) {
+                Robot robot = board.getRobotAt(checkpoint.getPosition());
+                if (robot == null || robot.getNextCheckpoint() != checkpoint.getCount()) {
+                    continue;
+                }
+                checkpoint.activate(robot);
+                sendCheckPointReached(robot.getOwner().getClientID(), checkpoint.getCount());
+                if (winner == null && robot.getNextCheckpoint() > maxCheckpointCount) {
+                    winner = robot.getOwner();
+                }
+            }
+        }
+        return winner;
+    }
 
-                while (board.isInBounds(p.getX(), p.getY())) {
-                    if (isBlockedByWall(p.moved(shooterDir.opposite()), shooterDir)) {
-                        wallBetween = true;
-                        break;
-                    }
-                    if (p.equals(targetPos)) {
-                        if (!wallBetween) {
-                            Spam spam = damageDeck.drawSpam();
-                            if (spam != null) {
-                                other.addDamageCard(spam);
-                                logger.info("[SHOOT] Spieler " + clientID + " trifft Spieler " + other.getClientID() + " -> Spam-Karte");
-                            } else {
-                                logger.warning("[SHOOT] Keine Spam-Karten mehr verfügbar!");
-                            }
-                        }
-                        break;
+    /**
+     * Moves every robot standing on a belt of the given speed one field, all at the same time.
+     * Targets come from the compiled {@link ConveyorGraph}. A robot stays where it is if another
+     * robot heads for the same field, if two robots would swap fields, or if its target is taken
+     * by a robot that does not leave; the last rule is applied until nothing changes. A robot
+     * carried onto a curve turns with it; one carried off the board or into a pit reboots.
+     *
+     * @param belts          the conveyor graph of the map
+     * @param speed          2 for blue, 1 for green belts
+     * @param candidates     only these robots move, or {@code null} for all robots on the belts
+     * @param candidateCount number of valid entries in {@code candidates}
+     * @param moved          receives the robots that left their field, may be {@code null}
+     * @return number of robots written to {@code moved}
+     */
+    private int moveConveyors(ConveyorGraph belts, int speed, Robot[] candidates, int candidateCount, Robot[] moved) {
+        int count = 0;
+        for (int id : game.getPlayerOrder()) {
+            Robot robot = game.getPlayer(id).getRobot();
+            int cell = robot == null ? -1 : board.cellOf(robot);
+            if (cell < 0 || board.getRobotAt(cell) != robot || belts.speed(cell) != speed
+                    || (candidates != null && !contains(candidates, candidateCount, robot))) {
+                continue;
+            }
+            int target = belts.next(cell);
+            if (target == cell) {
+                continue; // Wand vor dem Band
+            }
+            beltRobots[count] = robot;
+            beltFrom[count] = cell;
+            beltTo[count] = target;
+            beltMoves[count] = true;
+            count++;
+        }
+
+        // Konflikte: gleiches Ziel oder Platztausch, dann Ziele, die belegt bleiben
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                boolean sameTarget = beltTo[i] >= 0 && beltTo[i] == beltTo[j];
+                boolean swap = beltTo[i] == beltFrom[j] && beltTo[j] == beltFrom[i];
+                if (sameTarget || swap) {
+                    beltMoves[i] = false;
+                    beltMoves[j] = false;
+                }
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < count; i++) {
+                if (beltMoves[i] && beltTo[i] >= 0) {
+                    Robot there = board.getRobotAt(beltTo[i]);
+                    if (there != null && !leaves(there, count)) {
+                        beltMoves[i] = false;
+                        changed = true;
                     }
-                    p = p.moved(shooterDir);
                 }
             }
         }
 
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                // Aktuelle Karte des nächsten Spielers senden
-                Player nextPlayer = game.getPlayer(game.getPlayerOrder().get(game.getCurrentPlayerIndex()));
-                ProgrammingCard nextCard = nextPlayer.getRobot().getRegister(game.getCurrentRegister());
+        // Erst neu starten, dann alle übrigen gleichzeitig vom Feld nehmen und absetzen
+        for (int i = 0; i < count; i++) {
+            if (beltMoves[i] && (beltTo[i] < 0 || map.is(beltTo[i], CompiledMap.PIT))) {
+                handleReboot(beltRobots[i], beltTo[i] < 0 ? beltFrom[i] : beltTo[i]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (beltMoves[i] && beltTo[i] >= 0 && !map.is(beltTo[i], CompiledMap.PIT)) {
+                board.removeRobot(beltRobots[i]);
+            }
+        }
+        int movedCount = 0;
+        for (int i = 0; i < count; i++) {
+            Robot robot = beltRobots[i];
+            beltRobots[i] = null;
+            if (!beltMoves[i]) {
+                continue;
+            }
+            int turn = 0;
+            if (beltTo[i] >= 0 && !map.is(beltTo[i], CompiledMap.PIT)) {
+                board.placeRobot(robot, map.position(beltTo[i]));
+                turn = belts.turn(beltFrom[i]);
+                if (turn > 0) {
+                    robot.rotateClockwise();
+                } else if (turn < 0) {
+                    robot.rotateCounterclockwise();
+                }
+            }
+            Position now = robot.getPosition();
+            int clientID = robot.getOwner().getClientID();
+            events.accept(new GameEvent.RobotMoved(clientID, now.getX(), now.getY()));
+            if (turn != 0) {
+                events.accept(new GameEvent.RobotTurned(clientID,
+                        turn > 0 ? GameEvent.Rotation.CLOCKWISE : GameEvent.Rotation.COUNTERCLOCKWISE));
+            }
+            if (moved != null) {
+                moved[movedCount++] = robot;
+            }
+        }
+        return movedCount;
+    }
 
-                if (nextCard == null) {
-                    logger.warning("WARNUNG: nextCard ist null – vermutlich neue Runde noch nicht vollständig initialisiert.");
-                    return;
+    /** @return {@code true} if the robot is one of the first {@code count} belt robots and moves */
+    private boolean leaves(Robot robot, int count) {
+        for (int i = 0; i < count; i++) {
+            if (beltRobots[i] == robot) {
+                return beltMoves[i];
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(Robot[] robots, int count, Robot robot) {
+        for (int i = 0; i < count; i++) {
+            if (robots[i] == robot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return {@code true} if {@code cell} is on the board and a robot stands on it */
+    private boolean isOccupied(int cell) {
+        return cell >= 0 && board.getRobotAt(cell) != null;
+    }
+
+    /**
+     * Moves a robot one field without pushing, as board elements do. Walls stop it; leaving
+     * the board or entering a pit reboots it.
+     *
+     * @return {@code true} if the robot left its field
+     */
+    private boolean moveOneStep(Robot robot, Direction dir) {
+        int from = board.cellOf(robot);
+        if (map.isBlocked(from, dir)) {
+            return false;
+        }
+        int to = map.neighbour(from, dir);
+        if (to < 0 || map.is(to, CompiledMap.PIT)) {
+            handleReboot(robot, to < 0 ? from : to);
+        } else {
+            board.moveRobot(robot, to);
+        }
+        Position now = robot.getPosition();
+        events.accept(new GameEvent.RobotMoved(robot.getOwner().getClientID(), now.getX(), now.getY()));
+        return true;
+    }
+
+    /**
+     * Fires all board lasers, then all robot lasers. Robots do not move while lasers fire, so
+     * every beam is resolved against the same occupancy: its compiled length or reach bounds the
+     * search, and the row and column masks of the board give the first robot in it. A beam
+     * stops at the first robot it hits.
+     */
+    private void fireLasers(List<LaserBeam> beams) {
+        if (!beams.isEmpty()) {
+            animate("WallShooting");
+            for (int i = 0; i < beams.size(); i++) {
+                LaserBeam beam = beams.get(i);
+                Robot target = board.getRobotAt(beam.source());
+                if (target == null) {
+                    target = board.firstRobot(beam.source(), beam.direction(), beam.length() - 1);
                 }
+                if (target != null) {
+                    for (int hit = 0; hit < beam.damage(); hit++) {
+                        dealSpam(target.getOwner(), "[LASER] Spieler " + target.getOwner().getClientID() + " wird vom Spielfeldlaser getroffen");
+                    }
+                }
+            }
+        }
+
+        animate("PlayerShooting");
+        for (int id : game.getPlayerOrder()) {
+            Robot robot = game.getPlayer(id).getRobot();
+            int cell = robot == null ? -1 : board.cellOf(robot);
+            if (cell < 0 || board.getRobotAt(cell) != robot) {
+                continue;
+            }
+            Direction dir = robot.getDirection();
+            Robot target = board.firstRobot(cell, dir, map.reach(cell, dir));
+            if (target != null) {
+                dealSpam(target.getOwner(), "[SHOOT] Spieler " + id + " trifft Spieler " + target.getOwner().getClientID());
+            }
+        }
+    }
+
+    /** Gives the player a Spam card from the damage deck, if any is left. */
+    private void dealSpam(Player player, String reason) {
+        Spam spam = damageDeck.drawSpam();
+        if (spam != null) {
+            player.addDamageCard(spam);
+            logger.info(reason + " -> Spam-Karte");
+        } else {
+            logger.warning("[SHOOT] Keine Spam-Karten mehr verfügbar!");
+        }
+    }
+
+    private void animate(String type) {
+        events.accept(new GameEvent.Animation(type));
+    }
+
+    /**
+     * Applies a register card: movement and turning, energy, Spam replacement, and the
+     * matching events.
+     */
+    private void applyCard(int clientID, Robot robot, ProgrammingCard card, int currentRegister) {
+        /// Movement and Turning
+        Position before = robot.getPosition();
+        Direction beforeDir = robot.getDirection();
+
+        // NEW: central Logic for Movements
+        card.execute(robot, this);
+
+        Position after = robot.getPosition();
+        Direction afterDir = robot.getDirection();
+
+        // Movement check
+        if (!before.equals(after)) {
+            events.accept(new GameEvent.RobotMoved(clientID, after.getX(), after.getY()));
+            logger.fine("[Debug] Bewegung erkannt: " + after);
+        }
 
-                List<CurrentCardsBody.ActiveCard> cards = List.of(new CurrentCardsBody.ActiveCard(nextPlayer.getClientID(), nextCard.getName()));
-                broadcast(new CurrentCardsMessage(new CurrentCardsBody(cards)));
+        // Turning check
+        if (!beforeDir.equals(afterDir)) {
+            GameEvent.Rotation rotation = beforeDir.turnRight() == afterDir ? GameEvent.Rotation.CLOCKWISE
+                    : beforeDir.turnLeft() == afterDir ? GameEvent.Rotation.COUNTERCLOCKWISE
+                    : GameEvent.Rotation.UTURN;
+
+            events.accept(new GameEvent.RobotTurned(clientID, rotation));
+            logger.fine("[DEBUG] Rotation erkannt: " + rotation);
+        }
 
-                logger.fine("[DEBUG] Nächster Spieler: " + nextPlayer.getClientID() + " mit Karte: " + nextCard.getName());
+        switch (card.getType()) {
+            case POWER_UP -> {
+                // Energy check
+                events.accept(new GameEvent.EnergyGained(clientID, 1, "PowerUpCard"));
+                logger.fine("[DEBUG] PowerUp erkannt: 1");
+            }
+            case SPAM -> replaceSpam(clientID, robot, currentRegister);
+            default -> {
             }
-        }, 500);
+        }
+
+        events.accept(new GameEvent.CardPlayed(clientID, card.getType()));
+    }
+
+    /** Replaces a Spam card in the register with the top card of the owner's discard pile. */
+    private void replaceSpam(int clientID, Robot robot, int currentRegister) {
+        logger.fine("[DEBUG] Spam-Karte gespielt auf Register " + currentRegister);
+
+        // 1. Hole Spieler
+        Player spamPlayer = robot.getOwner();
+
+        // 2. Ziehe neue Karte aus seinem DiscardDeck (ggf. mischt er selbst)
+        ProgrammingCard newCard = spamPlayer.getDiscardDeck().draw();
+
+        // Falls leer
+        if (newCard == null) {
+            logger.warning("[WARN] Keine Ersatzkarte mehr verfügbar, Register bleibt leer");
+            robot.setRegister(currentRegister, null);
+        } else {
+            robot.setRegister(currentRegister, newCard);
+            sendReplaceCard(clientID, currentRegister, newCard.getType());
+            logger.fine("[DEBUG] Spam-Karte ersetzt durch: " + newCard.getName());
+        }
     }
 
     /**
      * Notifies the current player that it is their turn to play the next card.
-     * Sends a message to the active client showing their card for the current register slot.
+     * The active client is shown their card for the current register slot.
      * Called at the start of each player's turn in the activation phase.
      */
     private void promptCurrentPlayerToPlayCard() {
@@ -709,74 +1081,61 @@ public class GamePhaseController implements TimerListener{
             return;
         }
 
-        CurrentCardsBody body = new CurrentCardsBody(List.of(new CurrentCardsBody.ActiveCard(clientID, card.getName())));
-
-        try {
-            String msg = NetworkManager.serialize(new CurrentCardsMessage(body));
-            for (ClientManager c : clients) {
-                if (c.getClientID() == clientID) {
-                    c.sendMessageToClient(msg);
-                }
-            }
-            logger.fine("[DEBUG] Spieler " + clientID + " ist dran mit Karte: " + card.getName());
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "[ERROR] Fehler bei CurrentCardsMessage: " + e.getMessage(), e);
-        }
+        events.accept(new GameEvent.PlayerPrompted(clientID, card.getType()));
+        logger.fine("[DEBUG] Spieler " + clientID + " ist dran mit Karte: " + card.getName());
     }
 
     /**
-     * Sends a serialized JSON message to a specific client based on their ID.
+     * Removes a player who left the running game: the robot leaves the board and the player
+     * the turn order. If the player was up, the game goes on with the next one, so nobody
+     * waits for a start point or a card that never comes.
      *
-     * @param clientID the ID of the target client
-     * @param msg the BaseMessage to be sent
+     * @param clientID the player who left
      */
-    private void broadcastToClient(int clientID, BaseMessage<?> msg) {
-        try {
-            String json = NetworkManager.serialize(msg);
-            for (ClientManager c : clients) {
-                if (c.getClientID() == clientID) {
-                    try {
-                        c.sendMessageToClient(json);
-                    } catch (IOException ignored) {}
-                    break;
-                }
-            }
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "[ERROR] Nachricht an Client " + clientID + " fehlgeschlagen: " + e.getMessage(), e);
+    public void removePlayer(int clientID) {
+        Player player = game.getPlayer(clientID);
+        if (player == null) {
+            return;
         }
-    }
+        int index = game.getPlayerOrder().indexOf(clientID);
+        boolean wasCurrent = index >= 0 && index == game.getCurrentPlayerIndex();
 
-    /**
-     * Broadcasts a raw (already serialized) JSON string to all connected clients.
-     *
-     * @param msg the message to send to every client
-     */
-    private void broadcastRaw(String msg) {
-        for (ClientManager c : clients) {
-            try {
-                c.sendMessageToClient(msg);
-            } catch (IOException ignored) {}
+        Robot robot = player.getRobot();
+        if (robot != null) {
+            board.removeRobot(robot);
+            robot.removeFromGame();
         }
-    }
+        game.removePlayer(clientID);
+        startPointChosen.remove(clientID);
+        logger.info("[INFO] Spieler " + clientID + " aus dem laufenden Spiel entfernt");
 
-    /**
-     * Broadcasts a BaseMessage object to all connected clients.
-     * Automatically serializes the message into JSON before sending.
-     *
-     * @param msg the message to send
-     */
-    private void broadcast(BaseMessage<?> msg) {
-        try {
-            String json = NetworkManager.serialize(msg);
-            for (ClientManager c : clients) {
-                try {
-                    c.sendMessageToClient(json);
-                } catch (IOException e) {
-                    logger.log(Level.SEVERE, "[ERROR] Nachricht an Client " + c.getClientID() + " fehlgeschlagen: " + e.getMessage(), e);
+        if (game.getPlayerOrder().isEmpty()) {
+            timerService.getTimer().stop();
+            return;
+        }
+        if (gameOver) {
+            return;
+        }
+
+        switch (game.getCurrentPhase()) {
+            case 0 -> {
+                if (game.getAllPlayers().stream().allMatch(Player::hasChosenStartPoint)) {
+                    startProgrammingPhase();
+                } else if (wasCurrent) {
+                    events.accept(new GameEvent.CurrentPlayer(game.getCurrentPlayerClientID()));
                 }
             }
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "[ERROR] Fehler beim Serialisieren der Nachricht: " + e.getMessage(), e);
+            case 3 -> {
+                // Der Server führt alle Register in einem Ereignis aus, nur die Clients warten auf den Zug
+                if (!wasCurrent || activationMode == ActivationMode.SERVER) {
+                    return;
+                }
+                // Der Nächste ist schon an der Stelle des Entfernten, sonst endet das Register
+                continueActivation(game.getCurrentPlayerIndex() < game.getPlayerOrder().size()
+                        ? Step.NEXT : endRegister(game.getCurrentRegister()));
+            }
+            default -> {
+            }
         }
     }
 
@@ -786,19 +1145,14 @@ public class GamePhaseController implements TimerListener{
      * Then confirms the selection via {@code sendSelectedDamage}.
      *
      * @param clientID the ID of the player making the selection
-     * @param json the incoming message containing the list of selected damage cards
+     * @param body the decoded message body containing the list of selected damage cards
      */
-    public void handlePickDamage(int clientID, String json){
+    public void handlePickDamage(int clientID, PickDamageBody body){
         try{
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode body = root.get("messageBody");
-
-            int count = body.get("count").asInt();
-            List<String> picked = new ArrayList<>();
-
-            for(JsonNode node : body.get("availablePiles")){
-                picked.add(node.asText());
-            }
+            int count = body.getCount();
+            List<String> picked = body.getAvailablePiles() != null
+                    ? new ArrayList<>(body.getAvailablePiles())
+                    : new ArrayList<>();
 
             logger.fine("[DEBUG] PickDamage erhalten von Client " + clientID + ": " + picked);
 
@@ -811,11 +1165,12 @@ public class GamePhaseController implements TimerListener{
 
             //Schaden anwenden
             for(String damage : picked){
-                DamageCard card = switch (damage){
-                    case "Spam" -> damageDeck.drawSpam();
-                    case "Trojan" -> damageDeck.drawTrojanHorse();
-                    case "Virus" -> damageDeck.drawVirus();
-                    case "Worm" -> damageDeck.drawWorm();
+                CardType type = CardType.fromName(damage);
+                DamageCard card = type == null ? null : switch (type){
+                    case SPAM -> damageDeck.drawSpam();
+                    case TROJAN_HORSE -> damageDeck.drawTrojanHorse();
+                    case VIRUS -> damageDeck.drawVirus();
+                    case WORM -> damageDeck.drawWorm();
                     default -> null;
                 };
 
@@ -842,14 +1197,8 @@ public class GamePhaseController implements TimerListener{
      * @param cardNames list of damage card names the player picked
      */
     public void sendSelectedDamage(int clientID, List<String> cardNames){
-        try{
-            SelectedDamageBody body = new SelectedDamageBody(cardNames);
-            SelectedDamageMessage message = new SelectedDamageMessage(body);
-            broadcastToClient(clientID, message);
-            logger.fine("[DEBUG] SelectedDamage an Client " + clientID + " gesendet: " + cardNames);
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "[ERROR] Fehler beim Senden von SelectedDamage: " + e.getMessage());
-        }
+        events.accept(new GameEvent.DamageSelected(clientID, cardNames));
+        logger.fine("[DEBUG] SelectedDamage an Client " + clientID + " gesendet: " + cardNames);
     }
 
     /**
@@ -857,18 +1206,11 @@ public class GamePhaseController implements TimerListener{
      *
      * @param clientID the ID of the client
      * @param register the index of the register to be replaced
-     * @param newCard the name of the new card that should replace the current one
+     * @param newCard the type of the new card that replaces the current one
      */
-    public void sendReplaceCard(int clientID, int register, String newCard){
-        try{
-            ReplaceCardBody body = new ReplaceCardBody(clientID, newCard, register);
-            ReplaceCardMessage message = new ReplaceCardMessage(body);
-            broadcastToClient(clientID, message);
-
-            logger.fine("[DEBUG] ReplaceCard an Spieler " + clientID + ": Register " + register + " -> " + newCard);
-        } catch (Exception e){
-            logger.log(Level.SEVERE, "[ERROR] Fehler beim Senden von ReplaceCard: " + e.getMessage(), e);
-        }
+    public void sendReplaceCard(int clientID, int register, CardType newCard){
+        events.accept(new GameEvent.CardReplaced(clientID, register, newCard));
+        logger.fine("[DEBUG] ReplaceCard an Spieler " + clientID + ": Register " + register + " -> " + newCard);
     }
 
     /**
@@ -878,15 +1220,8 @@ public class GamePhaseController implements TimerListener{
      * @param checkpoint the number of the checkpoint reached
      */
     public void sendCheckPointReached(int clientID, int checkpoint){
-        try{
-            CheckPointReachedBody body = new CheckPointReachedBody(clientID, checkpoint);
-            CheckPointReachedMessage message = new CheckPointReachedMessage(body);
-            broadcastToClient(clientID, message);
-            logger.fine("[DEBUG] CheckPointReached an Spieler " + clientID + ": Checkpoint " + checkpoint);
-
-        } catch(Exception e){
-            logger.log(Level.SEVERE, "[ERROR] Fehler beim Senden von CheckPointReached: " + e.getMessage(), e);
-        }
+        events.accept(new GameEvent.CheckpointReached(clientID, checkpoint));
+        logger.fine("[DEBUG] CheckPointReached an Spieler " + clientID + ": Checkpoint " + checkpoint);
     }
 
     /**
@@ -895,138 +1230,96 @@ public class GamePhaseController implements TimerListener{
      * @param clientID the client ID of the winning player
      */
     public void sendGameFinished(int clientID){
-        try{
-            GameFinishedBody body = new GameFinishedBody(clientID);
-            GameFinishedMessage message = new GameFinishedMessage(body);
-            broadcast(message);
-            logger.log(Level.FINE, "[DEBUG] GameFinished gesendet: Gewinner ist Spieler {0}", clientID);
-        } catch(Exception e){
-            logger.log(Level.SEVERE, "[ERROR] Fehler beim Senden von GameFinished: {0}", e.getMessage());
-        }
+        events.accept(new GameEvent.GameFinished(clientID));
+        logger.log(Level.FINE, "[DEBUG] GameFinished gesendet: Gewinner ist Spieler {0}", clientID);
     }
 
     /**
      * Returns true if a wall blocks movement from the given position in the given direction.
+     * Walls on both sides of the edge are folded into the precompiled mask of the board.
      */
     public boolean isBlockedByWall(Position pos, Direction dir) {
-        List<BoardTile> tiles = board.getTilesAt(pos);
-        for (BoardTile tile : tiles) {
-            if (tile instanceof WallTile wall) {
-                if (wall.getBlockedSides().contains(dir)) {
-                    return true;
-                }
+        return board.isBlocked(pos, dir);
+    }
+
+    /**
+     * Pushes the robots in front of a moving robot one field in {@code dir}.
+     * <p>
+     * The chain of robots standing directly ahead is collected first, without recursion; it
+     * ends at the first free field or at the edge of the board. A wall in front of any robot of
+     * the chain blocks the whole push and nothing moves. Otherwise all robots of the chain move
+     * at once, front first, each in the direction of the push; a robot pushed off the board or
+     * into a pit reboots. Their new positions go out together as one batch.
+     *
+     * @param from cell of the moving robot, which must not be walled off in {@code dir}
+     * @param dir  direction of the move
+     * @return {@code true} if the field ahead of the moving robot is free now
+     */
+    private boolean pushChain(int from, Direction dir) {
+        int count = 0;
+        int last = from;
+        int next = map.neighbour(last, dir);
+        while (next >= 0 && board.getRobotAt(next) != null) {
+            if (map.isBlocked(next, dir)) {
+                return false; // Wand vor der Kette, niemand bewegt sich
             }
-        }
-        // Prüfen ob von der anderen Seite geblockt
-        Position nextPos = pos.moved(dir);
-        List<BoardTile> nextTiles = board.getTilesAt(nextPos);
-        for (BoardTile tile : nextTiles) {
-            if (tile instanceof WallTile wall) {
-                if (wall.getBlockedSides().contains(dir.opposite())) {
-                    return true;
-                }
+            if (count == pushChain.length) {
+                pushChain = Arrays.copyOf(pushChain, Math.max(4, count * 2));
             }
+            pushChain[count++] = board.getRobotAt(next);
+            last = next;
+            next = map.neighbour(last, dir);
         }
-        return false;
-    }
 
-    public boolean tryPushRobot(Position pos, Direction dir) {
-        Robot blockingRobot = board.getRobotAt(pos.moved(dir));
-        if (blockingRobot == null) {
-            return true; // nichts im Weg
+        // von vorne nach hinten verschieben, damit jedes Zielfeld schon frei ist
+        for (int i = count - 1; i >= 0; i--) {
+            Robot robot = pushChain[i];
+            int at = board.cellOf(robot);
+            int to = map.neighbour(at, dir);
+            if (to < 0 || map.is(to, CompiledMap.PIT)) {
+                handleReboot(robot, to < 0 ? at : to);
+            } else {
+                board.moveRobot(robot, to);
+            }
         }
-
-        Position nextPos = pos.moved(dir);
-        if (isBlockedByWall(pos, dir) || !board.isInBounds(nextPos.getX(), nextPos.getY())) {
-            return false; // Wand oder Spielfeldgrenze
+        if (count > 0) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine("[DEBUG] " + count + " Roboter nach " + dir + " geschoben");
+            }
+            broadcastPushed(count);
         }
+        return true;
+    }
 
-        if (tryPushRobot(nextPos, dir)) {
-            executeMoveForward(blockingRobot, 1); // verschiebe blockierenden Roboter
-            return true;
+    /**
+     * Reports the moves of the robots moved by {@link #pushChain(int, Direction)} as one batch.
+     * While the server executes a register they simply join its batch.
+     */
+    private void broadcastPushed(int count) {
+        events.beginBatch();
+        try {
+            for (int i = 0; i < count; i++) {
+                Robot robot = pushChain[i];
+                pushChain[i] = null;
+                Position now = robot.getPosition();
+                events.accept(new GameEvent.RobotMoved(robot.getOwner().getClientID(), now.getX(), now.getY()));
+            }
+        } finally {
+            events.endBatch();
         }
-
-        return false; // kann nicht pushen
     }
 
     /**
      * Moves the given robot forward by a specified number of steps.
-     * Handles wall collisions, falling off the board, field activations, and reboot logic.
+     * Handles wall collisions, pushing, falling off the board or into a pit, field activations,
+     * and reboot logic.
      *
      * @param robot The robot to move.
      * @param steps The number of forward steps to execute.
      */
     public void executeMoveForward(Robot robot, int steps) {
         for (int i = 0; i < steps; i++) {
-            Position currentPos = robot.getPosition();
-            Direction dir = robot.getDirection();
-            Position nextPos = currentPos.moved(dir);
-
-            // Prüfen, ob Mauer blockiert
-            if (isBlockedByWall(currentPos, dir)) {
-                logger.fine(String.format("[DEBUG] %d at %s facing %s is blocked by wall.%n",
-                        robot.getOwner().getClientID(), currentPos, dir));
-                break;
-            }
-
-            // Prüfen, ob Spielfeldgrenze überschritten
-            if (!board.isInBounds(nextPos.getX(), nextPos.getY())) {
-                handleReboot(robot, currentPos);
-                //break;
-                return;
-            }
-
-            // Versuche den Blockierer zu pushen
-            if (board.getRobotAt(nextPos) != null) {
-                if (!tryPushRobot(currentPos, dir)) {
-                    // Pushing failed
-                    return;
-                }
-            }
-
-            // Roboter auf neue Position bewegen
-            board.moveRobot(robot, nextPos);
-            logger.fine(String.format("[DEBUG] %d moved from %s to %s facing %s%n",
-                    robot.getOwner().getClientID(), currentPos, nextPos, dir));
-
-            // JSON-Nachricht an alle Clients senden
-            RobotPositionBody posBody = new RobotPositionBody(
-                    robot.getOwner().getClientID(),
-                    nextPos.getX(),
-                    nextPos.getY(),
-                    dir.toString()
-            );
-
-            broadcast(new RobotPositionMessage(posBody));
-            // Felder am neuen Standort aktivieren
-            for (BoardTile tile : board.getTilesAt(nextPos)) {
-                tile.activate(robot);
-
-                // Checkpoints prüfen
-                if (tile instanceof CheckpointTile checkpointTile) {
-                    int reachedCheckpoint = checkpointTile.getCount();
-                    if (robot.getNextCheckpoint() == reachedCheckpoint) {
-                        //robot.addCheckpointCount();
-                        sendCheckPointReached(robot.getOwner().getClientID(), reachedCheckpoint);
-                    }
-                }
-
-                if(tile instanceof EnergyTile energyTile){
-                    int gained = energyTile.getCount();
-                    if(gained > 0) {
-                        robot.gainEnergy(gained);
-                        int clientID = robot.getOwner().getClientID();
-                        broadcast(new EnergyMessage(new EnergyBody(clientID, gained, "EnergyTile")));
-                        logger.fine("[DEBUG] PowerUp erkannt: " + gained);
-                    }
-                }
-            }
-
-            // Falls Reboot ausgelöst wurde
-            if (robot.isRebooting()) {
-                logger.fine(String.format("[DEBUG] %d triggered reboot on tile -> back to %s%n",
-                        robot.getOwner().getClientID(), robot.getPosition()));
-                board.moveRobot(robot, robot.getPosition());
+            if (!moveStep(robot, robot.getDirection(), true)) {
                 return;
             }
         }
@@ -1034,94 +1327,137 @@ public class GamePhaseController implements TimerListener{
 
     /**
      * Moves the given robot backward by a specified number of steps.
-     * Includes wall detection, boundary checks, and tile activations similar to forward movement.
+     * Includes wall detection, pushing, boundary checks, and tile activations similar to forward
+     * movement.
      *
      * @param robot The robot to move backward.
      * @param steps The number of backward steps to execute.
      */
     public void executeMoveBackward(Robot robot, int steps) {
         for (int i = 0; i < steps; i++) {
-            Position currentPos = robot.getPosition();
-            Direction dir = robot.getDirection().opposite();
-            Position nextPos = currentPos.moved(dir);
-
-            if (isBlockedByWall(currentPos, dir)) {
-                logger.fine(String.format("[DEBUG] %d at %s facing %s is blocked by wall (backward).%n",
-                        robot.getOwner().getClientID(), currentPos, dir));
-                break;
-            }
-
-            if (!board.isInBounds(nextPos.getX(), nextPos.getY())) {
-                handleReboot(robot, currentPos);
-                //break;
+            if (!moveStep(robot, robot.getDirection().opposite(), false)) {
                 return;
             }
+        }
+    }
 
-            // Versuche den Blockierer zu pushen
-            if (board.getRobotAt(nextPos) != null) {
-                if (!tryPushRobot(currentPos, dir)) {
-                    // Pushing failed
-                    return;
-                }
+    /**
+     * Moves a robot one field of a programmed move, pushing the robots in front of it.
+     *
+     * @param robot   the moving robot
+     * @param dir     direction of the step
+     * @param forward {@code true} for forward moves, which announce every step with a
+     *                {@code RobotPosition} message
+     * @return {@code true} if the robot may go on with its next step
+     */
+    private boolean moveStep(Robot robot, Direction dir, boolean forward) {
+        int current = board.cellOf(robot);
+        if (current < 0) {
+            return false; // nicht auf dem Spielfeld
+        }
+
+        // Prüfen, ob Mauer blockiert
+        if (map.isBlocked(current, dir)) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(String.format("[DEBUG] %d at %s facing %s is blocked by wall%s.%n",
+                        robot.getOwner().getClientID(), robot.getPosition(), dir, forward ? "" : " (backward)"));
             }
+            return false;
+        }
 
-            board.moveRobot(robot, nextPos);
-            logger.fine(String.format("[DEBUG] %d moved backward from %s to %s%n",
-                    robot.getOwner().getClientID(), currentPos, nextPos));
+        // Prüfen, ob Spielfeldgrenze überschritten
+        int next = map.neighbour(current, dir);
+        if (next < 0) {
+            handleReboot(robot, current);
+            return false;
+        }
 
-            for (BoardTile tile : board.getTilesAt(nextPos)) {
-                tile.activate(robot);
+        // Versuche die Blockierer zu pushen
+        if (board.getRobotAt(next) != null && !pushChain(current, dir)) {
+            // Pushing failed
+            return false;
+        }
 
-                // Prüfen, ob es ein CheckpointTile ist
-                if (tile instanceof CheckpointTile checkpointTile) {
-                    int reachedCheckpoint = checkpointTile.getCount();
-                    if (robot.getNextCheckpoint() == reachedCheckpoint) {
-                        //robot.addCheckpointCount();
-                        sendCheckPointReached(robot.getOwner().getClientID(), reachedCheckpoint);
-                    }
-                }
+        // Roboter auf neue Position bewegen
+        board.moveRobot(robot, next);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(String.format("[DEBUG] %d moved %sfrom %s to %s facing %s%n",
+                    robot.getOwner().getClientID(), forward ? "" : "backward ", map.position(current), robot.getPosition(), dir));
+        }
 
-                if(tile instanceof EnergyTile energyTile){
-                    int gained = energyTile.getCount();
-                    if(gained > 0) {
-                        robot.gainEnergy(gained);
-                        int clientID = robot.getOwner().getClientID();
-                        broadcast(new EnergyMessage(new EnergyBody(clientID, gained, "EnergyTile")));
-                        logger.fine("[DEBUG] PowerUp erkannt: " + gained);
-                    }
-                }
-            }
+        if (forward) {
+            // neue Position an alle melden
+            events.accept(new GameEvent.RobotPositioned(
+                    robot.getOwner().getClientID(),
+                    robot.getPosition().getX(),
+                    robot.getPosition().getY(),
+                    robot.getDirection().toString()
+            ));
+        }
 
-            if (robot.isRebooting()) {
+        // In eine Grube gefallen: wie vom Förderband aus neu starten
+        if (map.is(next, CompiledMap.PIT)) {
+            handleReboot(robot, next);
+            return false;
+        }
+
+        // Felder am neuen Standort aktivieren
+        activateOnEntry(robot, next);
+
+        // Falls Reboot ausgelöst wurde
+        if (robot.isRebooting()) {
+            if (logger.isLoggable(Level.FINE)) {
                 logger.fine(String.format("[DEBUG] %d triggered reboot on tile -> back to %s%n",
                         robot.getOwner().getClientID(), robot.getPosition()));
-                board.moveRobot(robot, robot.getPosition());
-                return;
+            }
+            board.moveRobot(robot, robot.getPosition());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Activates the tiles a robot enters while moving. Board elements (conveyors, push panels,
+     * gears, lasers, energy spaces, checkpoints) are skipped; they act once at the end of the
+     * register in {@link #activateBoardElements(int)}.
+     */
+    private void activateOnEntry(Robot robot, int cell) {
+        List<BoardTile> tiles = board.getTilesAt(map.position(cell));
+        for (int i = 0; i < tiles.size(); i++) {
+            BoardTile tile = tiles.get(i);
+            if (!BoardElements.isScheduled(tile)) {
+                tile.activate(robot);
             }
         }
     }
 
     /**
      * Handles the rebooting logic for a robot that has fallen off the board.
-     * Moves the robot to a restart position and assigns a Spam damage card.
+     * Moves the robot to the reboot target of the field it left ({@link CompiledMap#rebootTarget(int)})
+     * and assigns a Spam damage card.
      *
      * @param robot The robot to reboot.
-     * @param fromPos The position the robot fell from.
+     * @param cell The pit the robot fell into, or the last field before it left the board.
      */
-    private void handleReboot(Robot robot, Position fromPos) {
-        if (fromPos.getX() < 4) {
-            logger.fine(String.format("[DEBUG] %d fell in start area -> rebooting to starting point %s",
-                    robot.getOwner().getClientID(), robot.getStartingPoint()));
-            robot.reboot();
-
+    private void handleReboot(Robot robot, int cell) {
+        // Vor dem Reboot austragen, sonst bleibt der alte Eintrag im Board zurück
+        board.removeRobot(robot);
+        int target = map.rebootTarget(cell);
+        robot.reboot();
+        if (target == CompiledMap.REBOOT_AT_START) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(String.format("[DEBUG] %d fell in start area -> rebooting to starting point %s",
+                        robot.getOwner().getClientID(), robot.getStartingPoint()));
+            }
         } else {
-            Position restart = board.getRestartPoint();
-            logger.fine(String.format("[DEBUG] %d fell beyond start area -> rebooting to restart point %s",
-                    robot.getOwner().getClientID(), restart));
-            robot.reboot();
+            Position restart = map.position(target);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(String.format("[DEBUG] %d fell beyond start area -> rebooting to restart point %s",
+                        robot.getOwner().getClientID(), restart));
+            }
             robot.setRebootPosition(restart);
         }
-        board.moveRobot(robot, robot.getPosition());
+        board.placeRobot(robot, robot.getPosition());
 
         // NEU: Ziehe Spam-Karte und füge hinzu
 
@@ -1155,7 +1491,7 @@ public class GamePhaseController implements TimerListener{
     }
 
     /**
-     * Sends a message to all clients with the updated position and direction of a robot.
+     * Reports the updated position and direction of a robot to all clients.
      * This is typically called after a robot moves or reboots.
      *
      * @param clientID the ID of the player whose robot moved
@@ -1164,14 +1500,7 @@ public class GamePhaseController implements TimerListener{
      * @param direction the direction the robot is now facing (e.g. "north")
      */
     public void sendRobotPosition(int clientID, int x, int y, String direction) {
-        try {
-            var body = new RobotPositionBody(clientID, x, y, direction);
-            var message = new RobotPositionMessage(body);
-            broadcast(message);
-            logger.fine(String.format("[DEBUG] RobotPosition gesendet an alle: (%d,%d) Richtung %s für Spieler %d%n", x, y, direction, clientID));
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "[ERROR] Fehler beim Senden von RobotPosition: {0}", e.getMessage());
-
-        }
+        events.accept(new GameEvent.RobotPositioned(clientID, x, y, direction));
+        logger.fine(String.format("[DEBUG] RobotPosition gesendet an alle: (%d,%d) Richtung %s für Spieler %d%n", x, y, direction, clientID));
     }
 }
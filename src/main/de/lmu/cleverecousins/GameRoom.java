@@ -0,0 +1,526 @@
+package de.lmu.cleverecousins;
+
+import de.lmu.Board.Board;
+import de.lmu.cleverecousins.network.OutboundFrame;
+import de.lmu.cleverecousins.protocol.BaseMessage;
+import de.lmu.cleverecousins.protocol.message.PlayerDisconnectedMessage;
+import de.lmu.cleverecousins.protocol.message.SelectMapMessage;
+import de.lmu.cleverecousins.protocol.messageBody.PlayerDisconnectedBody;
+import de.lmu.cleverecousins.protocol.messageBody.SelectMapBody;
+import de.lmu.util.LogConfigurator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One table of Robo Rally hosted by the server.
+ * <p>
+ * A room owns everything that used to be a server-wide singleton: its {@link Game}, the
+ * {@link GamePhaseController} and {@link Board} once a map was chosen, its phase timer, the ready
+ * list and the lobby state of the map selection. Clients join exactly one room at a time;
+ * all game broadcasts go to the room's members only.
+ * <p>
+ * The members are kept in a copy-on-write array: joins and leaves are rare and copy it under a
+ * lock, broadcasts iterate the current array without locking or copying. Unicasts resolve the
+ * recipient through the {@link SessionRegistry}.
+ * <p>
+ * Everything that reads or changes the game state runs as an event on the room's
+ * {@link GameLoop}: player messages, the phase timer and the turn-order seats of joining and
+ * leaving clients. Membership itself is thread-safe and changes immediately.
+ *
+ * @see RoomRegistry
+ */
+public class GameRoom {
+
+    private static final Logger logger = Logger.getLogger(GameRoom.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** Maximum number of players per room (one per robot figure). */
+    public static final int MAX_PLAYERS = 6;
+
+    /** Duration of the programming timer in seconds. */
+    private static final int TIMER_SECONDS = 30;
+
+    /** Unique, never reused ID of the room. */
+    private final int roomId;
+
+    /** Display name shown in room lists. */
+    private final String name;
+
+    /** Game state of this room. */
+    private final Game game = new Game();
+
+    /** Executor for card actions of this room. */
+    private final CardExecutor cardExecutor = new CardExecutor();
+
+    /** Serial event loop for all game inputs of this room. */
+    private final GameLoop loop;
+
+    /** Timer for the timed phases of this room; expires on {@link #loop}. */
+    private final GameTimerService timerService;
+
+    /** Index of all logged-in clients, for O(1) unicasts. */
+    private final SessionRegistry sessions;
+
+    /** Clients currently in this room; replaced, never modified. */
+    private volatile ClientManager[] members = new ClientManager[0];
+
+    /**
+     * Guards the copy-on-write updates of {@link #members}, and the checks of {@link #join}
+     * against {@link #phaseController} and {@link #closed}.
+     */
+    private final ReentrantLock membersLock = new ReentrantLock();
+
+    /** Set once the room was removed from the registry; nobody can join it anymore. */
+    private boolean closed = false;
+
+    /** Client IDs that are currently marked as ready. */
+    private final List<Integer> readyPlayers = Collections.synchronizedList(new ArrayList<>());
+
+    /** Guards the ready list; a lock instead of a monitor so virtual threads never pin on it. */
+    private final ReentrantLock readyLock = new ReentrantLock();
+
+    /** Whether the map selection triggered by two ready players has been sent. */
+    private boolean mapSelectionSent = false;
+
+    /** Whether the map selection phase triggered by all players being ready has started. */
+    private volatile boolean mapSelectionPhase = false;
+
+    /** The first player who marked themselves as ready; chooses the map. */
+    private volatile ClientManager firstReadyPlayer;
+
+    /** Controller of the running game; {@code null} until a map was selected. */
+    private volatile GamePhaseController phaseController;
+
+    /** How the registers of this room's game are executed. */
+    private volatile ActivationMode activationMode = ActivationMode.CLIENT;
+
+    /**
+     * Creates an empty room.
+     *
+     * @param roomId   unique room ID
+     * @param name     display name
+     * @param sessions index of all logged-in clients
+     * @param loop     serial event loop of the room
+     */
+    GameRoom(int roomId, String name, SessionRegistry sessions, GameLoop loop) {
+        this.roomId = roomId;
+        this.name = name;
+        this.sessions = sessions;
+        this.loop = loop;
+        this.timerService = new GameTimerService(TIMER_SECONDS, loop);
+    }
+
+    /** @return the unique room ID */
+    public int getRoomId() {
+        return roomId;
+    }
+
+    /** @return the display name */
+    public String getName() {
+        return name;
+    }
+
+    /** @return the game state of this room */
+    public Game getGame() {
+        return game;
+    }
+
+    /** @return the serial event loop of this room */
+    public GameLoop getLoop() {
+        return loop;
+    }
+
+    /**
+     * Queues a game event on the room's loop.
+     *
+     * @param event the event handler
+     */
+    public void submit(Runnable event) {
+        loop.execute(event);
+    }
+
+    /** @return the phase controller, or {@code null} before the map was chosen */
+    public GamePhaseController getPhaseController() {
+        return phaseController;
+    }
+
+    /** @return how the registers of this room's game are executed */
+    public ActivationMode getActivationMode() {
+        return activationMode;
+    }
+
+    /**
+     * Sets how the registers are executed; takes effect with the next activation phase.
+     *
+     * @param activationMode the mode
+     */
+    public void setActivationMode(ActivationMode activationMode) {
+        this.activationMode = activationMode;
+        GamePhaseController controller = phaseController;
+        if (controller != null) {
+            controller.setActivationMode(activationMode);
+        }
+    }
+
+    /** @return {@code true} once a map was selected and the game was set up */
+    public boolean isStarted() {
+        return phaseController != null;
+    }
+
+    /** @return {@code true} if new players may still join */
+    public boolean isOpen() {
+        return !isStarted() && members.length < MAX_PLAYERS;
+    }
+
+    /** @return number of clients in this room */
+    public int size() {
+        return members.length;
+    }
+
+    /** @return {@code true} if no client is left in this room */
+    public boolean isEmpty() {
+        return members.length == 0;
+    }
+
+    /**
+     * Returns the current members. The array is never modified after publication, so callers
+     * can iterate it without locking; they must not modify it.
+     *
+     * @return the members in join order
+     */
+    public ClientManager[] members() {
+        return members;
+    }
+
+    /**
+     * Looks up a member by client ID.
+     *
+     * @param clientID the client ID
+     * @return the client, or {@code null} if it is not in this room
+     */
+    public ClientManager member(int clientID) {
+        ClientManager cm = sessions.get(clientID);
+        return cm != null && cm.getRoom() == this ? cm : null;
+    }
+
+    /**
+     * Adds a client to this room if it is still open. Its seat in the turn order is taken on
+     * the loop. The room is checked under the same lock that starts and closes it, so a client
+     * never ends up in a running or removed room.
+     *
+     * @param cm the joining client
+     * @return {@code false} if the room was closed, started or full in the meantime
+     */
+    boolean join(ClientManager cm) {
+        membersLock.lock();
+        try {
+            ClientManager[] current = members;
+            if (closed || phaseController != null || current.length >= MAX_PLAYERS) {
+                return false;
+            }
+            ClientManager[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = cm;
+            members = next;
+        } finally {
+            membersLock.unlock();
+        }
+        int clientID = cm.getClientID();
+        loop.execute(() -> {
+            if (!isStarted() && !game.getPlayerOrder().contains(clientID)) {
+                game.addToPlayerOrder(clientID);
+            }
+        });
+        logger.fine("[DEBUG] Client " + clientID + " ist Raum " + roomId + " beigetreten");
+        return true;
+    }
+
+    /**
+     * Removes a client from this room. Its seat in the turn order is freed as well, on the
+     * loop (right away if called from it); in a running game its robot leaves the board and
+     * the game goes on without it.
+     *
+     * @param cm the leaving client
+     */
+    void leave(ClientManager cm) {
+        membersLock.lock();
+        try {
+            ClientManager[] current = members;
+            ClientManager[] next = new ClientManager[current.length];
+            int n = 0;
+            for (ClientManager c : current) {
+                if (c != cm) {
+                    next[n++] = c;
+                }
+            }
+            members = Arrays.copyOf(next, n);
+        } finally {
+            membersLock.unlock();
+        }
+        int clientID = cm.getClientID();
+        readyPlayers.remove(Integer.valueOf(clientID));
+        Runnable freeSeat = () -> {
+            if (isStarted()) {
+                // Roboter verlässt das Brett, das Spiel geht ohne den Spieler weiter
+                phaseController.removePlayer(clientID);
+            } else {
+                game.removePlayer(clientID);
+            }
+        };
+        // beim Verbindungsabbruch sind wir schon im Ereignis des Raums
+        if (loop.inLoop()) {
+            freeSeat.run();
+        } else {
+            loop.execute(freeSeat);
+        }
+        if (firstReadyPlayer == cm) {
+            firstReadyPlayer = null;
+        }
+        logger.fine("[DEBUG] Client " + cm.getClientID() + " hat Raum " + roomId + " verlassen");
+    }
+
+    /**
+     * Creates the phase controller for the chosen board and starts the setup phase.
+     * Must be called on the room's loop.
+     *
+     * @param board the board built from the selected map
+     * @return the new controller
+     */
+    public GamePhaseController startGame(Board board) {
+        GamePhaseController controller = new GamePhaseController(game, board, cardExecutor, timerService, this);
+        membersLock.lock();
+        try {
+            // ab hier lehnt join() neue Spieler ab
+            phaseController = controller;
+        } finally {
+            membersLock.unlock();
+        }
+        controller.startSetupPhase();
+        logger.fine("[DEBUG] Raum " + roomId + ": Setup-Phase gestartet");
+        return controller;
+    }
+
+    /**
+     * Closes the room if no client is left: no one can join it anymore, its timers stop and
+     * its pending delayed events are cancelled. Called by the registry after a client left.
+     *
+     * @return {@code true} if the room was empty and is closed now
+     */
+    boolean closeIfEmpty() {
+        membersLock.lock();
+        try {
+            if (closed || members.length > 0) {
+                return false;
+            }
+            closed = true;
+        } finally {
+            membersLock.unlock();
+        }
+        timerService.getTimer().stop();
+        loop.close();
+        return true;
+    }
+
+    // --- Ready list and map selection ---
+
+    /** @return the client IDs currently marked as ready */
+    public List<Integer> getReadyPlayers() {
+        return readyPlayers;
+    }
+
+    /** @return whether the all-ready map selection phase has started */
+    public boolean isMapSelectionPhase() {
+        return mapSelectionPhase;
+    }
+
+    /**
+     * Marks that the all-ready map selection phase has started.
+     *
+     * @param mapSelectionPhase new state
+     */
+    public void setMapSelectionPhase(boolean mapSelectionPhase) {
+        this.mapSelectionPhase = mapSelectionPhase;
+    }
+
+    /** @return the first client that marked themselves ready, or {@code null} */
+    public ClientManager getFirstReadyPlayer() {
+        return firstReadyPlayer;
+    }
+
+    /**
+     * Remembers the first ready client if none is set yet.
+     *
+     * @param cm the client that just became ready
+     */
+    public void offerFirstReadyPlayer(ClientManager cm) {
+        readyLock.lock();
+        try {
+            if (firstReadyPlayer == null) {
+                firstReadyPlayer = cm;
+            }
+        } finally {
+            readyLock.unlock();
+        }
+    }
+
+    /**
+     * Adds or removes a client from the ready list based on its status.
+     * If at least 2 players become ready and map selection hasn't been sent,
+     * a map selection message is sent to all members.
+     *
+     * @param c the client whose ready status changed
+     */
+    public void changeReadyList(ClientManager c) {
+        boolean sendMapSelection = false;
+
+        // Nur den Zustand unter dem Lock ändern, gesendet wird danach
+        readyLock.lock();
+        try {
+            boolean wasEnoughBefore = readyPlayers.size() >= 2;
+
+            if (c.getReady()) {
+                if (!readyPlayers.contains(c.getClientID())) {
+                    readyPlayers.add(c.getClientID());
+                }
+            } else {
+                readyPlayers.remove(Integer.valueOf(c.getClientID()));
+            }
+
+            boolean isEnoughNow = readyPlayers.size() >= 2;
+
+            if (!wasEnoughBefore && isEnoughNow && !mapSelectionSent) {
+                mapSelectionSent = true;
+                sendMapSelection = true;
+            }
+
+            if (readyPlayers.size() < 2) {
+                mapSelectionSent = false;
+            }
+        } finally {
+            readyLock.unlock();
+        }
+
+        if (sendMapSelection) {
+            try {
+                broadcastMapSelection();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "[ERROR] Map-Auswahl konnte nicht gesendet werden: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Sends a map selection message to all members, initiated by the first ready player.
+     *
+     * @throws IOException if serialization fails
+     */
+    public void broadcastMapSelection() throws IOException {
+        ClientManager chooser = findFirstReadyPlayer();
+        if (chooser == null) {
+            logger.warning("[WARN] Kein Spieler bereit für Map-Auswahl.");
+            return;
+        }
+
+        SelectMapBody body = new SelectMapBody(Server.getAvailableMaps(), chooser.getClientID());
+        broadcast(new SelectMapMessage(body), false);
+        logger.fine("[DEBUG] Raum " + roomId + ": Map-Auswahl-Nachricht an alle Clients gesendet");
+    }
+
+    /**
+     * Finds and returns the first member who is marked as ready.
+     *
+     * @return the first ready client, or {@code null} if none are ready
+     */
+    public ClientManager findFirstReadyPlayer() {
+        for (ClientManager c : members) {
+            if (c.getReady()) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    // --- Broadcasting ---
+
+    /**
+     * Encodes a message once and sends it to one member.
+     *
+     * @param clientID    the recipient
+     * @param msg         the message
+     * @param coalescable whether the message may be dropped for slow clients
+     * @return {@code true} if the recipient is in this room and the message was queued
+     * @throws IOException if serialization fails
+     */
+    public boolean sendTo(int clientID, BaseMessage<?> msg, boolean coalescable) throws IOException {
+        ClientManager cm = member(clientID);
+        if (cm == null) {
+            return false;
+        }
+        OutboundFrame frame = NetworkManager.encode(msg);
+        try {
+            cm.sendFrame(frame, coalescable);
+            return true;
+        } catch (IOException e) {
+            logger.fine("[DEBUG] Nachricht an " + clientID + " nicht zugestellt: " + e.getMessage());
+            return false;
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Encodes a message once and sends it to every member.
+     *
+     * @param msg         the message
+     * @param coalescable whether the message may be dropped for slow clients
+     * @throws IOException if serialization fails
+     */
+    public void broadcast(BaseMessage<?> msg, boolean coalescable) throws IOException {
+        OutboundFrame frame = NetworkManager.encode(msg);
+        try {
+            broadcast(frame, coalescable);
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Sends an encoded frame to every member. Delivery errors are logged per client.
+     *
+     * @param frame       the encoded message
+     * @param coalescable whether the message may be dropped for slow clients
+     */
+    public void broadcast(OutboundFrame frame, boolean coalescable) {
+        for (ClientManager cm : members) {
+            try {
+                cm.sendFrame(frame, coalescable);
+            } catch (IOException e) {
+                logger.fine("[DEBUG] Nachricht an " + cm.getClientID() + " nicht zugestellt: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Notifies all members that a player has disconnected.
+     *
+     * @param clientID   the ID of the disconnected player
+     * @param playerName the name of the disconnected player
+     */
+    public void broadcastPlayerDisconnected(int clientID, String playerName) {
+        try {
+            broadcast(new PlayerDisconnectedMessage(new PlayerDisconnectedBody(clientID, playerName)), false);
+            logger.info("[INFO] PlayerDisconnected sauber an alle übertragen: " + playerName);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[ERROR] broadcastPlayerDisconnected konnte nicht serialisiert werden: " + e.getMessage(), e);
+        }
+    }
+}
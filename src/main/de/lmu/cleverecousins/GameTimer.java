@@ -1,15 +1,21 @@
 package de.lmu.cleverecousins;
 
+import de.lmu.util.Cancellable;
+import de.lmu.util.HashedWheelTimer;
+
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * One-shot countdown timer used for game phases.
  * <p>
  * The timer runs for a fixed duration (in seconds) and notifies all registered
  * {@link TimerListener}s when it expires. It can be started once and stopped manually.
+ * The countdown is a delayed event of the loop, on the shared {@link HashedWheelTimer} unless
+ * the loop runs on another clock, so no thread is held while it runs.
+ * <p>
+ * The expiration is delivered as an event of the {@link GameLoop} of the game, so listeners
+ * run in order with all other inputs of the game and need no locking.
  */
 public class GameTimer {
 
@@ -17,23 +23,42 @@ public class GameTimer {
     private final int durationMillis;
 
     /** {@code true} while the timer is counting down. */
-    private boolean running;
+    private volatile boolean running;
 
     /** Registered listeners to be notified on expiry. */
     private final List<TimerListener> listeners = new ArrayList<>();
 
-    /** Internal {@link Timer} instance scheduling the expiration task. */
-    private Timer internalTimer;
+    /** Loop that receives the expiration. */
+    private final GameLoop loop;
+
+    /** Pending expiration on {@link #loop}. */
+    private Cancellable pending;
+
+    /** Incremented on every start and stop, so an expiration already queued on the loop can be recognized as stale. */
+    private volatile int generation;
 
 
     /**
      * Creates a new timer with the given duration.
      *
+     * Listeners run on a loop of their own.
+     *
      * @param seconds duration of the countdown in seconds
      */
     public GameTimer(int seconds){
+        this(seconds, null);
+    }
+
+    /**
+     * Creates a new timer whose expiration is delivered on the given game loop.
+     *
+     * @param seconds duration of the countdown in seconds
+     * @param loop    loop that runs the listeners, or {@code null} for a loop of its own
+     */
+    public GameTimer(int seconds, GameLoop loop){
         this.durationMillis = seconds * 1000;
         this.running = false;
+        this.loop = loop != null ? loop : new GameLoop("Timer");
     }
 
     /**
@@ -44,14 +69,8 @@ public class GameTimer {
         if(running) return;
         running = true;
 
-        internalTimer = new Timer();
-        internalTimer.schedule(new TimerTask(){
-            @Override
-            public void run(){
-                running = false;
-                notifyListeners();
-            }
-        }, durationMillis);
+        int started = ++generation;
+        pending = loop.schedule(() -> expire(started), durationMillis);
     }
 
     /**
@@ -59,13 +78,26 @@ public class GameTimer {
      * Safe to call if the timer is not running.
      */
     public void stop(){
-        if(internalTimer != null){
-            internalTimer.cancel();
-            internalTimer = null;
+        generation++;
+        if (pending != null) {
+            pending.cancel();
+            pending = null;
         }
         running = false;
     }
 
+    /**
+     * Expiration event on the loop; ignored if the timer was stopped or restarted meanwhile.
+     *
+     * @param started generation of the start that scheduled this expiration
+     */
+    private void expire(int started){
+        if (!running || started != generation) return;
+        running = false;
+        pending = null;
+        notifyListeners();
+    }
+
     /**
      * Registers a listener to be informed when the timer expires.
      *
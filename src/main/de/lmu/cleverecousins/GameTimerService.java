@@ -19,6 +19,16 @@ public class GameTimerService {
         this.timer = new GameTimer(durationSeconds);
     }
 
+    /**
+     * Creates the service with a timer that expires on the given game loop.
+     *
+     * @param durationSeconds duration of the timer in seconds
+     * @param loop            the loop of the game that owns the timer
+     */
+    public GameTimerService(int durationSeconds, GameLoop loop){
+        this.timer = new GameTimer(durationSeconds, loop);
+    }
+
     /**
      * Returns the wrapped {@link GameTimer}.
      *
@@ -0,0 +1,186 @@
+package de.lmu.cleverecousins;
+
+import de.lmu.Board.Board;
+import de.lmu.Board.CompiledMap;
+import de.lmu.cleverecousins.cards.CardType;
+import de.lmu.cleverecousins.event.EventSink;
+import de.lmu.cleverecousins.event.GameEvent;
+import de.lmu.cleverecousins.protocol.messageBody.SelectedCardBody;
+import de.lmu.cleverecousins.protocol.messageBody.SetStartingPointBody;
+import de.lmu.util.VirtualClock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * One game of Robo Rally in-process, without room, sockets or JSON.
+ * <p>
+ * The game runs on the production {@link GamePhaseController}; only the inputs come from the
+ * caller instead of protocol messages, and the events go to the given {@link EventSink}.
+ * Everything happens on the calling thread: the caller chooses the start points, programs the
+ * registers and ends the programming phase with {@link #endProgramming()} instead of waiting for
+ * the timer. The registers are executed by the server ({@link ActivationMode#SERVER}) right
+ * after that, so one call plays a whole round. Games are independent of each other and can
+ * run on as many threads as there are games.
+ */
+public class HeadlessGame {
+
+    /** Duration of the programming timer; it never expires here, see {@link #endProgramming()}. */
+    private static final int TIMER_SECONDS = 30;
+
+    private final Game game = new Game();
+    private final Board board;
+    private final GameTimerService timerService;
+    private final GamePhaseController controller;
+
+    /** Client IDs of the players, 1 to n. */
+    private final List<Integer> playerIDs = new ArrayList<>();
+
+    /** Number of programming phases started so far. */
+    private int rounds;
+
+    /** Client ID of the winner, {@code -1} while the game runs. */
+    private int winner = -1;
+
+    /**
+     * Sets up a game with {@code players} players on the given map.
+     *
+     * @param map     the compiled map, may be shared with other games
+     * @param players number of players, their client IDs are 1 to {@code players}
+     * @param events  receives the events of the game
+     * @param random  shuffles the decks of the players
+     */
+    public HeadlessGame(CompiledMap map, int players, EventSink events, RandomGenerator random) {
+        this.board = new Board(map);
+        for (int id = 1; id <= players; id++) {
+            Position defaultPosition = new Position(0, 0);
+            Player player = new Player(id, new Robot(defaultPosition, Direction.TOP), defaultPosition, random);
+            game.addToPlayerOrder(id);
+            game.addPlayer(player);
+            playerIDs.add(id);
+        }
+        // Die Uhr läuft nie, der Timer läuft also nie ab
+        VirtualClock clock = new VirtualClock();
+        this.timerService = new GameTimerService(TIMER_SECONDS, new GameLoop("Headless", clock, clock));
+        this.controller = new GamePhaseController(game, board, new CardExecutor(), timerService,
+                new Observer(events), ActivationMode.SERVER);
+    }
+
+    /** Starts the setup phase; the first player chooses a start point. */
+    public void start() {
+        controller.startSetupPhase();
+    }
+
+    /**
+     * Places the robot of the player who is up on a start point. After the last player the
+     * first programming phase starts.
+     *
+     * @param clientID the player, see {@link Game#getCurrentPlayerClientID()}
+     * @param x        column of the start point
+     * @param y        row of the start point
+     */
+    public void chooseStartingPoint(int clientID, int x, int y) {
+        controller.setStartingPoint(clientID, new SetStartingPointBody(x, y));
+    }
+
+    /**
+     * Puts a card of the player's hand into a register.
+     *
+     * @param clientID the player
+     * @param register register index 0-4
+     * @param card     a card type from the player's hand
+     */
+    public void selectCard(int clientID, int register, CardType card) {
+        controller.selectCard(clientID, new SelectedCardBody(card.protocolName(), register));
+    }
+
+    /**
+     * Ends the programming phase as if the timer had expired: empty registers are filled with
+     * random cards from the hand, all registers are executed and, unless somebody won, the next
+     * programming phase starts.
+     */
+    public void endProgramming() {
+        timerService.getTimer().stop();
+        controller.onTimerExpired();
+    }
+
+    /** @return the start points of the map in column order, taken or not */
+    public List<Position> getStartPoints() {
+        CompiledMap map = board.getMap();
+        List<Position> startPoints = new ArrayList<>();
+        for (int x = 0; x < map.getWidth(); x++) {
+            for (int y = 0; y < map.getHeight(); y++) {
+                if (map.is(x, y, CompiledMap.START_POINT)) {
+                    startPoints.add(new Position(x, y));
+                }
+            }
+        }
+        return startPoints;
+    }
+
+    /** @return the game state */
+    public Game getGame() {
+        return game;
+    }
+
+    /** @return the board of the game */
+    public Board getBoard() {
+        return board;
+    }
+
+    /** @return the controller running the game */
+    public GamePhaseController getController() {
+        return controller;
+    }
+
+    /** @return the client IDs of the players */
+    public List<Integer> getPlayerIDs() {
+        return playerIDs;
+    }
+
+    /** @return number of programming phases started so far */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /** @return {@code true} once a robot reached the last checkpoint */
+    public boolean isOver() {
+        return controller.isGameOver();
+    }
+
+    /** @return client ID of the winner, or {@code -1} while the game runs */
+    public int getWinner() {
+        return winner;
+    }
+
+    /** Counts rounds and remembers the winner, then passes every event on. */
+    private final class Observer implements EventSink {
+
+        private final EventSink next;
+
+        Observer(EventSink next) {
+            this.next = next;
+        }
+
+        @Override
+        public void accept(GameEvent event) {
+            if (event instanceof GameEvent.PhaseChanged changed && changed.phase() == 2) {
+                rounds++;
+            } else if (event instanceof GameEvent.GameFinished finished) {
+                winner = finished.clientID();
+            }
+            next.accept(event);
+        }
+
+        @Override
+        public void beginBatch() {
+            next.beginBatch();
+        }
+
+        @Override
+        public void endBatch() {
+            next.endBatch();
+        }
+    }
+}
@@ -2,11 +2,13 @@ package de.lmu.cleverecousins;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.lmu.cleverecousins.network.OutboundFrame;
 import de.lmu.cleverecousins.protocol.BaseMessage;
 import de.lmu.cleverecousins.protocol.message.*;
 import de.lmu.cleverecousins.protocol.messageBody.*;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * Utility class for (de)serializing protocol messages to and from JSON using Jackson.
@@ -79,6 +81,39 @@ public class NetworkManager {
         return objectMapper.writeValueAsString(message);
     }
 
+    /**
+     * Serializes a message once into an {@link OutboundFrame} that can be sent to any number
+     * of clients without re-encoding. The caller owns one reference and must release it
+     * after passing the frame to all recipients.
+     *
+     * @param message the message instance to serialize
+     * @return the encoded frame
+     * @throws IOException if Jackson fails to write the value
+     */
+    public static OutboundFrame encode(BaseMessage<?> message) throws IOException {
+        return OutboundFrame.wrap(objectMapper.writeValueAsBytes(message));
+    }
+
+    /**
+     * Message types that only carry transient information. A client that falls behind may
+     * miss them without losing game state, so outbound queues drop them first.
+     */
+    private static final Set<Class<?>> COALESCABLE_TYPES = Set.of(
+            AliveMessage.class,
+            AnimationMessage.class,
+            SystemMessage.class
+    );
+
+    /**
+     * Returns whether the message may be dropped when the receiver's outbound queue is full.
+     *
+     * @param message the message to check
+     * @return {@code true} for transient messages such as animations or system notices
+     */
+    public static boolean isCoalescable(BaseMessage<?> message) {
+        return COALESCABLE_TYPES.contains(message.getClass());
+    }
+
     /**
      * Extracts the {@code messageType} field from a JSON string without fully deserializing it.
      *
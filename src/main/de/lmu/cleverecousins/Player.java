@@ -1,13 +1,16 @@
 package de.lmu.cleverecousins;
 
+import de.lmu.cleverecousins.cards.CardType;
 import de.lmu.cleverecousins.cards.DiscardDeck;
 import de.lmu.cleverecousins.cards.ProgrammingDeck;
 import de.lmu.cleverecousins.cards.damageCards.DamageCard;
 import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCard;
+import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCards;
 import de.lmu.util.LogConfigurator;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,8 +46,17 @@ public class Player {
 
     //private final List<UpgradeCard> upgradeSlots;
 
-    /** The cards currently in the player's hand. */
-    private final List<ProgrammingCard> hand;
+    /** Number of cards drawn into the hand each round. */
+    private static final int HAND_SIZE = 9;
+
+    /** Ids of the cards currently in the player's hand, see {@link ProgrammingCards}. */
+    private final byte[] handIds = new byte[HAND_SIZE];
+
+    /** Number of valid entries in {@link #handIds}. */
+    private int handSize;
+
+    /** The cards currently in the player's hand, a list view of {@link #handIds}. */
+    private final List<ProgrammingCard> hand = new HandView();
 
     /** How many checkpoints the player has reached so far. */
     private int checkpointsReached;
@@ -95,12 +107,23 @@ public class Player {
      * @param startPoint starting position (also used as reboot point)
      */
     public Player(int clientID, Robot robot, Position startPoint) {
+        this(clientID, robot, startPoint, RandomGenerator.getDefault());
+    }
+
+    /**
+     * Creates a new player instance whose draw pile is shuffled with the given generator.
+     *
+     * @param clientID   unique client identifier from the server
+     * @param robot      robot controlled by this player
+     * @param startPoint starting position (also used as reboot point)
+     * @param random     source of randomness for shuffling the draw pile
+     */
+    public Player(int clientID, Robot robot, Position startPoint, RandomGenerator random) {
         this.clientID = clientID;
         this.robot = robot;
-        this.drawPile = new ProgrammingDeck();
+        this.drawPile = new ProgrammingDeck(random);
         this.discardDeck = new DiscardDeck();
         // this.upgradeSlots = new ArrayList<>();
-        this.hand = new ArrayList<>();
         this.checkpointsReached = 0;
         this.energyReserve = 0;
         this.startPoint = startPoint;
@@ -127,22 +150,27 @@ public class Player {
      * @return {@code true} if a reshuffle of the discard pile was required, {@code false} otherwise
      */
     public boolean drawCards() {
-        logger.fine(() -> String.format("[DEBUG] drawCards() START - DrawPiled=%d, DiscardDeck=%d",
-                drawPile.size(), discardDeck.size()));
-        hand.clear();
-        List<ProgrammingCard> drawn = drawPile.draw(9);
-        hand.addAll(drawn);
-        logger.fine(() -> String.format("[DEBUG] Nach erstem Ziehen - Hand=%d, DrawPiled=%d, DiscardDeck=%d",
-                hand.size(), drawPile.size(), discardDeck.size()));
+        boolean debug = logger.isLoggable(Level.FINE);
+        if (debug) {
+            logger.fine(String.format("[DEBUG] drawCards() START - DrawPiled=%d, DiscardDeck=%d",
+                    drawPile.size(), discardDeck.size()));
+        }
+        handSize = drawPile.drawInto(handIds, 0, HAND_SIZE);
+        if (debug) {
+            logger.fine(String.format("[DEBUG] Nach erstem Ziehen - Hand=%d, DrawPiled=%d, DiscardDeck=%d",
+                    handSize, drawPile.size(), discardDeck.size()));
+        }
         boolean hadToShuffle = false;
-        if (hand.size() < 9) {
+        if (handSize < HAND_SIZE) {
             logger.fine("[DEBUG] Nicht genug Karten im DrawPile, shuffeln DiscardDeck rein...");
             discardDeck.shuffleInto(drawPile);
             drawPile.shuffle();
-            hand.addAll(drawPile.draw(9 - hand.size()));
+            handSize += drawPile.drawInto(handIds, handSize, HAND_SIZE - handSize);
             hadToShuffle = true;
-            logger.fine(() -> String.format("[DEBUG] Nach Shuffle & Nachziehen - Hand=%d, DrawPile=%d, DiscardDeck=%d",
-                    hand.size(), drawPile.size(), discardDeck.size()));
+            if (debug) {
+                logger.fine(String.format("[DEBUG] Nach Shuffle & Nachziehen - Hand=%d, DrawPile=%d, DiscardDeck=%d",
+                        handSize, drawPile.size(), discardDeck.size()));
+            }
         }
         return hadToShuffle;
     }
@@ -151,18 +179,29 @@ public class Player {
      * Discards the entire hand into the discard pile.
      */
     public void discardHand() {
-        discardDeck.addAll(new ArrayList<>(hand));
-        logger.fine(() -> "[DEBUG] discardHand(): " + hand.size() + " Karten ins DiscardDecl gelegt, jetzt Größe=" + discardDeck.size());
-        hand.clear();
+        discardDeck.addAll(handIds, 0, handSize);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("[DEBUG] discardHand(): " + handSize + " Karten ins DiscardDecl gelegt, jetzt Größe=" + discardDeck.size());
+        }
+        handSize = 0;
     }
 
     /**
      * Discards all cards currently in the robot's registers into the discard pile.
      */
     public void discardUsedCards() {
-        List<ProgrammingCard> usedCards = new ArrayList<>(robot.clearRegisters());
-        discardDeck.addAll(usedCards);
-        logger.fine(() -> "[DEBUG] discardUsedCards(): " + usedCards.size() + " Karten ins DiscardDeck gelegt, jetzt Größe=" + discardDeck.size());
+        int used = 0;
+        for (int i = 0; i < 5; i++) {
+            ProgrammingCard card = robot.getRegister(i);
+            if (card != null) {
+                discardDeck.add(card);
+                robot.setRegister(i, null);
+                used++;
+            }
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("[DEBUG] discardUsedCards(): " + used + " Karten ins DiscardDeck gelegt, jetzt Größe=" + discardDeck.size());
+        }
     }
 
     /**
@@ -173,18 +212,33 @@ public class Player {
      *                                   if any of them are not in the hand
      */
     public void programFromHand(List<ProgrammingCard> chosenFive) {
-        if (chosenFive.size() != 5 || !hand.containsAll(chosenFive)) {
+        if (chosenFive.size() != 5) {
             throw new IllegalArgumentException("非法编程选择");
         }
+        // Karten gleichen Typs sind dieselbe Instanz: pro gewählter Karte eine Kopie aus der Hand nehmen
+        byte[] rest = handIds.clone();
+        int restSize = handSize;
+        for (ProgrammingCard card : chosenFive) {
+            int index = indexOf(rest, restSize, card.getId());
+            if (index < 0) {
+                throw new IllegalArgumentException("非法编程选择");
+            }
+            rest[index] = rest[--restSize];
+        }
         for (int i = 0; i < 5; i++) {
             robot.setRegister(i, chosenFive.get(i));
         }
-        for (ProgrammingCard card : hand) {
-            if (!chosenFive.contains(card)) {
-                discardDeck.add(card);
+        discardDeck.addAll(rest, 0, restSize);
+        handSize = 0;
+    }
+
+    private static int indexOf(byte[] ids, int size, byte id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
             }
         }
-        hand.clear();
+        return -1;
     }
 
     /**
@@ -232,26 +286,29 @@ public class Player {
      * Clears the player's hand and all robot registers. Typically used when resetting state.
      */
     public void resetAllRegisters() {
-        hand.clear();
+        handSize = 0;
         robot.clearRegisters();
     }
 
     /**
-     * Sets (or clears) a card in a specific robot register by name.
+     * Moves a card of the given type from the hand into a specific robot register, or clears
+     * the register.
      *
-     * @param cardName      name of the card to place; {@code null} to clear the slot
+     * @param type          type of the card to place; {@code null} to clear the slot
      * @param registerIndex index (0-4) of the register to modify
      * @return {@code true} if the register was set/cleared successfully; {@code false} if the card was not found
      */
-    public boolean setRegisterCard(String cardName, int registerIndex) {
+    public boolean setRegisterCard(CardType type, int registerIndex) {
         if (registerIndex < 0 || registerIndex > 4) return false;
-        if (cardName == null) {
+        if (type == null) {
             robot.setRegister(registerIndex, null);
             return true;
         }
-        for (ProgrammingCard card : hand) {
-            if (card.getName().equals(cardName)) {
-                robot.setRegister(registerIndex, card);
+        byte id = type.id();
+        for (int i = 0; i < handSize; i++) {
+            if (handIds[i] == id) {
+                robot.setRegister(registerIndex, ProgrammingCards.byId(id));
+                hand.remove(i);
                 return true;
             }
         }
@@ -270,7 +327,7 @@ public class Player {
     }
 
     /**
-     * @return the player's current hand (modifiable list)
+     * @return the player's current hand (modifiable list view; cards can be removed, not added)
      */
     public List<ProgrammingCard> getHand() {
         return hand;
@@ -355,4 +412,30 @@ public class Player {
     public void setRebooting(boolean rebooting) {
         isRebooting = rebooting;
     }
-}
\ No newline at end of file
+
+    /** List view of the hand ids; removing shifts the remaining ids down. */
+    private final class HandView extends AbstractList<ProgrammingCard> {
+
+        @Override
+        public ProgrammingCard get(int index) {
+            if (index < 0 || index >= handSize) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return ProgrammingCards.byId(handIds[index]);
+        }
+
+        @Override
+        public ProgrammingCard remove(int index) {
+            ProgrammingCard card = get(index);
+            System.arraycopy(handIds, index + 1, handIds, index, handSize - index - 1);
+            handSize--;
+            modCount++;
+            return card;
+        }
+
+        @Override
+        public int size() {
+            return handSize;
+        }
+    }
+}
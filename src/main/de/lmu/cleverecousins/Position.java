@@ -1,7 +1,5 @@
 package de.lmu.cleverecousins;
 
-import java.util.Objects;
-
 /**
  * Mutable 2D grid coordinate used for robot/map positions.
  * <p>
@@ -126,13 +124,13 @@ public class Position {
     }
 
     /**
-     * Hashes based on x and y coordinates.
+     * Hashes based on x and y coordinates, without the varargs array of {@code Objects.hash}.
      *
      * @return hash code
      */
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 
     /**
@@ -260,10 +260,20 @@ public class Robot {
      * @param steps number of steps to move
      */
     public void moveInDirection(Direction dir, int steps) {
-        for (int i = 0; i < steps; i++) {
-            this.lastMoveDirection = dir;   // 记录这次移动的方向
-            this.position = this.position.moved(dir);
+        if (steps <= 0) {
+            return;
         }
+        this.lastMoveDirection = dir;   // 记录这次移动的方向
+        int x = position.getX();
+        int y = position.getY();
+        switch (dir) {
+            case TOP -> y -= steps;
+            case RIGHT -> x += steps;
+            case BOTTOM -> y += steps;
+            case LEFT -> x -= steps;
+        }
+        // eine neue Position für den ganzen Weg statt einer pro Schritt
+        this.position = new Position(x, y);
     }
 
     /** Returns the direction the robot last moved in. */
@@ -0,0 +1,199 @@
+package de.lmu.cleverecousins;
+
+import de.lmu.cleverecousins.cards.CardType;
+import de.lmu.cleverecousins.event.EventSink;
+import de.lmu.cleverecousins.event.GameEvent;
+import de.lmu.cleverecousins.network.OutboundFrame;
+import de.lmu.cleverecousins.protocol.BaseMessage;
+import de.lmu.cleverecousins.protocol.message.*;
+import de.lmu.cleverecousins.protocol.messageBody.*;
+import de.lmu.util.LogConfigurator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends the {@link GameEvent}s of a room's game to its members as protocol messages.
+ * <p>
+ * Every message is serialized and encoded once; broadcasts share the frame between all members.
+ * Events of a batch are collected and go out as one frame when the batch ends. A message for a
+ * single client first sends what was collected so far, so every client sees the messages in
+ * the order of the game. {@link GameEvent.TurnPassed} is announced after a short pause on the
+ * room's loop, so the clients can finish the animation of the card before.
+ */
+final class RoomEventSink implements EventSink {
+
+    private static final Logger logger = Logger.getLogger(RoomEventSink.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** Pause before the next player is announced in {@link ActivationMode#CLIENT}. */
+    private static final long TURN_DELAY_MILLIS = 500;
+
+    private final GameRoom room;
+
+    /** Messages of the open batch, one per line; empty between batches. */
+    private final StringBuilder batch = new StringBuilder();
+
+    /** Nesting depth of {@link #beginBatch()}. */
+    private int batchDepth;
+
+    RoomEventSink(GameRoom room) {
+        this.room = room;
+    }
+
+    @Override
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    @Override
+    public void endBatch() {
+        if (--batchDepth == 0) {
+            flushBatch();
+        }
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        switch (event) {
+            case GameEvent.PhaseChanged e -> broadcast(new ActivePhaseMessage(new ActivePhaseBody(e.phase())));
+            case GameEvent.CurrentPlayer e -> broadcast(new CurrentPlayerMessage(new CurrentPlayerBody(e.clientID())));
+            case GameEvent.CardsDealt e -> dealCards(e);
+            case GameEvent.DeckShuffled e -> broadcast(new ShuffleCodingMessage(new ShuffleCodingBody(e.clientID())));
+            case GameEvent.StartingPointTaken e -> broadcast(new StartingPointTakenMessage(
+                    new StartingPointTakenBody(e.x(), e.y(), e.direction(), e.clientID())));
+            case GameEvent.RobotPositioned e -> broadcast(new RobotPositionMessage(
+                    new RobotPositionBody(e.clientID(), e.x(), e.y(), e.direction())));
+            case GameEvent.CardSelected e -> broadcast(new CardSelectedMessage(
+                    new CardSelectedBody(e.clientID(), e.register(), e.filled())));
+            case GameEvent.SelectionFinished e -> broadcast(new SelectionFinishedMessage(new SelectionFinishedBody(e.clientID())));
+            case GameEvent.TimerStarted e -> broadcast(new TimerStartedMessage());
+            case GameEvent.RegistersFilled e -> sendTo(e.clientID(), new CardsYouGotNowMessage(
+                    new CardsYouGotNowBody(names(e.registers()))));
+            case GameEvent.TimerEnded e -> broadcast(new TimerEndedMessage(new TimerEndedBody(e.clientIDs())));
+            case GameEvent.RegisterRevealed e -> {
+                List<CurrentCardsBody.ActiveCard> cards = new ArrayList<>(e.cards().size());
+                for (GameEvent.RegisterCard card : e.cards()) {
+                    cards.add(new CurrentCardsBody.ActiveCard(card.clientID(), card.card().protocolName()));
+                }
+                broadcast(new CurrentCardsMessage(new CurrentCardsBody(cards)));
+            }
+            case GameEvent.PlayerPrompted e -> sendTo(e.clientID(), currentCard(e.clientID(), e.card()));
+            // Verzögert als Ereignis der Spielschleife, nicht auf einem eigenen Timer-Thread
+            case GameEvent.TurnPassed e -> room.getLoop().schedule(
+                    () -> broadcast(currentCard(e.clientID(), e.card())), TURN_DELAY_MILLIS);
+            case GameEvent.RobotMoved e -> broadcast(new MovementMessage(new MovementBody(e.clientID(), e.x(), e.y())));
+            case GameEvent.RobotTurned e -> broadcast(new PlayerTurningMessage(
+                    new PlayerTurningBody(e.clientID(), e.rotation().protocolName())));
+            case GameEvent.EnergyGained e -> broadcast(new EnergyMessage(new EnergyBody(e.clientID(), e.count(), e.source())));
+            case GameEvent.Animation e -> broadcast(new AnimationMessage(new AnimationBody(e.type())));
+            case GameEvent.CardPlayed e -> broadcast(new CardPlayedMessage(
+                    new CardPlayedBody(e.clientID(), e.card().protocolName())));
+            case GameEvent.CardReplaced e -> sendTo(e.clientID(), new ReplaceCardMessage(
+                    new ReplaceCardBody(e.clientID(), e.card().protocolName(), e.register())));
+            case GameEvent.DamageSelected e -> sendTo(e.clientID(), new SelectedDamageMessage(new SelectedDamageBody(e.cards())));
+            case GameEvent.CheckpointReached e -> sendTo(e.clientID(), new CheckPointReachedMessage(
+                    new CheckPointReachedBody(e.clientID(), e.checkpoint())));
+            case GameEvent.GameFinished e -> broadcast(new GameFinishedMessage(new GameFinishedBody(e.clientID())));
+        }
+    }
+
+    /** The hand goes to its owner, the number of cards to everybody else. */
+    private void dealCards(GameEvent.CardsDealt e) {
+        sendTo(e.clientID(), new YourCardsMessage(new YourCardsBody(names(e.hand()))));
+        try {
+            OutboundFrame frame = NetworkManager.encode(new NotYourCardsMessage(new NotYourCardsBody(e.clientID(), e.hand().size())));
+            try {
+                for (ClientManager c : room.members()) {
+                    if (c.getClientID() != e.clientID()) {
+                        try {
+                            c.sendFrame(frame, false);
+                        } catch (IOException ex) {
+                            logger.fine("[DEBUG] NotYourCards an " + c.getClientID() + " nicht zugestellt: " + ex.getMessage());
+                        }
+                    }
+                }
+            } finally {
+                frame.release();
+            }
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "[ERROR] Fehler beim Serialisieren der NotYourCards-Nachricht für Client " + e.clientID(), ex);
+        }
+    }
+
+    private static CurrentCardsMessage currentCard(int clientID, CardType card) {
+        return new CurrentCardsMessage(new CurrentCardsBody(List.of(new CurrentCardsBody.ActiveCard(clientID, card.protocolName()))));
+    }
+
+    private static List<String> names(List<CardType> cards) {
+        List<String> names = new ArrayList<>(cards.size());
+        for (CardType card : cards) {
+            names.add(card.protocolName());
+        }
+        return names;
+    }
+
+    /**
+     * Sends a message to one member.
+     *
+     * @param clientID the ID of the target client
+     * @param msg the message to be sent
+     */
+    private void sendTo(int clientID, BaseMessage<?> msg) {
+        // Gesammelte Nachrichten zuerst, damit die Reihenfolge erhalten bleibt
+        flushBatch();
+        try {
+            room.sendTo(clientID, msg, NetworkManager.isCoalescable(msg));
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[ERROR] Nachricht an Client " + clientID + " fehlgeschlagen: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends a message to all members, or adds it to the open batch. Members whose connection
+     * is already closed, but who have not left the room yet, are skipped like in
+     * {@link GameRoom#broadcast(OutboundFrame, boolean)}.
+     *
+     * @param msg the message to send
+     */
+    private void broadcast(BaseMessage<?> msg) {
+        try {
+            if (batchDepth > 0) {
+                batch.append(NetworkManager.serialize(msg)).append('\n');
+                return;
+            }
+            // Einmal serialisieren und kodieren, der Puffer wird von allen Empfängern geteilt
+            OutboundFrame frame = NetworkManager.encode(msg);
+            try {
+                room.broadcast(frame, NetworkManager.isCoalescable(msg));
+            } finally {
+                frame.release();
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[ERROR] Fehler beim Serialisieren der Nachricht: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends the messages collected so far as one frame to all members. The batch stays open.
+     */
+    private void flushBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.setLength(batch.length() - 1); // der Frame hängt den letzten Zeilenumbruch selbst an
+        OutboundFrame frame = OutboundFrame.of(batch.toString());
+        batch.setLength(0);
+        try {
+            room.broadcast(frame, false);
+        } finally {
+            frame.release();
+        }
+    }
+}
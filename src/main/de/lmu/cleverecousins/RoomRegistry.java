@@ -0,0 +1,201 @@
+package de.lmu.cleverecousins;
+
+import de.lmu.util.Clock;
+import de.lmu.util.LogConfigurator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of all {@link GameRoom}s hosted by this server process.
+ * <p>
+ * Clients can create, list and join rooms. Clients that never ask for a room (older clients)
+ * are placed into the first open room, so a single table behaves exactly like before.
+ * Rooms are removed as soon as their last member leaves.
+ */
+public class RoomRegistry {
+
+    private static final Logger logger = Logger.getLogger(RoomRegistry.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** All live rooms by ID. */
+    private final ConcurrentHashMap<Integer, GameRoom> rooms = new ConcurrentHashMap<>();
+
+    /** Index of all logged-in clients, handed to every room. */
+    private final SessionRegistry sessions;
+
+    /** Source of room IDs; IDs are never reused. */
+    private final AtomicInteger nextRoomId = new AtomicInteger(1);
+
+    /**
+     * Serializes "find or create an open room" so concurrent logins share one room, and the
+     * removal of empty rooms, so a login never picks a room that is just being closed.
+     */
+    private final ReentrantLock openRoomLock = new ReentrantLock();
+
+    /** Time source of the room loops. */
+    private final Clock clock;
+
+    /** Runs the drains of the room loops, {@code null} for the shared pool. */
+    private final Executor workers;
+
+    /** Activation mode of newly created rooms. */
+    private volatile ActivationMode activationMode = ActivationMode.CLIENT;
+
+    /**
+     * Creates an empty registry whose rooms run on the system clock.
+     *
+     * @param sessions index of all logged-in clients
+     */
+    public RoomRegistry(SessionRegistry sessions) {
+        this(sessions, Clock.system(), null);
+    }
+
+    /**
+     * Creates an empty registry whose rooms run on the given clock, e.g. a virtual clock in
+     * a simulation.
+     *
+     * @param sessions index of all logged-in clients
+     * @param clock    time source of the room loops
+     * @param workers  runs the drains of the room loops, or {@code null} for the shared pool
+     */
+    public RoomRegistry(SessionRegistry sessions, Clock clock, Executor workers) {
+        this.sessions = sessions;
+        this.clock = clock;
+        this.workers = workers;
+    }
+
+    /**
+     * Sets the activation mode of rooms created from now on.
+     *
+     * @param activationMode the mode
+     */
+    public void setActivationMode(ActivationMode activationMode) {
+        this.activationMode = activationMode;
+    }
+
+    /** @return the index of all logged-in clients */
+    public SessionRegistry getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Creates a new, empty room.
+     *
+     * @param name display name; a default name is used if {@code null} or blank
+     * @return the new room
+     */
+    public GameRoom createRoom(String name) {
+        int id = nextRoomId.getAndIncrement();
+        String roomName = name == null || name.isBlank() ? "Raum " + id : name;
+        GameRoom room = new GameRoom(id, roomName, sessions, new GameLoop("Raum " + id, clock, workers));
+        room.setActivationMode(activationMode);
+        rooms.put(id, room);
+        logger.info("[INFO] Raum " + id + " (" + roomName + ") erstellt, " + rooms.size() + " Räume aktiv");
+        return room;
+    }
+
+    /**
+     * Looks up a room by its ID.
+     *
+     * @param roomId the room ID
+     * @return the room, or {@code null} if it does not exist (anymore)
+     */
+    public GameRoom getRoom(int roomId) {
+        return rooms.get(roomId);
+    }
+
+    /**
+     * Returns all live rooms ordered by ID.
+     *
+     * @return a snapshot of the rooms
+     */
+    public List<GameRoom> listRooms() {
+        return rooms.values().stream()
+                .sorted(Comparator.comparingInt(GameRoom::getRoomId))
+                .toList();
+    }
+
+    /**
+     * Moves a client into the given room. The client leaves its current room only once the
+     * target room has accepted it.
+     *
+     * @param cm   the client
+     * @param room the target room
+     * @return {@code false} if the room was closed, started or full; the client stays where it was
+     */
+    public boolean join(ClientManager cm, GameRoom room) {
+        GameRoom current = cm.getRoom();
+        if (current == room) {
+            return true;
+        }
+        if (!room.join(cm)) {
+            return false;
+        }
+        if (current != null) {
+            leave(cm, current);
+        }
+        cm.setRoom(room);
+        return true;
+    }
+
+    /**
+     * Places a client into the open room with the lowest ID, creating one if none is open.
+     *
+     * @param cm the client
+     * @return the room the client is now in
+     */
+    public GameRoom joinOpenRoom(ClientManager cm) {
+        openRoomLock.lock();
+        try {
+            for (GameRoom open : listRooms()) {
+                // ein Raum kann zwischen isOpen() und join() voll werden oder starten
+                if (open.isOpen() && join(cm, open)) {
+                    return open;
+                }
+            }
+            GameRoom created = createRoom(null);
+            join(cm, created);
+            return created;
+        } finally {
+            openRoomLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a client from a room and drops the room once it is empty.
+     *
+     * @param cm   the client
+     * @param room the room it leaves
+     */
+    public void leave(ClientManager cm, GameRoom room) {
+        openRoomLock.lock();
+        try {
+            room.leave(cm);
+            if (cm.getRoom() == room) {
+                cm.setRoom(null);
+            }
+            // leer prüfen und schließen geschieht atomar im Raum, ein gleichzeitiger join() scheitert danach
+            if (room.closeIfEmpty()) {
+                rooms.remove(room.getRoomId(), room);
+                logger.info("[INFO] Raum " + room.getRoomId() + " geschlossen, " + rooms.size() + " Räume aktiv");
+            }
+        } finally {
+            openRoomLock.unlock();
+        }
+    }
+
+    /** @return number of live rooms */
+    public int size() {
+        return rooms.size();
+    }
+}
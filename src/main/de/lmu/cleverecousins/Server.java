@@ -1,22 +1,27 @@
 package de.lmu.cleverecousins;
 
-import de.lmu.cleverecousins.protocol.message.PlayerDisconnectedMessage;
-import de.lmu.cleverecousins.protocol.message.SelectMapMessage;
-import de.lmu.cleverecousins.protocol.messageBody.PlayerDisconnectedBody;
-import de.lmu.cleverecousins.protocol.messageBody.SelectMapBody;
+import de.lmu.cleverecousins.network.NioServer;
+import de.lmu.cleverecousins.network.OutboundFrame;
+import de.lmu.cleverecousins.network.PinningMonitor;
+import de.lmu.cleverecousins.network.ServerMode;
+import de.lmu.cleverecousins.network.ServerThreads;
+import de.lmu.cleverecousins.network.TrafficStats;
+import de.lmu.cleverecousins.protocol.MapCache;
+import de.lmu.util.HashedWheelTimer;
 import de.lmu.util.LogConfigurator;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * The {@code Server} class represents the main server for a multiplayer Robo Rally game.
- * It handles client connections, manages game state, broadcasts important messages,
- * and orchestrates readiness and map selection logic.
+ * It handles client connections and hosts any number of games at once, each in its own
+ * {@link GameRoom} of the {@link #rooms} registry.
  *
  * <p>This server uses a fixed port (12345) and assigns unique client IDs to
  * connected players. It also manages a heartbeat system to ensure connectivity.</p>
@@ -24,28 +29,36 @@ import java.util.logging.Logger;
 
 public class Server {
 
-    /** Shared game instance across all clients. */
-    public static final Game sharedGame = new Game();
+    /** Logged-in clients by client ID, for O(1) unicasts. */
+    public static final SessionRegistry sessions = new SessionRegistry();
 
-    /** Executor to manage card actions during the game. */
-    public static final CardExecutor cardExecutor = new CardExecutor();
-
-    /** Game timer service controlling timed phases. */
-    public static final GameTimerService timerService = new GameTimerService(30);
+    /** All game rooms hosted by this process. */
+    public static final RoomRegistry rooms = new RoomRegistry(sessions);
     private static final Logger logger = Logger.getLogger(Server.class.getName());
     private static final int PORT = 12345;
+
+    /** System property for the number of selector threads in NIO mode. */
+    public static final String IO_THREADS_PROPERTY = "roborally.server.ioThreads";
     private static final Set<Integer> assignedClientIDs = Collections.synchronizedSet(new HashSet<>());
     private static final Random random = new Random();
 
-    /** Set of all connected client thread. */
-    public static Set<ClientManager> clients = Collections.synchronizedSet(new HashSet<>());
+    /** Set of all connected client thread, including those not logged in yet. Iterated without locking. */
+    public static final Set<ClientManager> clients = ConcurrentHashMap.newKeySet();
+
+    /** The heartbeat message, encoded once and shared by every round; never released. */
+    private static final OutboundFrame ALIVE_FRAME = OutboundFrame.of("{\"messageType\":\"Alive\",\"messageBody\":{}}");
+
+    /** Length of the accept queue of the blocking server socket. */
+    private static final int ACCEPT_BACKLOG = 1024;
 
-    /** List of client IDs that are currently marked as ready. */
-    public static List<Integer> readyPlayers = Collections.synchronizedList(new ArrayList<>());
+    /** Interval between two heartbeat rounds in milliseconds. */
+    private static final long HEARTBEAT_INTERVAL = 5000;
 
-    /** Game phase controller to manage game progression. */
-    public static GamePhaseController phaseController;
-    private static boolean mapSelectionSent = false;
+    /** Clients silent for longer than this are removed, in milliseconds. */
+    private static final long HEARTBEAT_TIMEOUT = 10000;
+
+    /** Runs the heartbeat rounds, so sending never blocks the wheel thread. */
+    private static final GameLoop HEARTBEAT_LOOP = new GameLoop("Heartbeat");
 
     static {
         LogConfigurator.configureRootLogger(Level.FINE);
@@ -75,191 +88,143 @@ public class Server {
     }
 
     /**
-     * Returns a list of currently ready player IDs.
+     * Returns a list of available map names for the game.
      *
-     * @return a list of ready player client IDs
+     * @return a list of map names
      */
-    public static List<Integer> getReadyPlayers() {
-        return readyPlayers;
+    public static List<String> getAvailableMaps() {
+        return List.of("Dizzy Highway", "Extra Crispy", "Lost Bearings", "Death Trap");
     }
 
     /**
-     * Adds or removes a client from the ready list based on its status.
-     * If at least 2 players become ready and map selection hasn't been sent,
-     * the server sends a map selection message to all clients.
+     * Main server entry point. Listens for new client connections,
+     * maintains a heartbeat to check client availability, and creates a
+     * {@code ClientManager} for each connection.
      *
-     * @param c the client whose ready status changed
+     * <p>The connection engine is chosen at startup with {@code --mode=blocking|nio|virtual}
+     * or the system property {@value ServerMode#PROPERTY}; blocking is the default.
+     * {@code --activation=client|server} or {@value ActivationMode#PROPERTY} selects the
+     * {@link ActivationMode}; client-driven activation is the default.</p>
+     *
+     * @param args command-line arguments, optionally {@code --mode=...} and {@code --activation=...}
      */
-    public static synchronized void changeReadyList(ClientManager c) {
-        boolean wasEnoughBefore = readyPlayers.size() >= 2;
-
-        if (c.getReady()) {
-            if (!readyPlayers.contains(c.getClientID())) {
-                readyPlayers.add(c.getClientID());
-            }
-        } else {
-            readyPlayers.remove(Integer.valueOf(c.getClientID()));
+    public static void main(String[] args) {
+        ServerMode mode = ServerMode.fromArgs(args);
+        ActivationMode activation = ActivationMode.fromArgs(args);
+        rooms.setActivationMode(activation);
+        logger.info("Robo Rally Game Server startet im Modus " + mode + ", Aktivierung: " + activation);
+        ServerThreads.configure(mode);
+        if (mode == ServerMode.VIRTUAL) {
+            PinningMonitor.start();
         }
 
-        boolean isEnoughNow = readyPlayers.size() >= 2;
+        // Alle Karten einmal laden und kompilieren, parallel zum Öffnen des Ports;
+        // eine frühe Kartenwahl wartet im MapCache auf genau diese Karte
+        ServerThreads.start("map-preload", () -> MapCache.preload(getAvailableMaps()));
+        startHeartbeat();
 
-        if (!wasEnoughBefore && isEnoughNow && !mapSelectionSent) {
-            try {
-                broadcastMapSelection();
-                mapSelectionSent = true;
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, "[ERROR] Map-Auswahl konnte nicht gesendet werden: " + e.getMessage(), e);
+        try {
+            switch (mode) {
+                case NIO -> runNio();
+                case BLOCKING, VIRTUAL -> runBlocking();
             }
-        }
-
-        if (readyPlayers.size() < 2) {
-            mapSelectionSent = false;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[FATAL] Server konnte nicht gestartet werden: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Sends a map selection message to all clients, initiated by the first ready player.
+     * Accepts connections with a blocking {@link ServerSocket} and starts one
+     * {@code ClientManager} thread per client. In {@link ServerMode#VIRTUAL} the
+     * client loop runs on a virtual thread instead of its own platform thread.
      *
-     * @throws IOException if broadcasting fails
+     * @throws IOException if the server socket cannot be opened
      */
-    public static void broadcastMapSelection() throws IOException {
-        ClientManager firstReadyPlayer = findFirstReadyPlayer();
-        if (firstReadyPlayer == null) {
-            logger.warning("[WARN] Kein Spieler bereit für Map-Auswahl.");
-            return;
-        }
-
-        List<String> availableMaps = getAvailableMaps();
-        SelectMapBody body = new SelectMapBody(availableMaps, firstReadyPlayer.getClientID());
-        String selectMapJson = NetworkManager.serialize(new SelectMapMessage(body));
+    private static void runBlocking() throws IOException {
+        // großer Backlog, damit viele gleichzeitige Lobby-Verbindungen nicht abgewiesen werden
+        try (ServerSocket serverSocket = new ServerSocket(PORT, ACCEPT_BACKLOG)) {
+            logger.info("Robo Rally Game Server gestartet auf Port " + PORT);
 
-        // Broadcast nur der SelectMapMessage an alle Clients
-        synchronized (clients) {
-            for (ClientManager cm : clients) {
+            while (true) {
                 try {
-                    cm.sendMessageToClient(selectMapJson);
+                    Socket socket = serverSocket.accept();
+                    ClientManager cm = new ClientManager(socket, clients, rooms);
+                    clients.add(cm);
+                    if (ServerThreads.isVirtual()) {
+                        ServerThreads.start("client-" + socket.getPort(), cm);
+                    } else {
+                        new Thread(cm, "client-" + socket.getPort()).start();
+                    }
                 } catch (IOException e) {
-                    logger.log(Level.WARNING, "[ERROR] SelectMapMessage konnte nicht an Client " + cm.getClientID() + " gesendet werden: " + e.getMessage(), e);
+                    logger.log(Level.SEVERE, "[ERROR] Fehler beim Annehmen neuer Verbindung: " + e.getMessage(), e);
                 }
             }
         }
-        logger.fine("[DEBUG] Map-Auswahl-Nachricht an alle Clients gesendet: " + selectMapJson);
     }
 
     /**
-     * Finds and returns the first player who is marked as ready.
+     * Serves all clients from a few selector threads via {@link NioServer}.
+     * The number of I/O threads is read from {@value #IO_THREADS_PROPERTY} (default 2).
      *
-     * @return the first ready client, or {@code null} if none are ready
+     * @throws IOException if the server channel cannot be opened
      */
-    public static ClientManager findFirstReadyPlayer() {
-        synchronized (clients) {
-            for (ClientManager c : clients) {
-                if (c.getReady()) {
-                    return c;
-                }
-            }
-        }
-        return null;
+    private static void runNio() throws IOException {
+        int ioThreads = Integer.getInteger(IO_THREADS_PROPERTY, 2);
+        NioServer nioServer = new NioServer(PORT, ioThreads, transport -> {
+            ClientManager cm = new ClientManager(transport, clients, rooms);
+            clients.add(cm);
+            return cm;
+        });
+        nioServer.run();
     }
 
     /**
-     * Returns a list of available map names for the game.
-     *
-     * @return a list of map names
+     * Sends an {@code Alive} message to every client every 5 seconds and removes
+     * clients that have not answered for more than 10 seconds.
+     * The rounds are triggered by the shared {@link HashedWheelTimer} and run on their own
+     * {@link GameLoop}, so a slow round is never overlapped by the next one.
      */
-    public static List<String> getAvailableMaps() {
-        return List.of("Dizzy Highway", "Extra Crispy", "Lost Bearings", "Death Trap");
+    private static void startHeartbeat() {
+        HashedWheelTimer.shared().scheduleAtFixedRate(
+                () -> HEARTBEAT_LOOP.execute(Server::heartbeatRound), 0, HEARTBEAT_INTERVAL);
     }
 
     /**
-     * Notifies all clients that a player has disconnected from the server.
-     *
-     * @param clientID   the ID of the disconnected player
-     * @param playerName the name of the disconnected player
+     * One heartbeat round over the concurrent client set, so no monitor is held while sending.
      */
-    public static void broadcastPlayerDisconnected(int clientID, String playerName) {
-        try {
-            var msg = new PlayerDisconnectedMessage(new PlayerDisconnectedBody(clientID, playerName));
-            String json = NetworkManager.serialize(msg);
-
-            synchronized (clients) {
-                for (ClientManager cm : clients) {
-                    cm.sendMessageToClient(json);
+    private static void heartbeatRound() {
+        logger.fine("[DEBUG] Traffic: " + TrafficStats.summary() + "; Karten: " + MapCache.summary());
+        long now = System.currentTimeMillis();
+        for (ClientManager cm : clients) {
+            try {
+                long lastAlive = cm.getLastAliveTimestamp();
+                if (now - lastAlive > HEARTBEAT_TIMEOUT) {
+                    logger.warning("[WARN] Verbindung zu " + cm.getPlayerName() + " verloren.");
+                    removeClient(cm);
+                } else {
+                    try {
+                        cm.sendFrame(ALIVE_FRAME, true);
+                    } catch (IOException ioex) {
+                        logger.log(Level.SEVERE, "[ERROR] Alive konnte nicht gesendet werden, Client wird entfernt: " + ioex.getMessage(), ioex);
+                        removeClient(cm);
+                    }
                 }
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "[ERROR] Heartbeat-Problem: " + e.getMessage(), e);
+                removeClient(cm);
             }
-            logger.info("[INFO] PlayerDisconnected sauber an alle übertragen: " + playerName);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "[ERROR] broadcastPlayerDisconnected konnte nicht serialisiert werden: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Main server entry point. Listens for new client connections,
-     * maintains a heartbeat to check client availability, and starts
-     * {@code ClientManager} threads for each connection.
+     * Disconnects a client and removes it from the server structures. Leaving its room and
+     * informing the remaining members happens in {@link ClientManager#onClose()}, which the
+     * closed connection triggers.
      *
-     * @param args command-line arguments (not used)
+     * @param cm the client to remove
      */
-    public static void main(String[] args) {
-        try (ServerSocket serverSocket = new ServerSocket(PORT)) {
-            logger.info("Robo Rally Game Server gestartet auf Port " + PORT);
-
-            Timer heartbeatTimer = new Timer();
-            heartbeatTimer.scheduleAtFixedRate(new TimerTask() {
-                @Override
-                public void run() {
-                    synchronized (clients) {
-                        long now = System.currentTimeMillis();
-                        for (Iterator<ClientManager> it = clients.iterator(); it.hasNext(); ) {
-                            ClientManager cm = it.next();
-                            try {
-                                long lastAlive = cm.getLastAliveTimestamp();
-                                if (now - lastAlive > 10000) {
-                                    logger.warning("[WARN] Verbindung zu " + cm.getPlayerName() + " verloren.");
-                                    broadcastPlayerDisconnected(cm.getClientID(), cm.getPlayerName());
-                                    cm.disconnect();
-                                    it.remove();
-                                    readyPlayers.remove(Integer.valueOf(cm.getClientID()));
-                                    releaseClientID(cm.getClientID());
-                                } else {
-                                    try {
-                                        cm.sendMessageToClient("{\"messageType\":\"Alive\",\"messageBody\":{}}");
-                                    } catch (IOException ioex) {
-                                        logger.log(Level.SEVERE, "[ERROR] Alive konnte nicht gesendet werden, Client wird entfernt: " + ioex.getMessage(), ioex);
-                                        broadcastPlayerDisconnected(cm.getClientID(), cm.getPlayerName());
-                                        cm.disconnect();
-                                        it.remove();
-                                        readyPlayers.remove(Integer.valueOf(cm.getClientID()));
-                                        releaseClientID(cm.getClientID());
-                                    }
-                                }
-                            } catch (Exception e) {
-                                logger.log(Level.SEVERE, "[ERROR] Heartbeat-Problem: " + e.getMessage(), e);
-                                cm.disconnect();
-                                it.remove();
-                                readyPlayers.remove(Integer.valueOf(cm.getClientID()));
-                                releaseClientID(cm.getClientID());
-                            }
-                        }
-                    }
-                }
-            }, 0, 5000);
-
-            while (true) {
-                try {
-                    Socket socket = serverSocket.accept();
-                    ClientManager cm = new ClientManager(socket, clients, phaseController);
-                    synchronized (clients) {
-                        clients.add(cm);
-                    }
-                    cm.start();
-                } catch (IOException e) {
-                    logger.log(Level.SEVERE, "[ERROR] Fehler beim Annehmen neuer Verbindung: " + e.getMessage(), e);
-                }
-            }
-
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "[FATAL] Server konnte nicht gestartet werden: " + e.getMessage(), e);
-        }
+    private static void removeClient(ClientManager cm) {
+        cm.disconnect();
+        clients.remove(cm);
     }
 }
@@ -0,0 +1,59 @@
+package de.lmu.cleverecousins;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of all logged-in clients by their client ID.
+ * <p>
+ * Unicasts (own hand cards, current cards, private chat) look up their recipient here in O(1)
+ * instead of scanning a client set under its monitor. Lookups and iteration never block;
+ * iteration is weakly consistent and needs no snapshot.
+ */
+public class SessionRegistry {
+
+    /** Logged-in clients by client ID. */
+    private final ConcurrentHashMap<Integer, ClientManager> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a client under its (already assigned) client ID.
+     *
+     * @param cm the client
+     */
+    public void register(ClientManager cm) {
+        sessions.put(cm.getClientID(), cm);
+    }
+
+    /**
+     * Removes a client; a newer client that reuses the same ID is left untouched.
+     *
+     * @param cm the client
+     */
+    public void unregister(ClientManager cm) {
+        sessions.remove(cm.getClientID(), cm);
+    }
+
+    /**
+     * Looks up a client by its ID.
+     *
+     * @param clientID the client ID
+     * @return the client, or {@code null} if no client with this ID is logged in
+     */
+    public ClientManager get(int clientID) {
+        return sessions.get(clientID);
+    }
+
+    /**
+     * Returns a live, weakly consistent view of all logged-in clients.
+     *
+     * @return all sessions
+     */
+    public Collection<ClientManager> all() {
+        return sessions.values();
+    }
+
+    /** @return number of logged-in clients */
+    public int size() {
+        return sessions.size();
+    }
+}
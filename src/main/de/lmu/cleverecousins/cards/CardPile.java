@@ -0,0 +1,192 @@
+package de.lmu.cleverecousins.cards;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * A pile of cards stored as card ids in a {@code byte[]} ring buffer.
+ * <p>
+ * The top of the pile is the head of the buffer, cards are added at the bottom. Drawing from
+ * the top, adding at the bottom and taking the bottom card are O(1); moving several cards
+ * between piles copies at most two array segments. The capacity is a power of two, so the
+ * logical index {@code i} lives at {@code (head + i) & mask}; a full pile doubles its buffer.
+ * What an id stands for is up to the owner of the pile (see
+ * {@link de.lmu.cleverecousins.cards.programmingCards.ProgrammingCards}).
+ */
+public final class CardPile {
+
+    /** Returned by the draw methods of an empty pile. */
+    public static final int EMPTY = -1;
+
+    private byte[] ids;
+    private int mask;
+    private int head;
+    private int size;
+
+    /**
+     * Creates an empty pile.
+     *
+     * @param capacity expected number of cards; rounded up to a power of two
+     */
+    public CardPile(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.ids = new byte[length];
+        this.mask = length - 1;
+    }
+
+    /** @return number of cards in the pile */
+    public int size() {
+        return size;
+    }
+
+    /** @return {@code true} if the pile holds no cards */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index position from the top, {@code 0 <= index < size()}
+     * @return id of the card at that position
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return ids[(head + index) & mask];
+    }
+
+    /**
+     * Puts a card at the bottom of the pile.
+     *
+     * @param id card id
+     */
+    public void add(int id) {
+        ensureCapacity(size + 1);
+        ids[(head + size) & mask] = (byte) id;
+        size++;
+    }
+
+    /**
+     * Puts {@code count} cards at the bottom of the pile, keeping their order.
+     *
+     * @param src    card ids
+     * @param offset index of the first id in {@code src}
+     * @param count  number of ids
+     */
+    public void addAll(byte[] src, int offset, int count) {
+        ensureCapacity(size + count);
+        int tail = (head + size) & mask;
+        int first = Math.min(count, ids.length - tail);
+        System.arraycopy(src, offset, ids, tail, first);
+        System.arraycopy(src, offset + first, ids, 0, count - first);
+        size += count;
+    }
+
+    /**
+     * Removes the top card.
+     *
+     * @return its id, or {@link #EMPTY}
+     */
+    public int draw() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int id = ids[head];
+        head = (head + 1) & mask;
+        size--;
+        return id;
+    }
+
+    /**
+     * Removes the bottom card, i.e. the one added last.
+     *
+     * @return its id, or {@link #EMPTY}
+     */
+    public int drawLast() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        size--;
+        return ids[(head + size) & mask];
+    }
+
+    /**
+     * Removes up to {@code count} cards from the top and copies their ids into {@code dst}.
+     *
+     * @param dst    target array
+     * @param offset index in {@code dst} for the top card
+     * @param count  maximum number of cards
+     * @return number of cards drawn
+     */
+    public int drawInto(byte[] dst, int offset, int count) {
+        int n = Math.min(count, size);
+        int first = Math.min(n, ids.length - head);
+        System.arraycopy(ids, head, dst, offset, first);
+        System.arraycopy(ids, 0, dst, offset + first, n - first);
+        head = (head + n) & mask;
+        size -= n;
+        return n;
+    }
+
+    /**
+     * Moves all cards to the bottom of {@code target}, keeping their order, and empties this pile.
+     *
+     * @param target the receiving pile
+     */
+    public void moveAllTo(CardPile target) {
+        target.ensureCapacity(target.size + size);
+        int first = Math.min(size, ids.length - head);
+        target.addAll(ids, head, first);
+        target.addAll(ids, 0, size - first);
+        clear();
+    }
+
+    /**
+     * Shuffles the pile in place (Fisher-Yates).
+     *
+     * @param random source of randomness
+     */
+    public void shuffle(RandomGenerator random) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int a = (head + i) & mask;
+            int b = (head + j) & mask;
+            byte tmp = ids[a];
+            ids[a] = ids[b];
+            ids[b] = tmp;
+        }
+    }
+
+    /** Removes all cards. */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) {
+            return;
+        }
+        int length = ids.length;
+        while (length < needed) {
+            length <<= 1;
+        }
+        // Umkopieren, damit der Kopf wieder bei 0 liegt
+        byte[] grown = new byte[length];
+        int first = Math.min(size, ids.length - head);
+        System.arraycopy(ids, head, grown, 0, first);
+        System.arraycopy(ids, 0, grown, first, size - first);
+        ids = grown;
+        mask = length - 1;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        byte[] copy = new byte[size];
+        int first = Math.min(size, ids.length - head);
+        System.arraycopy(ids, head, copy, 0, first);
+        System.arraycopy(ids, 0, copy, first, size - first);
+        return Arrays.toString(copy);
+    }
+}
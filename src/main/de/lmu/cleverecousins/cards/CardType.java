@@ -0,0 +1,87 @@
+package de.lmu.cleverecousins.cards;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All card types of the game with a stable small id.
+ * <p>
+ * The engine identifies cards only by their type: comparing, validating and dispatching are
+ * enum comparisons and {@code switch}es. Names are needed only at the protocol edge:
+ * {@link #protocolName()} for outgoing messages and {@link #fromName(String)} once per
+ * incoming message. The id is the ordinal; the programming cards come first, so their ids
+ * index {@link de.lmu.cleverecousins.cards.programmingCards.ProgrammingCards} and fit in the
+ * {@code byte}s of a {@link CardPile}. New types go at the end.
+ */
+public enum CardType {
+    MOVE_ONE("MoveI", "MoveOne"),
+    MOVE_TWO("MoveII", "MoveTwo"),
+    MOVE_THREE("MoveIII", "MoveThree"),
+    TURN_RIGHT("TurnRight"),
+    TURN_LEFT("TurnLeft"),
+    BACK_UP("Back Up", "BackUp"),
+    POWER_UP("PowerUp"),
+    AGAIN("Again"),
+    U_TURN("UTurn"),
+    SPAM("Spam", "SPAM"),
+    TROJAN_HORSE("Trojan", "TROJAN HORSE", "TrojanHorse"),
+    VIRUS("Virus", "VIRUS"),
+    WORM("Worm", "WORM");
+
+    /** Number of programming card types; they have the ids {@code 0} to {@code PROGRAMMING_COUNT - 1}. */
+    public static final int PROGRAMMING_COUNT = U_TURN.ordinal() + 1;
+
+    /** Cached {@link #values()}, indexed by id. */
+    private static final CardType[] VALUES = values();
+
+    /** Protocol names and aliases; looked up once per incoming message. */
+    private static final Map<String, CardType> BY_NAME = new HashMap<>();
+
+    static {
+        for (CardType type : VALUES) {
+            for (String name : type.names) {
+                BY_NAME.put(name, type);
+            }
+        }
+    }
+
+    /** The name used on the wire first, then accepted aliases. */
+    private final String[] names;
+
+    CardType(String... names) {
+        this.names = names;
+    }
+
+    /** @return the stable id of this type */
+    public byte id() {
+        return (byte) ordinal();
+    }
+
+    /** @return the name of this type in protocol messages */
+    public String protocolName() {
+        return names[0];
+    }
+
+    /** @return {@code true} for programming cards, {@code false} for damage cards */
+    public boolean isProgramming() {
+        return ordinal() < PROGRAMMING_COUNT;
+    }
+
+    /**
+     * @param id a card id
+     * @return the type with that id
+     */
+    public static CardType byId(int id) {
+        return VALUES[id];
+    }
+
+    /**
+     * Resolves a card name from a protocol message.
+     *
+     * @param name protocol name or alias, may be {@code null}
+     * @return the card type, or {@code null} if the name is unknown
+     */
+    public static CardType fromName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
+}
@@ -2,43 +2,29 @@ package de.lmu.cleverecousins.cards;
 
 import de.lmu.cleverecousins.cards.damageCards.*;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * Represents a deck of different types of damage cards used in the game.
  *
  * The deck consists of four separate piles: Spam, TrojanHorse, Virus, and Worm.
- * Each type is stored, drawn, and managed independently.
+ * Each type is stored, drawn, and managed independently. All cards of a pile are the same
+ * shared instance from {@link DamageCards}, so a pile is just its card count and drawing
+ * or returning a card is a counter update.
  */
 public class DamageDeck {
-    private final List<Spam> spamPile;
-    private final List<TrojanHorse> trojanPile;
-    private final List<Virus> virusPile;
-    private final List<Worm> wormPile;
+    private int spamPile;
+    private int trojanPile;
+    private int virusPile;
+    private int wormPile;
 
     /**
      * Creates and initializes the damage deck with a predefined number of cards
-     * Each pile is shuffled individually.
      */
     public DamageDeck() {
-        this.spamPile = new ArrayList<>();
-        this.trojanPile = new ArrayList<>();
-        this.virusPile = new ArrayList<>();
-        this.wormPile = new ArrayList<>();
-
         // Initial deck sizes
-        for (int i = 0; i < 10; i++) spamPile.add(new Spam());
-        for (int i = 0; i < 5; i++) trojanPile.add(new TrojanHorse());
-        for (int i = 0; i < 5; i++) virusPile.add(new Virus());
-        for (int i = 0; i < 5; i++) wormPile.add(new Worm());
-
-        // Shuffle decks
-        Collections.shuffle(spamPile);
-        Collections.shuffle(trojanPile);
-        Collections.shuffle(virusPile);
-        Collections.shuffle(wormPile);
+        this.spamPile = 10;
+        this.trojanPile = 5;
+        this.virusPile = 5;
+        this.wormPile = 5;
     }
 
     /**
@@ -47,7 +33,9 @@ public class DamageDeck {
      * @return a Spam card, or {@code null} if the pile is empty
      */
     public Spam drawSpam() {
-        return spamPile.isEmpty() ? null : spamPile.remove(0);
+        if (spamPile == 0) return null;
+        spamPile--;
+        return DamageCards.SPAM;
     }
 
     /**
@@ -56,7 +44,9 @@ public class DamageDeck {
      * @return a TrojanHorse card, or {@code null} if the pile is empty
      */
     public TrojanHorse drawTrojanHorse() {
-        return trojanPile.isEmpty() ? null : trojanPile.remove(0);
+        if (trojanPile == 0) return null;
+        trojanPile--;
+        return DamageCards.TROJAN_HORSE;
     }
 
     /**
@@ -65,7 +55,9 @@ public class DamageDeck {
      * @return a Virus card, or {@code null} if the pile is empty
      */
     public Virus drawVirus() {
-        return virusPile.isEmpty() ? null : virusPile.remove(0);
+        if (virusPile == 0) return null;
+        virusPile--;
+        return DamageCards.VIRUS;
     }
 
     /**
@@ -74,41 +66,43 @@ public class DamageDeck {
      * @return a Worm card, or {@code null} if the pile is empty
      */
     public Worm drawWorm() {
-        return wormPile.isEmpty() ? null : wormPile.remove(0);
+        if (wormPile == 0) return null;
+        wormPile--;
+        return DamageCards.WORM;
     }
 
 
     public void addSpam(Spam spam) {
-        spamPile.add(spam);
+        spamPile++;
     }
 
     public void addTrojanHorse(TrojanHorse trojan) {
-        trojanPile.add(trojan);
+        trojanPile++;
     }
 
     public void addVirus(Virus virus) {
-        virusPile.add(virus);
+        virusPile++;
     }
 
     public void addWorm(Worm worm) {
-        wormPile.add(worm);
+        wormPile++;
     }
 
     // For testing
     public int countSpam() {
-        return spamPile.size();
+        return spamPile;
     }
 
     public int countTrojanHorse() {
-        return trojanPile.size();
+        return trojanPile;
     }
 
     public int countVirus() {
-        return virusPile.size();
+        return virusPile;
     }
 
     public int countWorm() {
-        return wormPile.size();
+        return wormPile;
     }
 
 }
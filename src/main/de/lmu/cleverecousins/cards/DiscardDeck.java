@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards;
 
 import de.lmu.cleverecousins.cards.damageCards.DamageCard;
 import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCard;
+import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCards;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,17 +11,17 @@ import java.util.List;
  * Represents a discard pile for programming and damage cards.
  *
  * Supports adding cards, clearing the discard pile, shuffling cards back into the deck,
- * and drawing from the discard pile.
+ * and drawing from the discard pile. Programming cards are kept as ids in a {@link CardPile}.
  */
 public class DiscardDeck {
-    private List<ProgrammingCard> programmingCards;
-    private List<DamageCard> damageCards;
+    private final CardPile programmingCards;
+    private final List<DamageCard> damageCards;
 
     /**
      * Creates an empty discard deck for both programming and damage cards.
      */
     public DiscardDeck() {
-        programmingCards = new ArrayList<>();
+        programmingCards = new CardPile(32);
         damageCards = new ArrayList<>();
     }
 
@@ -30,7 +31,7 @@ public class DiscardDeck {
      * @param card the programming card to add
      */
     public void add(ProgrammingCard card) {
-        programmingCards.add(card);
+        programmingCards.add(card.getId());
     }
 
     /**
@@ -48,7 +49,20 @@ public class DiscardDeck {
      * @param cardsToAdd the list of programming cards to add
      */
     public void addAll(List<ProgrammingCard> cardsToAdd) {
-        programmingCards.addAll(cardsToAdd);
+        for (ProgrammingCard card : cardsToAdd) {
+            programmingCards.add(card.getId());
+        }
+    }
+
+    /**
+     * Adds programming cards given by id to the discard pile.
+     *
+     * @param ids    card ids, see {@link CardType#id()}
+     * @param offset index of the first id
+     * @param count  number of cards
+     */
+    public void addAll(byte[] ids, int offset, int count) {
+        programmingCards.addAll(ids, offset, count);
     }
 
     /**
@@ -79,10 +93,7 @@ public class DiscardDeck {
      * @param deck the programming deck to shuffle the discarded cards into
      */
     public void shuffleInto(ProgrammingDeck deck) {
-        deck.addAll(new ArrayList<>(programmingCards));
-        //deck.addAll(programmingCards);
-        //deck.addAll(damageCards);
-        clear();
+        programmingCards.moveAllTo(deck.pile());
     }
 
     /**
@@ -91,7 +102,7 @@ public class DiscardDeck {
      * @return the last programming card added, or {@code null} if the discard pile is empty
      */
     public ProgrammingCard draw() {
-        if (programmingCards.isEmpty()) return null;
-        return programmingCards.remove(programmingCards.size() - 1);
+        int id = programmingCards.drawLast();
+        return id == CardPile.EMPTY ? null : ProgrammingCards.byId(id);
     }
 }
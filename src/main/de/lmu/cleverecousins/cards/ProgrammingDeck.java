@@ -1,43 +1,65 @@
 package de.lmu.cleverecousins.cards;
 
-import de.lmu.cleverecousins.cards.programmingCards.*;
 import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCard;
+import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCards;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a deck of programming cards used in the game.
  *
  * Initializes with a fixed set of 20 predefined cards, supports shuffling, drawing,
- * adding, and clearing cards.
+ * adding, and clearing cards. The cards are kept as ids in a {@link CardPile}; drawing
+ * returns the shared instances of {@link ProgrammingCards}.
  */
 public class ProgrammingDeck {
-    private List<ProgrammingCard> cards;
+
+    /** The 20 cards every player starts with. */
+    private static final byte[] STARTER_CARDS = {
+            CardType.MOVE_ONE.id(), CardType.MOVE_ONE.id(), CardType.MOVE_ONE.id(),
+            CardType.MOVE_ONE.id(), CardType.MOVE_ONE.id(),
+            CardType.MOVE_TWO.id(), CardType.MOVE_TWO.id(), CardType.MOVE_TWO.id(),
+            CardType.MOVE_THREE.id(),
+            CardType.TURN_RIGHT.id(), CardType.TURN_RIGHT.id(), CardType.TURN_RIGHT.id(),
+            CardType.TURN_LEFT.id(), CardType.TURN_LEFT.id(), CardType.TURN_LEFT.id(),
+            CardType.BACK_UP.id(),
+            CardType.POWER_UP.id(),
+            CardType.AGAIN.id(), CardType.AGAIN.id(),
+            CardType.U_TURN.id()
+    };
+
+    private final CardPile cards = new CardPile(32);
+    private final RandomGenerator random;
+
     /**
      * Constructs a new programming deck with a predefined set of 20 cards
      * The deck is shuffled upon creation.
      */
     public ProgrammingDeck() {
-        cards = new ArrayList<>();
-        for (int i = 0; i < 5; i++) cards.add(new MoveOneCard());
-        for (int i = 0; i < 3; i++) cards.add(new MoveTwoCard());
-        cards.add(new MoveThreeCard());
-        for (int i = 0; i < 3; i++) cards.add(new TurnRightCard());
-        for (int i = 0; i < 3; i++) cards.add(new TurnLeftCard());
-        cards.add(new BackUpCard());
-        cards.add(new PowerUpCard());
-        for (int i = 0; i < 2; i++) cards.add(new AgainCard());
-        cards.add(new UTurnCard());
+        this(RandomGenerator.getDefault());
+    }
+
+    /**
+     * Constructs a new programming deck with a predefined set of 20 cards, shuffled
+     * with the given generator now and on every {@link #shuffle()}.
+     *
+     * @param random source of randomness for shuffling
+     */
+    public ProgrammingDeck(RandomGenerator random) {
+        this.random = random;
+        cards.addAll(STARTER_CARDS, 0, STARTER_CARDS.length);
         shuffle();
     }
+
     /**
      * Randomly shuffles the order of cards in the deck.
      */
     public void shuffle() {
-        Collections.shuffle(cards);
+        cards.shuffle(random);
     }
+
     /**
      * Draws up to {@code n} cards from the top of the deck.
      *
@@ -45,20 +67,34 @@ public class ProgrammingDeck {
      * @return a list of drawn cards (may be fewer than {@code n} if the deck is smaller)
      */
     public List<ProgrammingCard> draw(int n) {
-        List<ProgrammingCard> drawn = new ArrayList<>();
+        List<ProgrammingCard> drawn = new ArrayList<>(Math.min(n, cards.size()));
         for (int i = 0; i < n && !cards.isEmpty(); i++) {
-            drawn.add(cards.remove(0));
+            drawn.add(ProgrammingCards.byId(cards.draw()));
         }
         return drawn;
     }
+
+    /**
+     * Draws up to {@code n} cards from the top of the deck as card ids.
+     *
+     * @param dst    receives the ids
+     * @param offset index in {@code dst} for the first card
+     * @param n      the maximum number of cards to draw
+     * @return the number of cards drawn
+     */
+    public int drawInto(byte[] dst, int offset, int n) {
+        return cards.drawInto(dst, offset, n);
+    }
+
     /**
      * Adds a single programming card to the bottom of the deck.
      *
      * @param card the card to add
      */
     public void addCard(ProgrammingCard card) {
-        cards.add(card);
+        cards.add(card.getId());
     }
+
     /**
      * Returns the current number of cards in the deck.
      *
@@ -67,18 +103,27 @@ public class ProgrammingDeck {
     public int size() {
         return cards.size();
     }
+
     /**
      * Adds a list of programming cards to the bottom of the deck.
      *
      * @param additionalCards the list of cards to add
      */
     public void addAll(List<ProgrammingCard> additionalCards) {
-        cards.addAll(new ArrayList<>(additionalCards));
+        for (ProgrammingCard card : additionalCards) {
+            cards.add(card.getId());
+        }
     }
+
     /**
      * Removes all cards from the deck, leaving it empty.
      */
     public void clear() {
         cards.clear();
     }
-}
\ No newline at end of file
+
+    /** The underlying pile, for moving cards in bulk between decks. */
+    CardPile pile() {
+        return cards;
+    }
+}
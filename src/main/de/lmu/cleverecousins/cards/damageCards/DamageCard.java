@@ -4,6 +4,7 @@ package de.lmu.cleverecousins.cards.damageCards;
 import de.lmu.cleverecousins.Game;
 import de.lmu.cleverecousins.Robot;
 import de.lmu.cleverecousins.cards.Card;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * Abstract base class for all damage cards.
@@ -15,16 +16,19 @@ import de.lmu.cleverecousins.cards.Card;
  */
 public abstract class DamageCard extends Card {
 
-    protected String name;
-    protected String description;
+    private final CardType type;
+    protected final String name;
+    protected final String description;
 
     /**
      * Constructs a damage card with a given name and description.
      *
+     * @param type the card type
      * @param name the name of the damage card
      * @param description a brief explanation of its effect
      */
-    public DamageCard(String name, String description) {
+    public DamageCard(CardType type, String name, String description) {
+        this.type = type;
         this.name = name;
         this.description = description;
     }
@@ -39,6 +43,15 @@ public abstract class DamageCard extends Card {
     @Override
     public abstract String getImagePath();
 
+    /**
+     * Returns the type of the damage card.
+     *
+     * @return the card type
+     */
+    public CardType getType() {
+        return type;
+    }
+
     /**
      * Returns the name of the damage card.
      *
@@ -0,0 +1,17 @@
+package de.lmu.cleverecousins.cards.damageCards;
+
+/**
+ * Shared instances of the damage cards.
+ * <p>
+ * Damage cards carry no state, so every pile and every player uses the same instance per type.
+ */
+public final class DamageCards {
+
+    public static final Spam SPAM = new Spam();
+    public static final TrojanHorse TROJAN_HORSE = new TrojanHorse();
+    public static final Virus VIRUS = new Virus();
+    public static final Worm WORM = new Worm();
+
+    private DamageCards() {
+    }
+}
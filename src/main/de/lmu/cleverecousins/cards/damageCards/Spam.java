@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.damageCards;
 
 import de.lmu.cleverecousins.Game;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 import de.lmu.util.LogConfigurator;
 
 import java.util.logging.Level;
@@ -26,7 +27,7 @@ public class Spam extends DamageCard{
      * Constructs a SPAM damage card with a predefined name and description.
      */
     public Spam() {
-        super("SPAM", "Blocks a programming register");
+        super(CardType.SPAM, "SPAM", "Blocks a programming register");
     }
 
     /**
@@ -3,6 +3,7 @@ package de.lmu.cleverecousins.cards.damageCards;
 import de.lmu.cleverecousins.Game;
 import de.lmu.cleverecousins.Player;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 import de.lmu.util.LogConfigurator;
 
 import java.util.logging.Level;
@@ -22,7 +23,7 @@ public class TrojanHorse extends DamageCard{
     }
 
     public TrojanHorse() {
-        super("TROJAN HORSE", "Take 2 SPAM cards");
+        super(CardType.TROJAN_HORSE, "TROJAN HORSE", "Take 2 SPAM cards");
     }
 
     /**
@@ -49,8 +50,8 @@ public class TrojanHorse extends DamageCard{
         logger.info("TROJAN HORSE card applied to robot " + robot);
         Player player = game.getPlayerByRobot(robot);
         if (player != null) {
-            player.getDiscardDeck().add(new Spam());
-            player.getDiscardDeck().add(new Spam());
+            player.getDiscardDeck().add(DamageCards.SPAM);
+            player.getDiscardDeck().add(DamageCards.SPAM);
         }
     }
 }
@@ -1,9 +1,10 @@
 package de.lmu.cleverecousins.cards.damageCards;
 
+import de.lmu.Board.Board;
 import de.lmu.cleverecousins.Game;
 import de.lmu.cleverecousins.Player;
-import de.lmu.cleverecousins.Position;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 import de.lmu.util.LogConfigurator;
 
 import java.util.logging.Level;
@@ -24,7 +25,7 @@ public class Virus extends DamageCard {
     }
 
     public Virus() {
-        super("VIRUS", "Every Robot within a 6-space radius must take a VIRUS card");
+        super(CardType.VIRUS, "VIRUS", "Every Robot within a 6-space radius must take a VIRUS card");
     }
 
     /**
@@ -38,11 +39,15 @@ public class Virus extends DamageCard {
         return getClass().getResource("/cards/images/virus.png").toExternalForm();
     }
 
+    /** Radius of the infection in fields. */
+    private static final int RADIUS = 6;
+
     /**
      * Applies the effect of the VIRUS card to the given robot.
      *
      * All other robots within a 6-tile radius from the source robot's position
-     * receive one VIRUS card in their discard pile.
+     * receive one VIRUS card in their discard pile. The board visits only the occupied
+     * fields within the radius.
      *
      * @param robot the robot affected by the VIRUS card (source of infection)
      * @param game the current game context used to locate other players and robots
@@ -50,17 +55,17 @@ public class Virus extends DamageCard {
     @Override
     public void applyEffect(Robot robot, Game game) {
         logger.fine("→ Applied VIRUS to robot " + robot);
-        Position sourcePos = robot.getPosition();
-
-        for (Player p : game.getAllPlayers()) {
-            Robot target = p.getRobot();
-            if (target == robot) continue;
-
-            double dist = sourcePos.euclideanDistanceTo(target.getPosition());
-            if (dist <= 6.0) {
-                p.getDiscardDeck().add(new Virus());
-            }
+        Board board = game.getBoard();
+        int cell = board == null ? -1 : board.cellOf(robot);
+        if (cell < 0) {
+            return;
         }
+        board.forEachRobotWithin(cell, RADIUS, target -> {
+            Player p = target == robot ? null : game.getPlayerByRobot(target);
+            if (p != null) {
+                p.getDiscardDeck().add(DamageCards.VIRUS);
+            }
+        });
     }
 }
 
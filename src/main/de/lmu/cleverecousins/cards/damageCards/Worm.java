@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.damageCards;
 
 import de.lmu.cleverecousins.Game;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 import de.lmu.util.LogConfigurator;
 
 import java.util.logging.Level;
@@ -23,7 +24,7 @@ public class Worm extends DamageCard {
     }
 
     public Worm() {
-        super("WORM", "Reboot your Robot");
+        super(CardType.WORM, "WORM", "Reboot your Robot");
     }
 
     /**
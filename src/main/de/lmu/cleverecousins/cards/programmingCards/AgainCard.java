@@ -3,6 +3,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
 import de.lmu.cleverecousins.cards.Card;
+import de.lmu.cleverecousins.cards.CardType;
 import de.lmu.util.LogConfigurator;
 
 import java.util.logging.Level;
@@ -25,7 +26,7 @@ public class AgainCard extends ProgrammingCard {
     }
 
     public AgainCard() {
-        super("Again", "Repeat last register action");
+        super(CardType.AGAIN, "Repeat last register action");
     }
 
     /**
@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * Concrete programming card "Back Up".
@@ -15,7 +16,7 @@ public class BackUpCard extends ProgrammingCard {
      * Constructs a "Back Up" card with a predefined name and description.
      */
     public BackUpCard() {
-        super("Back Up", "Moves your robot backwards by one space");
+        super(CardType.BACK_UP, "Moves your robot backwards by one space");
     }
 
     /**
@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * Concrete programming card "Move One".
@@ -13,7 +14,7 @@ public class MoveOneCard extends ProgrammingCard {
 
 
     public MoveOneCard() {
-        super("MoveI", "Moves your robot forward by one space");
+        super(CardType.MOVE_ONE, "Moves your robot forward by one space");
     }
 
     /**
@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 
 public class MoveThreeCard extends ProgrammingCard {
@@ -12,7 +13,7 @@ public class MoveThreeCard extends ProgrammingCard {
 
      */
     public MoveThreeCard() {
-        super("MoveIII", "Moves 3 steps forward");
+        super(CardType.MOVE_THREE, "Moves 3 steps forward");
     }
 
     /**
@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * When executed, moves the robot forward by two spaces in its current direction
@@ -9,7 +10,7 @@ import de.lmu.cleverecousins.Robot;
 public class MoveTwoCard extends ProgrammingCard {
 
     public MoveTwoCard() {
-        super("MoveII", "Moves your robot forward by two spaces");
+        super(CardType.MOVE_TWO, "Moves your robot forward by two spaces");
     }
 
     /**
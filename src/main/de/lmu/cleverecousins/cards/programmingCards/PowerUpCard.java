@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * When executed, the robot gains 1 energy.
@@ -10,7 +11,7 @@ public class PowerUpCard extends ProgrammingCard {
 
 
     public PowerUpCard() {
-        super("PowerUp", "Gain 1 energy");
+        super(CardType.POWER_UP, "Gain 1 energy");
     }
 
     /**
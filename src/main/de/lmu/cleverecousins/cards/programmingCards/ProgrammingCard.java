@@ -3,6 +3,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
 import de.lmu.cleverecousins.cards.Card;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * Abstrakte Basis für alle Programmierkarten.
@@ -10,16 +11,33 @@ import de.lmu.cleverecousins.cards.Card;
  */
 public abstract class ProgrammingCard extends Card {
 
-    private final String name;
+    private final CardType type;
     private final String description;
 
-    public ProgrammingCard(String name, String description) {
-        this.name = name;
+    public ProgrammingCard(CardType type, String description) {
+        this.type = type;
         this.description = description;
     }
 
+    /**
+     * @return the type of this card; the engine compares and dispatches on it
+     */
+    public CardType getType() {
+        return type;
+    }
+
+    /**
+     * @return the id of this card type, see {@link CardType#id()}
+     */
+    public byte getId() {
+        return type.id();
+    }
+
+    /**
+     * @return the protocol name of this card type
+     */
     public String getName() {
-        return name;
+        return type.protocolName();
     }
     public String getDescription() {
         return description;
@@ -27,7 +45,7 @@ public abstract class ProgrammingCard extends Card {
 
     @Override
     public String toString() {
-        return name + " – " + description;
+        return getName() + " – " + description;
     }
 
     /**
@@ -0,0 +1,49 @@
+package de.lmu.cleverecousins.cards.programmingCards;
+
+import de.lmu.cleverecousins.cards.CardType;
+
+/**
+ * The shared instances of the programming cards.
+ * <p>
+ * Programming cards carry no state, so one instance per type is enough: piles store only the
+ * id of a card ({@link de.lmu.cleverecousins.cards.CardPile}), and hand and registers hold the
+ * shared instance returned by {@link #byId(int)}.
+ */
+public final class ProgrammingCards {
+
+    /** Shared instances, indexed by {@link CardType#id()}. */
+    private static final ProgrammingCard[] CARDS = new ProgrammingCard[CardType.PROGRAMMING_COUNT];
+
+    static {
+        for (ProgrammingCard card : new ProgrammingCard[] {
+                new MoveOneCard(), new MoveTwoCard(), new MoveThreeCard(),
+                new TurnRightCard(), new TurnLeftCard(), new BackUpCard(),
+                new PowerUpCard(), new AgainCard(), new UTurnCard()}) {
+            CARDS[card.getId()] = card;
+        }
+    }
+
+    private ProgrammingCards() {
+    }
+
+    /**
+     * @param id card id of a programming card type
+     * @return the shared instance of that card type
+     */
+    public static ProgrammingCard byId(int id) {
+        return CARDS[id];
+    }
+
+    /**
+     * @param type a programming card type
+     * @return the shared instance of that card type
+     */
+    public static ProgrammingCard of(CardType type) {
+        return CARDS[type.ordinal()];
+    }
+
+    /** @return number of programming card types */
+    public static int count() {
+        return CARDS.length;
+    }
+}
@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * Konkrete Programmierkarte „Turn Left“.
@@ -10,7 +11,7 @@ import de.lmu.cleverecousins.Robot;
 public class TurnLeftCard extends ProgrammingCard {
 
     public TurnLeftCard() {
-        super("TurnLeft", "Rotates the robot 90° to the left");
+        super(CardType.TURN_LEFT, "Rotates the robot 90° to the left");
     }
 
     @Override
@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * Konkrete Programmierkarte „Turn Right“.
@@ -10,7 +11,7 @@ import de.lmu.cleverecousins.Robot;
 public class TurnRightCard extends ProgrammingCard {
 
     public TurnRightCard() {
-        super("TurnRight", "Rotates the robot 90° to the right");
+        super(CardType.TURN_RIGHT, "Rotates the robot 90° to the right");
     }
 
     @Override
@@ -2,6 +2,7 @@ package de.lmu.cleverecousins.cards.programmingCards;
 
 import de.lmu.cleverecousins.GamePhaseController;
 import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.CardType;
 
 /**
  * Konkrete Programmierkarte „U-Turn“.
@@ -10,7 +11,7 @@ import de.lmu.cleverecousins.Robot;
 public class UTurnCard extends ProgrammingCard {
 
     public UTurnCard() {
-        super("UTurn", "Turns 180 degrees");
+        super(CardType.U_TURN, "Turns 180 degrees");
     }
 
     @Override
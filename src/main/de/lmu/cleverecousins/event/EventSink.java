@@ -0,0 +1,35 @@
+package de.lmu.cleverecousins.event;
+
+/**
+ * Receives the {@link GameEvent}s of one game.
+ * <p>
+ * The sink is called on the thread that runs the game, one event at a time and in the order
+ * of the game, so implementations need no locking of their own. The rules do not depend on the
+ * sink: a game plays the same with {@link #NONE} as with the network sink of a room.
+ * <p>
+ * Events between {@link #beginBatch()} and {@link #endBatch()} belong together, for example
+ * all moves of a register executed by the server; a sink may deliver them at once. Batches nest,
+ * only the outermost {@code endBatch()} ends one.
+ */
+@FunctionalInterface
+public interface EventSink {
+
+    /** Drops every event, for games nobody watches. */
+    EventSink NONE = event -> {
+    };
+
+    /**
+     * Called for every event of the game.
+     *
+     * @param event the event
+     */
+    void accept(GameEvent event);
+
+    /** Starts a batch of events that belong together. */
+    default void beginBatch() {
+    }
+
+    /** Ends the batch started by the matching {@link #beginBatch()}. */
+    default void endBatch() {
+    }
+}
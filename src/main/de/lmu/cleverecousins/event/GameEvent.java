@@ -0,0 +1,132 @@
+package de.lmu.cleverecousins.event;
+
+import de.lmu.cleverecousins.cards.CardType;
+
+import java.util.List;
+
+/**
+ * Everything the rules engine tells the outside world while a game runs.
+ * <p>
+ * {@link de.lmu.cleverecousins.GamePhaseController} emits these events to an {@link EventSink}
+ * in the order in which they happen. The events carry only ids, coordinates and
+ * {@link CardType}s; turning them into protocol messages, and deciding who receives them, is
+ * the job of the sink. Events named after a single client ({@link CardsDealt},
+ * {@link PlayerPrompted}, {@link RegistersFilled}, {@link CardReplaced},
+ * {@link DamageSelected}, {@link CheckpointReached}) are meant for that client only.
+ */
+public sealed interface GameEvent {
+
+    /** The game entered a phase: 0 setup, 2 programming, 3 activation. */
+    record PhaseChanged(int phase) implements GameEvent {
+    }
+
+    /** A player is up: to choose a start point, or first in the turn order. */
+    record CurrentPlayer(int clientID) implements GameEvent {
+    }
+
+    /** A player drew a new hand. */
+    record CardsDealt(int clientID, List<CardType> hand) implements GameEvent {
+    }
+
+    /** A player's discard pile was shuffled into the draw pile. */
+    record DeckShuffled(int clientID) implements GameEvent {
+    }
+
+    /** A player took a start point. */
+    record StartingPointTaken(int clientID, int x, int y, String direction) implements GameEvent {
+    }
+
+    /** A robot was placed or stepped forward; {@code direction} is spelled as on the wire. */
+    record RobotPositioned(int clientID, int x, int y, String direction) implements GameEvent {
+    }
+
+    /** A player filled or cleared a register. */
+    record CardSelected(int clientID, int register, boolean filled) implements GameEvent {
+    }
+
+    /** A player filled all five registers. */
+    record SelectionFinished(int clientID) implements GameEvent {
+    }
+
+    /** The programming timer started. */
+    record TimerStarted() implements GameEvent {
+    }
+
+    /** The timer filled the empty registers of a player; {@code registers} are all its cards. */
+    record RegistersFilled(int clientID, List<CardType> registers) implements GameEvent {
+    }
+
+    /** The programming timer ended; {@code clientIDs} had not finished in time. */
+    record TimerEnded(List<Integer> clientIDs) implements GameEvent {
+    }
+
+    /** The cards of all players for a register, in turn order; the server executes them. */
+    record RegisterRevealed(int register, List<RegisterCard> cards) implements GameEvent {
+    }
+
+    /** A player has to play the card of the current register. */
+    record PlayerPrompted(int clientID, CardType card) implements GameEvent {
+    }
+
+    /** The next player is up with the card of the current register; announced to all after a short pause. */
+    record TurnPassed(int clientID, CardType card) implements GameEvent {
+    }
+
+    /** A robot moved to a field. */
+    record RobotMoved(int clientID, int x, int y) implements GameEvent {
+    }
+
+    /** A robot turned. */
+    record RobotTurned(int clientID, Rotation rotation) implements GameEvent {
+    }
+
+    /** A robot gained energy; {@code source} names the tile or card. */
+    record EnergyGained(int clientID, int count, String source) implements GameEvent {
+    }
+
+    /** A kind of board element is about to act, e.g. {@code "BlueConveyorBelt"}. */
+    record Animation(String type) implements GameEvent {
+    }
+
+    /** A player's register card was executed. */
+    record CardPlayed(int clientID, CardType card) implements GameEvent {
+    }
+
+    /** A Spam card in a register was replaced by the top card of the discard pile. */
+    record CardReplaced(int clientID, int register, CardType card) implements GameEvent {
+    }
+
+    /** A player took the damage cards it picked. */
+    record DamageSelected(int clientID, List<String> cards) implements GameEvent {
+    }
+
+    /** A robot reached a checkpoint. */
+    record CheckpointReached(int clientID, int checkpoint) implements GameEvent {
+    }
+
+    /** A robot reached the last checkpoint. */
+    record GameFinished(int clientID) implements GameEvent {
+    }
+
+    /** The card of one player in a {@link RegisterRevealed}. */
+    record RegisterCard(int clientID, CardType card) {
+    }
+
+    /** Direction of a {@link RobotTurned}. */
+    enum Rotation {
+        CLOCKWISE("clockwise"),
+        COUNTERCLOCKWISE("counterclockwise"),
+        UTURN("uturn");
+
+        private final String protocolName;
+
+        Rotation(String protocolName) {
+            this.protocolName = protocolName;
+        }
+
+        /** @return the name of this rotation in protocol messages */
+        public String protocolName() {
+            return protocolName;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.lmu.cleverecousins.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps every event of a game in order, for replays, checks and analysis of bot games.
+ * Batches are not recorded.
+ */
+public class RecordingEventSink implements EventSink {
+
+    private final List<GameEvent> events = new ArrayList<>();
+
+    @Override
+    public void accept(GameEvent event) {
+        events.add(event);
+    }
+
+    /** @return all events received so far, in order; read-only */
+    public List<GameEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * @param type an event type, e.g. {@code GameEvent.RobotMoved.class}
+     * @return the received events of that type, in order
+     */
+    public <E extends GameEvent> List<E> getEvents(Class<E> type) {
+        List<E> matching = new ArrayList<>();
+        for (GameEvent event : events) {
+            if (type.isInstance(event)) {
+                matching.add(type.cast(event));
+            }
+        }
+        return matching;
+    }
+
+    /** Forgets all events received so far. */
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package de.lmu.cleverecousins.network;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small lock-free pool of equally sized direct {@link ByteBuffer}s.
+ * <p>
+ * Direct buffers are expensive to allocate and are only reclaimed by the GC, so the NIO engine
+ * recycles them instead of allocating one per read. Buffers of a foreign size are silently
+ * dropped on {@link #release(ByteBuffer)}.
+ */
+public class BufferPool {
+
+    /** Capacity of every pooled buffer in bytes. */
+    private final int bufferSize;
+
+    /** Upper bound of idle buffers kept in the pool. */
+    private final int maxPooled;
+
+    /** Idle buffers ready for reuse. */
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+    /** Number of buffers currently in {@link #free}. */
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param bufferSize capacity of each buffer in bytes
+     * @param maxPooled  maximum number of idle buffers retained
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool or allocates a new one.
+     *
+     * @return a direct buffer in write mode with {@link #getBufferSize()} capacity
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Returns a buffer to the pool. The caller must not touch it afterwards.
+     *
+     * @param buffer buffer previously obtained from {@link #acquire()}
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        free.offer(buffer.clear());
+    }
+
+    /** @return capacity of the pooled buffers in bytes */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,61 @@
+package de.lmu.cleverecousins.network;
+
+import java.io.IOException;
+
+/**
+ * Outbound side of a client connection, independent of the I/O engine behind it.
+ * <p>
+ * Writes are queued in the connection's {@link OutboundQueue} and sent asynchronously, so
+ * callers never block on socket I/O.
+ */
+public interface ClientTransport {
+
+    /**
+     * Queues an encoded frame for the client. The transport retains its own reference, so the
+     * same frame can be passed to many transports and released once by the caller.
+     *
+     * @param frame       the encoded message
+     * @param coalescable whether the message may be dropped if the client falls behind
+     * @throws IOException if the connection is closed or had to be dropped because its
+     *                     queue overflowed
+     */
+    void send(OutboundFrame frame, boolean coalescable) throws IOException;
+
+    /**
+     * Encodes and queues one message for the client. A line terminator is appended.
+     *
+     * @param line        the JSON message to send
+     * @param coalescable whether the message may be dropped if the client falls behind
+     * @throws IOException if the connection is closed or had to be dropped
+     */
+    default void write(String line, boolean coalescable) throws IOException {
+        OutboundFrame frame = OutboundFrame.of(line);
+        try {
+            send(frame, coalescable);
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Queues one essential (non-coalescable) message for the client.
+     *
+     * @param line the JSON message to send
+     * @throws IOException if the connection is closed or had to be dropped
+     */
+    default void write(String line) throws IOException {
+        write(line, false);
+    }
+
+    /**
+     * @return {@code true} while the connection can still be written to
+     */
+    boolean isOpen();
+
+    /**
+     * Closes the connection. Safe to call more than once.
+     *
+     * @throws IOException if closing the underlying socket fails
+     */
+    void close() throws IOException;
+}
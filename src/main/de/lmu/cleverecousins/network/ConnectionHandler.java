@@ -0,0 +1,32 @@
+package de.lmu.cleverecousins.network;
+
+import java.io.IOException;
+
+/**
+ * Callbacks for the lifecycle of a single client connection.
+ * <p>
+ * The blocking engine calls these from the connection's own thread, the NIO engine from the
+ * selector thread that owns the channel. In both cases the calls for one connection are never
+ * concurrent, and {@link #onClose()} is invoked exactly once.
+ */
+public interface ConnectionHandler {
+
+    /**
+     * Called once after the connection has been established.
+     *
+     * @throws IOException if the greeting cannot be sent
+     */
+    void onOpen() throws IOException;
+
+    /**
+     * Called for every complete line (one JSON message) received from the client.
+     *
+     * @param line the received line without its line terminator
+     */
+    void onLine(String line);
+
+    /**
+     * Called once when the connection has been closed by either side.
+     */
+    void onClose();
+}
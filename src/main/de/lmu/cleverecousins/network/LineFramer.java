@@ -0,0 +1,123 @@
+package de.lmu.cleverecousins.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Splits a stream of bytes into {@code '\n'}-terminated UTF-8 lines.
+ * <p>
+ * Complete lines inside a read buffer are decoded straight from that buffer. Only a trailing
+ * partial line is copied into a pending buffer borrowed from the {@link BufferPool}; it is
+ * handed back as soon as the line is complete, so idle connections hold no buffer at all.
+ * Not thread-safe: each connection owns one framer that is only used by its selector thread.
+ */
+class LineFramer {
+
+    /** Pool that provides the pending buffers. */
+    private final BufferPool pool;
+
+    /** Longest accepted line in bytes; longer input closes the connection. */
+    private final int maxLineLength;
+
+    /** Bytes of the current incomplete line (write mode), or {@code null} if none. */
+    private ByteBuffer pending;
+
+    /**
+     * @param pool          pool for pending-line buffers
+     * @param maxLineLength maximum line length in bytes
+     */
+    LineFramer(BufferPool pool, int maxLineLength) {
+        this.pool = pool;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Consumes all readable bytes of {@code in} and emits every completed line to {@code sink}.
+     *
+     * @param in   buffer in read mode; fully consumed on return
+     * @param sink receiver of the decoded lines (without terminator)
+     * @throws IOException if a line exceeds the maximum length
+     */
+    void feed(ByteBuffer in, Consumer<String> sink) throws IOException {
+        while (in.hasRemaining()) {
+            int newline = indexOf(in, (byte) '\n');
+            if (newline < 0) {
+                append(in, in.limit());
+                return;
+            }
+
+            String line;
+            if (pending == null) {
+                line = decode(in, newline);
+            } else {
+                append(in, newline);
+                pending.flip();
+                line = decode(pending, pending.limit());
+                releasePending();
+            }
+            in.position(newline + 1);
+
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line = line.substring(0, line.length() - 1);
+            }
+            sink.accept(line);
+        }
+    }
+
+    /**
+     * Returns any borrowed buffer to the pool. Called when the connection closes.
+     */
+    void release() {
+        releasePending();
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value) {
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String decode(ByteBuffer buffer, int end) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(end);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+    /**
+     * Copies {@code in[position, end)} into the pending buffer, growing it if necessary.
+     */
+    private void append(ByteBuffer in, int end) throws IOException {
+        int length = end - in.position();
+        if (pending == null) {
+            pending = pool.acquire();
+        }
+        if (pending.position() + length > maxLineLength) {
+            releasePending();
+            throw new IOException("Line exceeds " + maxLineLength + " bytes");
+        }
+        if (pending.remaining() < length) {
+            int capacity = Math.max(pending.capacity() * 2, pending.position() + length);
+            ByteBuffer grown = ByteBuffer.allocate(Math.min(capacity, maxLineLength));
+            pending.flip();
+            grown.put(pending);
+            pool.release(pending);
+            pending = grown;
+        }
+        ByteBuffer chunk = in.duplicate();
+        chunk.limit(end);
+        pending.put(chunk);
+        in.position(end);
+    }
+
+    private void releasePending() {
+        if (pending != null) {
+            pool.release(pending);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package de.lmu.cleverecousins.network;
+
+import de.lmu.util.LogConfigurator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Selector-based connection engine.
+ * <p>
+ * One acceptor thread (the caller of {@link #run()}) accepts sockets and hands them round-robin
+ * to a small, fixed pool of I/O threads. Each I/O thread owns a {@link Selector}, reads
+ * non-blocking into one shared direct buffer, frames the bytes into lines with a
+ * {@link LineFramer} and passes every complete line to the connection's
+ * {@link ConnectionHandler}. Outbound messages are queued per connection in an
+ * {@link OutboundQueue} and written by the owning I/O thread with one gathering write over
+ * the shared {@link OutboundFrame} buffers, so no thread ever blocks on a slow client and
+ * broadcast payloads are never copied per recipient.
+ */
+public class NioServer {
+
+    private static final Logger logger = Logger.getLogger(NioServer.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** Size of the read buffers and pending-line buffers. */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /** Upper bound for a single inbound message; the map payload is well below this. */
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    /** Port to listen on. */
+    private final int port;
+
+    /** Creates the handler (the {@code ClientManager}) for every accepted connection. */
+    private final Function<ClientTransport, ConnectionHandler> handlerFactory;
+
+    /** Pool shared by all I/O threads for read and line buffers. */
+    private final BufferPool bufferPool;
+
+    /** The selector threads. */
+    private final IoWorker[] workers;
+
+    /** Round-robin index for assigning new connections. */
+    private int nextWorker;
+
+    /**
+     * Creates the engine. Nothing is bound until {@link #run()} is called.
+     *
+     * @param port           TCP port to listen on
+     * @param ioThreads      number of selector threads (at least 1)
+     * @param handlerFactory creates the handler for a new connection from its transport
+     */
+    public NioServer(int port, int ioThreads, Function<ClientTransport, ConnectionHandler> handlerFactory) {
+        this.port = port;
+        this.handlerFactory = handlerFactory;
+        this.workers = new IoWorker[Math.max(1, ioThreads)];
+        this.bufferPool = new BufferPool(BUFFER_SIZE, 64 * workers.length);
+    }
+
+    /**
+     * Starts the I/O threads and accepts connections on the calling thread until the
+     * server channel is closed.
+     *
+     * @throws IOException if the port cannot be bound or a selector cannot be opened
+     */
+    public void run() throws IOException {
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new IoWorker(i);
+            Thread thread = new Thread(workers[i], "nio-io-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port));
+            logger.info("NIO-Engine gestartet auf Port " + port + " mit " + workers.length + " I/O-Threads");
+
+            while (serverChannel.isOpen()) {
+                try {
+                    SocketChannel channel = serverChannel.accept();
+                    channel.configureBlocking(false);
+                    channel.socket().setTcpNoDelay(true);
+                    IoWorker worker = workers[nextWorker];
+                    nextWorker = (nextWorker + 1) % workers.length;
+                    worker.register(channel);
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "[ERROR] Fehler beim Annehmen neuer Verbindung: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A selector thread serving a subset of the connections.
+     */
+    private final class IoWorker implements Runnable {
+
+        /** Selector for all channels owned by this worker. */
+        private final Selector selector;
+
+        /** Work submitted from other threads (registrations, flushes, closes). */
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        /** Read buffer shared by all connections of this worker. */
+        private final ByteBuffer readBuffer;
+
+
+        /** The selector thread, to detect writes issued from inside a handler callback. */
+        private Thread thread;
+
+        private final int index;
+
+        IoWorker(int index) throws IOException {
+            this.index = index;
+            this.selector = Selector.open();
+            this.readBuffer = bufferPool.acquire();
+        }
+
+        /**
+         * Hands a freshly accepted channel to this worker.
+         */
+        void register(SocketChannel channel) {
+            execute(() -> {
+                NioConnection connection = new NioConnection(channel, this);
+                try {
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                    connection.handler = handlerFactory.apply(connection);
+                    connection.handler.onOpen();
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "[WARN] Verbindung konnte nicht registriert werden: " + e.getMessage(), e);
+                    connection.closeNow();
+                }
+            });
+        }
+
+        /**
+         * Runs the given task on this worker's thread and wakes up the selector.
+         */
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            try {
+                while (selector.isOpen()) {
+                    selector.select();
+                    runTasks();
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        NioConnection connection = (NioConnection) key.attachment();
+                        if (key.isValid() && key.isReadable()) {
+                            connection.read(readBuffer);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    }
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                logger.log(Level.SEVERE, "[FATAL] I/O-Thread " + index + " beendet: " + e.getMessage(), e);
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "[ERROR] Fehler im I/O-Thread " + index + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * State of one non-blocking client connection. All fields except the outbound queue and
+     * the flags are confined to the owning worker thread.
+     */
+    private final class NioConnection implements ClientTransport {
+
+        private final SocketChannel channel;
+        private final IoWorker worker;
+        private final LineFramer framer = new LineFramer(bufferPool, MAX_LINE_LENGTH);
+
+        /** Messages waiting to be written, in send order. */
+        private final OutboundQueue outbound = OutboundQueue.fromSystemProperties();
+
+        /** Frames of the batch currently being written. */
+        private final List<OutboundFrame> inFlight = new ArrayList<>();
+
+        /** Views on {@link #inFlight} for the gathering write; {@code null} if nothing is in flight. */
+        private ByteBuffer[] pending;
+
+        /** Index of the first view in {@link #pending} with bytes left. */
+        private int pendingIndex;
+
+        /** Total size of the batch in flight. */
+        private long pendingBytes;
+
+        /** Set once a flush task is queued on the worker, to avoid redundant wake-ups. */
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+        /** Set by the first {@link #close()} call from any thread. */
+        private final AtomicBoolean closeRequested = new AtomicBoolean();
+
+        private SelectionKey key;
+        private ConnectionHandler handler;
+        private boolean closed;
+
+        NioConnection(SocketChannel channel, IoWorker worker) {
+            this.channel = channel;
+            this.worker = worker;
+        }
+
+        @Override
+        public void send(OutboundFrame frame, boolean coalescable) throws IOException {
+            if (closeRequested.get()) {
+                throw new IOException("Verbindung ist geschlossen");
+            }
+            // Auf dem Selector-Thread darf nie gewartet werden
+            boolean accepted = Thread.currentThread() == worker.thread
+                    ? outbound.offerNow(frame, coalescable)
+                    : outbound.offer(frame, coalescable);
+            if (!accepted) {
+                logger.warning("[WARN] Sendepuffer voll (" + outbound.getPolicy() + "), Verbindung wird getrennt");
+                close();
+                throw new IOException("Sendepuffer voll, Client getrennt");
+            }
+            if (flushScheduled.compareAndSet(false, true)) {
+                worker.execute(this::flush);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closeRequested.get();
+        }
+
+        @Override
+        public void close() {
+            if (closeRequested.compareAndSet(false, true)) {
+                worker.execute(this::closeNow);
+            }
+        }
+
+        void read(ByteBuffer readBuffer) {
+            try {
+                readBuffer.clear();
+                int n = channel.read(readBuffer);
+                if (n < 0) {
+                    closeNow();
+                    return;
+                }
+                readBuffer.flip();
+                framer.feed(readBuffer, handler::onLine);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "[WARN] Lesefehler, Verbindung wird geschlossen: " + e.getMessage());
+                closeNow();
+            }
+        }
+
+        void flush() {
+            flushScheduled.set(false);
+            if (closed) {
+                return;
+            }
+            try {
+                boolean drained = writePending();
+                key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "[WARN] Schreibfehler, Verbindung wird geschlossen: " + e.getMessage());
+                closeNow();
+            }
+        }
+
+        /**
+         * Writes queued batches until the queue is empty or the socket buffer is full.
+         *
+         * @return {@code true} if everything was written
+         * @throws IOException if the channel fails
+         */
+        private boolean writePending() throws IOException {
+            while (true) {
+                if (pending == null) {
+                    if (outbound.pollBatch(inFlight) == 0) {
+                        return true;
+                    }
+                    pending = new ByteBuffer[inFlight.size()];
+                    pendingIndex = 0;
+                    pendingBytes = 0;
+                    for (int i = 0; i < pending.length; i++) {
+                        pending[i] = inFlight.get(i).content();
+                        pendingBytes += pending[i].remaining();
+                    }
+                }
+                channel.write(pending, pendingIndex, pending.length - pendingIndex);
+                while (pendingIndex < pending.length && !pending[pendingIndex].hasRemaining()) {
+                    pendingIndex++;
+                }
+                if (pendingIndex < pending.length) {
+                    return false;
+                }
+                TrafficStats.sent(inFlight.size(), pendingBytes);
+                releaseInFlight();
+            }
+        }
+
+        private void releaseInFlight() {
+            for (OutboundFrame frame : inFlight) {
+                frame.release();
+            }
+            inFlight.clear();
+            pending = null;
+        }
+
+        void closeNow() {
+            if (closed) {
+                return;
+            }
+            // zuerst markieren, damit ein Fehler beim letzten Schreiben nicht erneut hier landet
+            closed = true;
+            closeRequested.set(true);
+            try {
+                // letzter Versuch ohne Warten; was nicht mehr passt, geht verloren
+                writePending();
+            } catch (IOException e) {
+                logger.fine("[DEBUG] Restliche Nachrichten nicht mehr gesendet: " + e.getMessage());
+            } finally {
+                if (key != null) {
+                    key.cancel();
+                }
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "[ERROR] Fehler beim Schließen des Kanals", e);
+                }
+                framer.release();
+                outbound.discard();
+                releaseInFlight();
+                if (handler != null) {
+                    handler.onClose();
+                }
+            }
+        }
+    }
+}
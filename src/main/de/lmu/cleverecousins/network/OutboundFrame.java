@@ -0,0 +1,144 @@
+package de.lmu.cleverecousins.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One encoded, newline-terminated message that is shared by all recipients of a broadcast.
+ * <p>
+ * The message is serialized and UTF-8 encoded exactly once. Small and medium frames live in
+ * pooled direct buffers; larger ones (e.g. the {@code GameStarted} map) in a read-only heap
+ * buffer. Every outbound queue holding the frame owns one reference; the buffer goes back to
+ * its pool when the last reference is released. The creator owns the first reference and
+ * must {@link #release()} it after handing the frame to all recipients.
+ */
+public final class OutboundFrame {
+
+    /** Pool for typical game messages (positions, movements, cards). */
+    private static final BufferPool SMALL_POOL = new BufferPool(512, 1024);
+
+    /** Pool for larger messages such as card lists and lobby updates. */
+    private static final BufferPool MEDIUM_POOL = new BufferPool(8 * 1024, 64);
+
+    /** Encoded bytes including the trailing newline; position 0, limit = length. Never modified. */
+    private final ByteBuffer buffer;
+
+    /** Pool the buffer is returned to, or {@code null} for unpooled frames. */
+    private final BufferPool pool;
+
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    private OutboundFrame(ByteBuffer buffer, BufferPool pool) {
+        this.buffer = buffer;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a frame from an already encoded JSON message. A newline is appended.
+     *
+     * @param json UTF-8 encoded message without line terminator
+     * @return a frame holding one reference
+     */
+    public static OutboundFrame wrap(byte[] json) {
+        int length = json.length + 1;
+        BufferPool pool = length <= SMALL_POOL.getBufferSize() ? SMALL_POOL
+                : length <= MEDIUM_POOL.getBufferSize() ? MEDIUM_POOL
+                : null;
+
+        ByteBuffer buffer;
+        if (pool != null) {
+            buffer = pool.acquire();
+            buffer.put(json).put((byte) '\n').flip();
+        } else {
+            byte[] bytes = new byte[length];
+            System.arraycopy(json, 0, bytes, 0, json.length);
+            bytes[json.length] = '\n';
+            buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        }
+        TrafficStats.encoded(length);
+        return new OutboundFrame(buffer, pool);
+    }
+
+    /**
+     * Creates a frame over a message that was encoded in advance, e.g. a cached
+     * {@code GameStarted}. The bytes are neither copied nor pooled and must never change.
+     *
+     * @param line UTF-8 encoded message including the trailing newline
+     * @return a frame holding one reference
+     */
+    public static OutboundFrame preEncoded(byte[] line) {
+        TrafficStats.encoded(line.length);
+        return new OutboundFrame(ByteBuffer.wrap(line).asReadOnlyBuffer(), null);
+    }
+
+    /**
+     * Encodes a JSON string into a frame. A newline is appended.
+     *
+     * @param json the message without line terminator
+     * @return a frame holding one reference
+     */
+    public static OutboundFrame of(String json) {
+        return wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return encoded length in bytes, including the newline
+     */
+    public int length() {
+        return buffer.limit();
+    }
+
+    /**
+     * Returns an independent view on the encoded bytes, positioned at the start.
+     * The view must not be used after the reference is released.
+     *
+     * @return a buffer view for one write
+     */
+    public ByteBuffer content() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * Copies the encoded bytes into {@code dst} starting at {@code offset}.
+     *
+     * @param dst    destination array with at least {@link #length()} bytes free
+     * @param offset start index in {@code dst}
+     */
+    public void copyTo(byte[] dst, int offset) {
+        buffer.get(0, dst, offset, buffer.limit());
+    }
+
+    /**
+     * Adds a reference, e.g. for one more outbound queue.
+     *
+     * @return this frame
+     * @throws IllegalStateException if the frame was already released
+     */
+    public OutboundFrame retain() {
+        int prev;
+        do {
+            prev = refCount.get();
+            if (prev <= 0) {
+                throw new IllegalStateException("Frame bereits freigegeben");
+            }
+        } while (!refCount.compareAndSet(prev, prev + 1));
+        return this;
+    }
+
+    /**
+     * Drops a reference. The buffer is returned to its pool when no reference is left.
+     *
+     * @throws IllegalStateException if released more often than retained
+     */
+    public void release() {
+        int remaining = refCount.decrementAndGet();
+        if (remaining == 0) {
+            if (pool != null) {
+                pool.release(buffer);
+            }
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Frame zu oft freigegeben");
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package de.lmu.cleverecousins.network;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of outgoing messages for one client connection.
+ * <p>
+ * Game code enqueues with {@link #offer} and returns immediately; a single writer (the
+ * connection's writer thread or its selector thread) drains everything queued so far with
+ * {@link #takeBatch} / {@link #pollBatch} and sends it in one write. When the queue is full
+ * the configured {@link OverflowPolicy} decides what happens.
+ * <p>
+ * The queue holds one reference on every queued {@link OutboundFrame}. Frames handed out by
+ * {@code takeBatch}/{@code pollBatch} must be released by the writer once written; frames
+ * dropped by the queue are released here.
+ */
+public class OutboundQueue {
+
+    /** System property for the maximum number of queued messages per client. */
+    public static final String CAPACITY_PROPERTY = "roborally.outbound.capacity";
+
+    /** System property for the maximum wait of {@link OverflowPolicy#BLOCK} in milliseconds. */
+    public static final String BLOCK_MILLIS_PROPERTY = "roborally.outbound.blockMillis";
+
+    /** A queued message. */
+    private record Entry(OutboundFrame frame, boolean coalescable) {
+    }
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final long blockMillis;
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** Messages discarded under {@link OverflowPolicy#DROP_COALESCABLE}. */
+    private long dropped;
+    private boolean closed;
+
+    /**
+     * Creates a queue.
+     *
+     * @param capacity    maximum number of queued messages
+     * @param policy      behaviour when the queue is full
+     * @param blockMillis maximum wait for {@link OverflowPolicy#BLOCK}
+     */
+    public OutboundQueue(int capacity, OverflowPolicy policy, long blockMillis) {
+        this.capacity = Math.max(1, capacity);
+        this.policy = policy;
+        this.blockMillis = blockMillis;
+    }
+
+    /**
+     * Creates a queue configured from the {@code roborally.outbound.*} system properties
+     * (defaults: 1024 messages, {@link OverflowPolicy#DROP_COALESCABLE}, 2000 ms).
+     *
+     * @return the new queue
+     */
+    public static OutboundQueue fromSystemProperties() {
+        return new OutboundQueue(
+                Integer.getInteger(CAPACITY_PROPERTY, 1024),
+                OverflowPolicy.fromSystemProperty(),
+                Long.getLong(BLOCK_MILLIS_PROPERTY, 2000L));
+    }
+
+    /**
+     * Enqueues a message, applying the overflow policy if the queue is full.
+     * On success the queue retains its own reference on the frame.
+     *
+     * @param frame       the encoded message
+     * @param coalescable whether the message may be dropped under pressure
+     * @return {@code false} if the client has to be disconnected
+     */
+    public boolean offer(OutboundFrame frame, boolean coalescable) {
+        return offer(frame, coalescable, true);
+    }
+
+    /**
+     * Like {@link #offer(OutboundFrame, boolean)}, but never waits. Used when the producer is the
+     * thread that drains the queue; {@link OverflowPolicy#BLOCK} then acts like
+     * {@link OverflowPolicy#DISCONNECT}.
+     *
+     * @param frame       the encoded message
+     * @param coalescable whether the message may be dropped under pressure
+     * @return {@code false} if the client has to be disconnected
+     */
+    public boolean offerNow(OutboundFrame frame, boolean coalescable) {
+        return offer(frame, coalescable, false);
+    }
+
+    private boolean offer(OutboundFrame frame, boolean coalescable, boolean mayBlock) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (entries.size() >= capacity && !makeRoom(coalescable, mayBlock)) {
+                return coalescable && policy == OverflowPolicy.DROP_COALESCABLE;
+            }
+            entries.addLast(new Entry(frame.retain(), coalescable));
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tries to free one slot. Must be called with the lock held.
+     *
+     * @return {@code true} if there is room for the new message afterwards
+     */
+    private boolean makeRoom(boolean coalescable, boolean mayBlock) {
+        switch (policy) {
+            case DROP_COALESCABLE -> {
+                if (coalescable) {
+                    dropped++;
+                    return false;
+                }
+                for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+                    Entry entry = it.next();
+                    if (entry.coalescable()) {
+                        it.remove();
+                        entry.frame().release();
+                        dropped++;
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case BLOCK -> {
+                if (!mayBlock) {
+                    return false;
+                }
+                long nanos = TimeUnit.MILLISECONDS.toNanos(blockMillis);
+                try {
+                    while (entries.size() >= capacity && !closed && nanos > 0) {
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                return entries.size() < capacity && !closed;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Waits until at least one message is queued and moves all queued messages into
+     * {@code batch}.
+     *
+     * @param batch receives the frames in send order; the caller releases them
+     * @return {@code false} if the queue was closed and nothing is left to send
+     * @throws InterruptedException if the writer is interrupted while waiting
+     */
+    public boolean takeBatch(List<OutboundFrame> batch) throws InterruptedException {
+        lock.lock();
+        try {
+            while (entries.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            if (entries.isEmpty()) {
+                return false;
+            }
+            drain(batch);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves all queued messages into {@code batch} without waiting.
+     *
+     * @param batch receives the frames in send order; the caller releases them
+     * @return number of messages moved
+     */
+    public int pollBatch(List<OutboundFrame> batch) {
+        lock.lock();
+        try {
+            return drain(batch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int drain(List<OutboundFrame> batch) {
+        int n = entries.size();
+        Entry e;
+        while ((e = entries.pollFirst()) != null) {
+            batch.add(e.frame());
+        }
+        notFull.signalAll();
+        return n;
+    }
+
+    /**
+     * Closes the queue: further offers fail and waiting threads are released.
+     * Messages already queued can still be drained.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the queue and releases all frames that were not sent.
+     */
+    public void discard() {
+        lock.lock();
+        try {
+            closed = true;
+            Entry e;
+            while ((e = entries.pollFirst()) != null) {
+                e.frame().release();
+            }
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the overflow policy of this queue
+     */
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return number of coalescable messages dropped so far
+     */
+    public long getDropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
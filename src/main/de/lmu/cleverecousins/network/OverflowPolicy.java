@@ -0,0 +1,42 @@
+package de.lmu.cleverecousins.network;
+
+/**
+ * What an {@link OutboundQueue} does when a client does not read fast enough and its queue
+ * is full.
+ * <p>
+ * Chosen at startup via the {@code roborally.outbound.policy} system property.
+ */
+public enum OverflowPolicy {
+
+    /** Disconnect the slow client. */
+    DISCONNECT,
+
+    /**
+     * Drop coalescable messages (e.g. {@code Alive}) to make room; the client is only
+     * disconnected if the queue holds nothing but essential messages.
+     */
+    DROP_COALESCABLE,
+
+    /**
+     * Let the producer wait for free space, at most {@code roborally.outbound.blockMillis};
+     * the client is disconnected if the queue is still full afterwards.
+     */
+    BLOCK;
+
+    /** System property that selects the policy. */
+    public static final String PROPERTY = "roborally.outbound.policy";
+
+    /**
+     * Reads the policy from the system property, defaulting to {@link #DROP_COALESCABLE}.
+     *
+     * @return the configured policy
+     * @throws IllegalArgumentException if an unknown policy name is given
+     */
+    public static OverflowPolicy fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) {
+            return DROP_COALESCABLE;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
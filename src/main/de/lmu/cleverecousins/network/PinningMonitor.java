@@ -0,0 +1,89 @@
+package de.lmu.cleverecousins.network;
+
+import de.lmu.util.LogConfigurator;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reports virtual threads that pin their carrier thread, e.g. by blocking inside a
+ * {@code synchronized} block or a native frame.
+ * <p>
+ * Listens to the JFR event {@code jdk.VirtualThreadPinned} in-process and logs every event
+ * that exceeds {@link #THRESHOLD} together with the top frames of its stack.
+ * Only started in {@link ServerMode#VIRTUAL}.
+ */
+public final class PinningMonitor {
+
+    private static final Logger logger = Logger.getLogger(PinningMonitor.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** Pinning shorter than this is not reported. */
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+
+    /** Number of stack frames included in a report. */
+    private static final int REPORTED_FRAMES = 5;
+
+    /** Number of pinning events seen since start. */
+    private static final AtomicLong pinnedCount = new AtomicLong();
+
+    private static RecordingStream stream;
+
+    private PinningMonitor() {
+    }
+
+    /**
+     * Starts listening for pinning events. Calling it more than once has no effect.
+     */
+    public static synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(THRESHOLD).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", PinningMonitor::report);
+            stream.startAsync();
+            logger.info("[INFO] Pinning-Überwachung für virtuelle Threads aktiv (Schwelle " + THRESHOLD.toMillis() + " ms)");
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "[WARN] JFR nicht verfügbar, Pinning wird nicht überwacht: " + e.getMessage(), e);
+            stream = null;
+        }
+    }
+
+    /**
+     * Returns the number of pinning events reported so far.
+     *
+     * @return pinned event count
+     */
+    public static long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    private static void report(RecordedEvent event) {
+        long count = pinnedCount.incrementAndGet();
+        StringBuilder sb = new StringBuilder("[WARN] Virtueller Thread hat Carrier-Thread für ")
+                .append(event.getDuration().toMillis())
+                .append(" ms blockiert (#").append(count).append(")");
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            for (int i = 0; i < Math.min(REPORTED_FRAMES, frames.size()); i++) {
+                RecordedFrame frame = frames.get(i);
+                sb.append("\n    at ")
+                        .append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        logger.warning(sb.toString());
+    }
+}
@@ -0,0 +1,49 @@
+package de.lmu.cleverecousins.network;
+
+/**
+ * Connection engine the {@link de.lmu.cleverecousins.Server} uses for client sockets.
+ * <p>
+ * The mode is chosen once at startup, either via a {@code --mode=<name>} program argument
+ * or the {@code roborally.server.mode} system property. Both engines drive the same
+ * {@link ConnectionHandler} callbacks, so the game logic is identical in every mode.
+ */
+public enum ServerMode {
+
+    /** One blocking {@code ClientManager} thread per connection (original behaviour). */
+    BLOCKING,
+
+    /** Non-blocking sockets multiplexed over a small pool of selector threads. */
+    NIO,
+
+    /**
+     * Blocking sockets like {@link #BLOCKING}, but every {@code ClientManager} loop and the
+     * room event loops run on virtual threads.
+     */
+    VIRTUAL;
+
+    /** System property that selects the mode if no program argument is given. */
+    public static final String PROPERTY = "roborally.server.mode";
+
+    /**
+     * Resolves the mode from the program arguments, falling back to the system property
+     * and finally to {@link #BLOCKING}.
+     *
+     * @param args program arguments of {@code Server.main}
+     * @return the selected mode
+     * @throws IllegalArgumentException if an unknown mode name is given
+     */
+    public static ServerMode fromArgs(String[] args) {
+        String value = System.getProperty(PROPERTY);
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--mode=")) {
+                    value = arg.substring("--mode=".length());
+                }
+            }
+        }
+        if (value == null || value.isBlank()) {
+            return BLOCKING;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
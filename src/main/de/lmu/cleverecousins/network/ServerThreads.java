@@ -0,0 +1,51 @@
+package de.lmu.cleverecousins.network;
+
+/**
+ * Starts the server's long-running background tasks (client loops, heartbeat, game timers)
+ * on the kind of thread that matches the configured {@link ServerMode}.
+ * <p>
+ * In {@link ServerMode#VIRTUAL} every task gets its own virtual thread; otherwise a
+ * platform thread is used, as before.
+ */
+public final class ServerThreads {
+
+    /** Whether tasks are started on virtual threads. Set once at startup. */
+    private static volatile boolean virtual = false;
+
+    private ServerThreads() {
+    }
+
+    /**
+     * Selects the thread kind for the given server mode. Must be called before any client
+     * is accepted.
+     *
+     * @param mode the mode the server was started in
+     */
+    public static void configure(ServerMode mode) {
+        virtual = mode == ServerMode.VIRTUAL;
+    }
+
+    /**
+     * Returns whether background tasks run on virtual threads.
+     *
+     * @return {@code true} in {@link ServerMode#VIRTUAL}
+     */
+    public static boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Starts the given task on a new thread of the configured kind.
+     * Platform threads are started as daemon threads.
+     *
+     * @param name name of the new thread
+     * @param task the task to run
+     * @return the started thread
+     */
+    public static Thread start(String name, Runnable task) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name).start(task);
+        }
+        return Thread.ofPlatform().name(name).daemon(true).start(task);
+    }
+}
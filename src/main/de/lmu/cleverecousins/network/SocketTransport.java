@@ -0,0 +1,122 @@
+package de.lmu.cleverecousins.network;
+
+import de.lmu.util.LogConfigurator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ClientTransport} for the blocking engines.
+ * <p>
+ * Messages go into an {@link OutboundQueue}; a dedicated writer thread (virtual in
+ * {@link ServerMode#VIRTUAL}) drains everything queued so far, copies the shared frames
+ * into one scratch array and sends it with one {@code write} on the socket, so several
+ * messages of one game step share a flush.
+ */
+public class SocketTransport implements ClientTransport {
+
+    private static final Logger logger = Logger.getLogger(SocketTransport.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** The connected client socket. */
+    private final Socket socket;
+
+    /** Output stream to send messages to the client; only used by the writer thread. */
+    private final OutputStream out;
+
+    /** Messages waiting for the writer thread. */
+    private final OutboundQueue queue = OutboundQueue.fromSystemProperties();
+
+    /**
+     * Wraps an already connected socket and starts its writer thread.
+     *
+     * @param socket the client socket
+     * @throws IOException if the output stream cannot be opened
+     */
+    public SocketTransport(Socket socket) throws IOException {
+        this.socket = socket;
+        this.out = socket.getOutputStream();
+        ServerThreads.start("writer-" + socket.getPort(), this::writeLoop);
+    }
+
+    @Override
+    public void send(OutboundFrame frame, boolean coalescable) throws IOException {
+        if (socket.isClosed()) {
+            throw new IOException("Verbindung ist geschlossen");
+        }
+        if (!queue.offer(frame, coalescable)) {
+            logger.warning("[WARN] Sendepuffer von " + socket.getRemoteSocketAddress()
+                    + " voll (" + queue.getPolicy() + "), Verbindung wird getrennt");
+            close();
+            throw new IOException("Sendepuffer voll, Client getrennt");
+        }
+    }
+
+    /**
+     * Writer loop: sends all queued messages in one write per batch until the queue is
+     * closed and empty or the socket fails.
+     */
+    private void writeLoop() {
+        List<OutboundFrame> batch = new ArrayList<>();
+        byte[] scratch = new byte[8 * 1024];
+        try {
+            while (queue.takeBatch(batch)) {
+                int total = 0;
+                for (OutboundFrame frame : batch) {
+                    total += frame.length();
+                }
+                if (total > scratch.length) {
+                    scratch = new byte[Math.max(total, scratch.length * 2)];
+                }
+                int offset = 0;
+                for (OutboundFrame frame : batch) {
+                    frame.copyTo(scratch, offset);
+                    offset += frame.length();
+                }
+                releaseAll(batch);
+
+                out.write(scratch, 0, total);
+                out.flush();
+                TrafficStats.sent(batch.size(), total);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.log(Level.FINE, "[DEBUG] Schreiben an " + socket.getRemoteSocketAddress() + " fehlgeschlagen: " + e.getMessage());
+            try {
+                socket.close(); // weckt den lesenden Thread auf
+            } catch (IOException ignored) {
+            }
+        } finally {
+            queue.discard();
+        }
+    }
+
+    private static void releaseAll(List<OutboundFrame> frames) {
+        for (OutboundFrame frame : frames) {
+            frame.release();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !socket.isClosed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        queue.close();
+        if (!socket.isClosed()) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package de.lmu.cleverecousins.network;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global counters for outbound traffic.
+ * <p>
+ * "Encoded" counts each message once when it is serialized into an {@link OutboundFrame};
+ * "sent" counts the bytes actually written to sockets. With encode-once broadcasting the
+ * ratio sent / encoded roughly equals the average number of recipients per message.
+ */
+public final class TrafficStats {
+
+    private static final LongAdder framesEncoded = new LongAdder();
+    private static final LongAdder bytesEncoded = new LongAdder();
+    private static final LongAdder framesSent = new LongAdder();
+    private static final LongAdder bytesSent = new LongAdder();
+
+    private TrafficStats() {
+    }
+
+    /**
+     * Records one encoded frame.
+     *
+     * @param bytes encoded length
+     */
+    static void encoded(int bytes) {
+        framesEncoded.increment();
+        bytesEncoded.add(bytes);
+    }
+
+    /**
+     * Records a completed socket write.
+     *
+     * @param frames number of frames in the write
+     * @param bytes  number of bytes written
+     */
+    static void sent(int frames, long bytes) {
+        framesSent.add(frames);
+        bytesSent.add(bytes);
+    }
+
+    /** @return number of frames encoded so far */
+    public static long getFramesEncoded() {
+        return framesEncoded.sum();
+    }
+
+    /** @return number of bytes encoded so far */
+    public static long getBytesEncoded() {
+        return bytesEncoded.sum();
+    }
+
+    /** @return number of frames written to clients so far */
+    public static long getFramesSent() {
+        return framesSent.sum();
+    }
+
+    /** @return number of bytes written to clients so far */
+    public static long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * @return a one-line summary for the server log
+     */
+    public static String summary() {
+        long encoded = getBytesEncoded();
+        long sent = getBytesSent();
+        return String.format("encoded %d frames / %d bytes, sent %d frames / %d bytes (x%.2f)",
+                getFramesEncoded(), encoded, getFramesSent(), sent,
+                encoded == 0 ? 0.0 : (double) sent / encoded);
+    }
+}
@@ -2,10 +2,12 @@ package de.lmu.cleverecousins.protocol;
 
 import de.lmu.Board.Board;
 import de.lmu.Board.BoardTile;
+import de.lmu.Board.CompiledMap;
 import de.lmu.cleverecousins.Position;
 import de.lmu.cleverecousins.protocol.messageBody.GameStartedBody;
 import de.lmu.util.LogConfigurator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -13,7 +15,9 @@ import java.util.logging.Logger;
  * Utility class for constructing a {@link Board} object from a {@link GameStartedBody} map definition.
  * <p>
  * The class reads a nested list of {@link MapTileDefinition}s representing the game map layout,
- * converts each definition into a concrete {@link BoardTile}, and assembles them into the board grid.
+ * converts each definition into a concrete {@link BoardTile}, and assembles them into a
+ * {@link CompiledMap}. The compiled map is immutable, so all games on the same map share one
+ * instance (see {@link MapCache}); each game only gets its own small {@link Board} on top.
  */
 public class MapBuilder {
 
@@ -24,30 +28,41 @@ public class MapBuilder {
     }
 
     /**
-     * Builds a {@link Board} instance from the given {@link GameStartedBody}, which contains
-     * a 3D list of map tile definitions (x, y, tile stack).
-     * <p>
-     * Each tile definition is converted into a specific {@link BoardTile} using {@link TileFactory},
-     * and placed at the corresponding (x, y) location on the board. After construction,
-     * the board's restart point is also initialized.
+     * Builds a fresh {@link Board} instance from the given {@link GameStartedBody}, with a map
+     * of its own. Games use the shared map of the {@link MapCache} instead.
      *
      * @param body the {@link GameStartedBody} object containing the full map structure
      * @return a fully constructed {@link Board} populated with tiles
      */
-    @SuppressWarnings("unchecked")
     public static Board buildBoard(GameStartedBody body) {
+        return new Board(compileMap(body));
+    }
+
+    /**
+     * Compiles the map of the given {@link GameStartedBody}, which contains a 3D list of map
+     * tile definitions (x, y, tile stack).
+     * <p>
+     * Each tile definition is converted into a specific {@link BoardTile} using {@link TileFactory},
+     * and placed at the corresponding (x, y) location. The map then computes its restart point,
+     * wall mask and the activation schedule of its board elements.
+     *
+     * @param body the {@link GameStartedBody} object containing the full map structure
+     * @return the compiled map
+     */
+    public static CompiledMap compileMap(GameStartedBody body) {
         List<List<List<MapTileDefinition>>> defs = body.getGameMap();
 
         int width = defs.size();         // X方向格数
         int height = defs.get(0).size(); // Y方向格数
 
-        Board board = new Board(width, height);
+        logger.fine("[MapBuilder] Building board of size " + width + "x" + height);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<BoardTile>[][] tiles = new List[width][height];
 
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
                 List<MapTileDefinition> tileDefs = defs.get(x).get(y);
-
-                logger.info("[MapBuilder] Building board of size " + width + "x" + height);
+                tiles[x][y] = new ArrayList<>();
 
                 if (tileDefs != null) {
                     for (MapTileDefinition def : tileDefs) {
@@ -56,15 +71,12 @@ public class MapBuilder {
                             def.setX(x);
                             def.setY(y);
                             Position pos = new Position(x, y);
-                            BoardTile tile = TileFactory.createTile(def, pos, board);
-                            board.addTile(x, y, tile);
+                            tiles[x][y].add(TileFactory.createTile(def, pos));
                         }
                     }
                 }
             }
         }
-        board.findRestartPoint();
-        return board;
+        return CompiledMap.compile(tiles);
     }
 }
-
@@ -0,0 +1,183 @@
+package de.lmu.cleverecousins.protocol;
+
+import de.lmu.Board.CompiledMap;
+import de.lmu.cleverecousins.NetworkManager;
+import de.lmu.cleverecousins.network.OutboundFrame;
+import de.lmu.cleverecousins.protocol.message.GameStartedMessage;
+import de.lmu.cleverecousins.protocol.messageBody.GameStartedBody;
+import de.lmu.util.LogConfigurator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide cache of the playable maps.
+ * <p>
+ * Each map is read from the classpath, validated and compiled once, either up front by
+ * {@link #preload(Collection)} at server start or on its first selection. An entry keeps the
+ * shared {@link CompiledMap} and the exact UTF-8 bytes of the map's {@code GameStarted}
+ * message, so starting a game does no JSON work at all: the board is a thin overlay on the
+ * compiled map and the broadcast reuses the cached bytes.
+ */
+public final class MapCache {
+
+    private static final Logger logger = Logger.getLogger(MapCache.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder loads = new LongAdder();
+    private static final LongAdder loadNanos = new LongAdder();
+
+    private MapCache() {
+    }
+
+    /**
+     * A loaded map.
+     *
+     * @param name        map name as offered to the players
+     * @param map         the compiled map shared by all games on it
+     * @param gameStarted the encoded {@code GameStarted} message including the trailing newline;
+     *                    never modify it
+     */
+    public record Entry(String name, CompiledMap map, byte[] gameStarted) {
+
+        /**
+         * Returns a frame over the cached {@code GameStarted} message. The caller owns one
+         * reference and releases it after the broadcast, as for any other frame.
+         *
+         * @return a frame over the cached bytes
+         */
+        public OutboundFrame gameStartedFrame() {
+            return OutboundFrame.preEncoded(gameStarted);
+        }
+    }
+
+    /**
+     * Returns the cache entry of a map, loading it on the first call.
+     *
+     * @param mapName map name, e.g. {@code "Dizzy Highway"}
+     * @return the cached entry
+     * @throws IOException if the map does not exist or is invalid
+     */
+    public static Entry get(String mapName) throws IOException {
+        Entry entry = ENTRIES.get(mapName);
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+        try {
+            return ENTRIES.computeIfAbsent(mapName, name -> {
+                try {
+                    return load(name);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Loads all given maps up front, typically {@code Server.getAvailableMaps()} on a background
+     * thread at startup. A concurrent {@link #get(String)} of a map being loaded waits for it.
+     * A map that fails to load is logged and skipped; it fails again when selected.
+     *
+     * @param mapNames the maps to load
+     */
+    public static void preload(Collection<String> mapNames) {
+        for (String name : mapNames) {
+            try {
+                get(name);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.SEVERE, "[ERROR] Karte " + name + " konnte nicht geladen werden: " + e.getMessage(), e);
+            }
+        }
+        logger.info("[INFO] Karten geladen: " + summary());
+    }
+
+    /**
+     * Reads, validates and compiles one map and encodes its {@code GameStarted} message.
+     */
+    private static Entry load(String name) throws IOException {
+        long start = System.nanoTime();
+        GameStartedBody body = MapLoader.loadMap(resourcePath(name));
+        validate(name, body);
+
+        CompiledMap map;
+        try {
+            map = MapBuilder.compileMap(body);
+        } catch (RuntimeException e) {
+            throw new IOException("Ungültige Karte " + name + ": " + e.getMessage(), e);
+        }
+
+        // Nach dem Kompilieren kodieren: MapBuilder trägt x/y in die Definitionen ein, wie bisher gesendet
+        byte[] json = NetworkManager.getObjectMapper().writeValueAsBytes(new GameStartedMessage(body));
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+
+        long nanos = System.nanoTime() - start;
+        loads.increment();
+        loadNanos.add(nanos);
+        logger.fine(String.format("[DEBUG] Karte %s geladen: %dx%d, GameStarted %d bytes, %.1f ms",
+                name, map.getWidth(), map.getHeight(), line.length, nanos / 1e6));
+        return new Entry(name, map, line);
+    }
+
+    /** Rejects maps without fields or with columns of different height. */
+    private static void validate(String name, GameStartedBody body) throws IOException {
+        List<List<List<MapTileDefinition>>> columns = body == null ? null : body.getGameMap();
+        if (columns == null || columns.isEmpty() || columns.get(0) == null || columns.get(0).isEmpty()) {
+            throw new IOException("Karte " + name + " enthält keine Felder");
+        }
+        int height = columns.get(0).size();
+        for (List<List<MapTileDefinition>> column : columns) {
+            if (column == null || column.size() != height) {
+                throw new IOException("Karte " + name + " ist nicht rechteckig");
+            }
+        }
+    }
+
+    /**
+     * @param mapName map name, e.g. {@code "Dizzy Highway"}
+     * @return classpath resource of the map, e.g. {@code "/map-dizzy-highway.json"}
+     */
+    public static String resourcePath(String mapName) {
+        return "/map-" + mapName.toLowerCase().replace(" ", "-") + ".json";
+    }
+
+    /** @return number of maps loaded from the classpath so far */
+    public static long getLoads() {
+        return loads.sum();
+    }
+
+    /** @return number of lookups answered from the cache */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /** @return total time spent loading and compiling maps, in milliseconds */
+    public static double getLoadMillis() {
+        return loadNanos.sum() / 1e6;
+    }
+
+    /**
+     * @return a one-line summary for the server log
+     */
+    public static String summary() {
+        return String.format("%d Karten in %.1f ms geladen, %d Treffer", getLoads(), getLoadMillis(), getHits());
+    }
+}
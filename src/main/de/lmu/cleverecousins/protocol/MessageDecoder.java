@@ -0,0 +1,151 @@
+package de.lmu.cleverecousins.protocol;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import de.lmu.cleverecousins.protocol.cheats.CheatMoveBody;
+import de.lmu.cleverecousins.protocol.cheats.CheatTurnBody;
+import de.lmu.cleverecousins.protocol.messageBody.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Decodes inbound client messages in a single pass over the JSON text.
+ * <p>
+ * A streaming {@link JsonParser} reads {@code messageType} and binds {@code messageBody}
+ * directly into the body class registered for that type, without building a tree first.
+ * If a client sends the body before the type, the body tokens are buffered and bound once the
+ * type is known. Fields that are not needed are skipped without being materialized.
+ * <p>
+ * The cheat messages carry their payload in a {@code body} field instead of
+ * {@code messageBody}; the decoder handles both.
+ */
+public final class MessageDecoder {
+
+    /** Shared mapper; only used through {@link #reader}, never reconfigured. */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Lenient reader: unknown body fields are ignored, like the former tree-based parsing. */
+    private static final ObjectReader reader = objectMapper.reader()
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /** Body class per inbound message type. Types not listed here are decoded without body. */
+    private static final Map<String, Class<?>> BODY_TYPES = Map.ofEntries(
+            Map.entry("HelloServer", HelloServerBody.class),
+            Map.entry("PlayerValues", PlayerValuesBody.class),
+            Map.entry("SendChat", SendChatBody.class),
+            Map.entry("SetStatus", SetStatusBody.class),
+            Map.entry("ActivePhase", ActivePhaseBody.class),
+            Map.entry("SelectMap", MapSelectedBody.class),
+            Map.entry("MapSelected", MapSelectedBody.class),
+            Map.entry("SetStartingPoint", SetStartingPointBody.class),
+            Map.entry("SelectedCard", SelectedCardBody.class),
+            Map.entry("PlayCard", PlayCardBody.class),
+            Map.entry("SelectionFinished", SelectionFinishedBody.class),
+            Map.entry("PickDamage", PickDamageBody.class),
+            Map.entry("CheatMove", CheatMoveBody.class),
+            Map.entry("CheatTurn", CheatTurnBody.class),
+            Map.entry("CreateRoom", CreateRoomBody.class),
+            Map.entry("JoinRoom", JoinRoomBody.class)
+    );
+
+    /** Name of the JSON field holding the body. */
+    private static final String MESSAGE_BODY = "messageBody";
+
+    /** Body field used by the cheat messages. */
+    private static final String LEGACY_BODY = "body";
+
+    private MessageDecoder() {
+    }
+
+    /**
+     * A decoded message: its type and the typed body (or {@code null} if the type has no
+     * registered body class or the body was missing).
+     *
+     * @param type the {@code messageType}
+     * @param body the bound body object
+     */
+    public record Decoded(String type, Object body) {
+
+        /**
+         * Returns the body as the expected class.
+         *
+         * @param bodyClass expected body class
+         * @param <T>       body type
+         * @return the body
+         * @throws IllegalArgumentException if the message carried no body of that class
+         */
+        public <T> T body(Class<T> bodyClass) {
+            if (!bodyClass.isInstance(body)) {
+                throw new IllegalArgumentException("Fehlender oder falscher Body für " + type);
+            }
+            return bodyClass.cast(body);
+        }
+    }
+
+    /**
+     * Decodes one message.
+     *
+     * @param json the raw JSON line
+     * @return the decoded message; {@code type} is {@code null} if the field is missing
+     * @throws IOException if the JSON is malformed or the body cannot be bound
+     */
+    public static Decoded decode(String json) throws IOException {
+        try (JsonParser p = objectMapper.getFactory().createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Nachricht ist kein JSON-Objekt");
+            }
+
+            String type = null;
+            Object body = null;
+            TokenBuffer bufferedBody = null;
+            String bufferedField = null;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if ("messageType".equals(field)) {
+                    type = p.getValueAsString();
+                } else if (MESSAGE_BODY.equals(field) || LEGACY_BODY.equals(field)) {
+                    if (type != null) {
+                        Class<?> bodyClass = BODY_TYPES.get(type);
+                        if (bodyClass != null && value == JsonToken.START_OBJECT && field.equals(bodyField(type))) {
+                            body = reader.readValue(p, bodyClass);
+                        } else {
+                            p.skipChildren();
+                        }
+                    } else if (value == JsonToken.START_OBJECT) {
+                        // Typ noch unbekannt: Body zwischenspeichern und später binden
+                        bufferedBody = new TokenBuffer(p);
+                        bufferedBody.copyCurrentStructure(p);
+                        bufferedField = field;
+                    } else {
+                        p.skipChildren();
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+
+            if (body == null && bufferedBody != null && type != null) {
+                Class<?> bodyClass = BODY_TYPES.get(type);
+                if (bodyClass != null && bufferedField.equals(bodyField(type))) {
+                    try (JsonParser bp = bufferedBody.asParser()) {
+                        bp.nextToken();
+                        body = reader.readValue(bp, bodyClass);
+                    }
+                }
+            }
+            return new Decoded(type, body);
+        }
+    }
+
+    private static String bodyField(String type) {
+        return type.startsWith("Cheat") ? LEGACY_BODY : MESSAGE_BODY;
+    }
+}
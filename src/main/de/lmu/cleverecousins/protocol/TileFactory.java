@@ -33,12 +33,10 @@ public class TileFactory {
      * @param def      the definition of the map tile, containing attributes such as type,
      *                 orientation, speed, and count.
      * @param position the position of the tile on the board.
-     * @param board    the game board, passed for context if the tile requires board-level access
-     *                 (e.g., for conveyor belts).
      * @return a concrete instance of a subclass of {@link BoardTile} representing the tile.
      * @throws IllegalArgumentException if the tile type is unknown or required data is missing.
      */
-    public static BoardTile createTile(MapTileDefinition def, Position position, Board board) {
+    public static BoardTile createTile(MapTileDefinition def, Position position) {
         String isOnBoard = def.getOnBoard();
 
         logger.fine("[TileFactory] Switching on type: " + def.getType());
@@ -80,14 +78,16 @@ public class TileFactory {
 
                 String boardId = def.getOnBoard();
 
-                yield new ConveyorBeltTile(position, boardId, directions, def.getSpeed(), board);
+                yield new ConveyorBeltTile(position, boardId, directions, def.getSpeed());
             }
 
             case "StartPoint" -> new StartPointTile(position, isOnBoard);
 
             case "Pit" -> new PitTile(position, isOnBoard);
 
-            case "Antenna" -> new AntennaTile(position, isOnBoard);
+            case "Antenna" -> def.getOrientations() == null || def.getOrientations().isEmpty()
+                    ? new AntennaTile(position, isOnBoard)
+                    : new AntennaTile(position, isOnBoard, parseDirections(def).get(0));
 
             case "RestartPoint" -> {
                 logger.fine("TileFactory: creating RestartPoint at " + position);
@@ -0,0 +1,13 @@
+package de.lmu.cleverecousins.protocol.message;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import de.lmu.cleverecousins.protocol.BaseMessage;
+import de.lmu.cleverecousins.protocol.messageBody.CreateRoomBody;
+
+@JsonTypeName("CreateRoom")
+public class CreateRoomMessage extends BaseMessage<CreateRoomBody> {
+    public CreateRoomMessage() {}
+    public CreateRoomMessage(CreateRoomBody body) {
+        super(body);
+    }
+}
@@ -0,0 +1,13 @@
+package de.lmu.cleverecousins.protocol.message;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import de.lmu.cleverecousins.protocol.BaseMessage;
+import de.lmu.cleverecousins.protocol.messageBody.JoinRoomBody;
+
+@JsonTypeName("JoinRoom")
+public class JoinRoomMessage extends BaseMessage<JoinRoomBody> {
+    public JoinRoomMessage() {}
+    public JoinRoomMessage(JoinRoomBody body) {
+        super(body);
+    }
+}
@@ -0,0 +1,13 @@
+package de.lmu.cleverecousins.protocol.message;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import de.lmu.cleverecousins.protocol.BaseMessage;
+import de.lmu.cleverecousins.protocol.messageBody.RoomJoinedBody;
+
+@JsonTypeName("RoomJoined")
+public class RoomJoinedMessage extends BaseMessage<RoomJoinedBody> {
+    public RoomJoinedMessage() {}
+    public RoomJoinedMessage(RoomJoinedBody body) {
+        super(body);
+    }
+}
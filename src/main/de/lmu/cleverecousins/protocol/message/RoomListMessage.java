@@ -0,0 +1,13 @@
+package de.lmu.cleverecousins.protocol.message;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import de.lmu.cleverecousins.protocol.BaseMessage;
+import de.lmu.cleverecousins.protocol.messageBody.RoomListBody;
+
+@JsonTypeName("RoomList")
+public class RoomListMessage extends BaseMessage<RoomListBody> {
+    public RoomListMessage() {}
+    public RoomListMessage(RoomListBody body) {
+        super(body);
+    }
+}
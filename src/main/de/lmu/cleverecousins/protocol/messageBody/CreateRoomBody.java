@@ -0,0 +1,21 @@
+package de.lmu.cleverecousins.protocol.messageBody;
+
+public class CreateRoomBody {
+
+    private String name;
+
+    // Leerer Konstruktor für Jackson
+    public CreateRoomBody() {}
+
+    public CreateRoomBody(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,21 @@
+package de.lmu.cleverecousins.protocol.messageBody;
+
+public class JoinRoomBody {
+
+    private int roomID;
+
+    // Leerer Konstruktor für Jackson
+    public JoinRoomBody() {}
+
+    public JoinRoomBody(int roomID) {
+        this.roomID = roomID;
+    }
+
+    public int getRoomID() {
+        return roomID;
+    }
+
+    public void setRoomID(int roomID) {
+        this.roomID = roomID;
+    }
+}
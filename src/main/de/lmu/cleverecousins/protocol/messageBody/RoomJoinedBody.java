@@ -0,0 +1,31 @@
+package de.lmu.cleverecousins.protocol.messageBody;
+
+public class RoomJoinedBody {
+
+    private int roomID;
+    private String name;
+
+    // Leerer Konstruktor für Jackson
+    public RoomJoinedBody() {}
+
+    public RoomJoinedBody(int roomID, String name) {
+        this.roomID = roomID;
+        this.name = name;
+    }
+
+    public int getRoomID() {
+        return roomID;
+    }
+
+    public void setRoomID(int roomID) {
+        this.roomID = roomID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
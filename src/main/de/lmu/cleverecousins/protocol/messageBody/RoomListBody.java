@@ -0,0 +1,75 @@
+package de.lmu.cleverecousins.protocol.messageBody;
+
+import java.util.List;
+
+public class RoomListBody {
+
+    private List<RoomInfo> rooms;
+
+    // Leerer Konstruktor für Jackson
+    public RoomListBody() {}
+
+    public RoomListBody(List<RoomInfo> rooms) {
+        this.rooms = rooms;
+    }
+
+    public List<RoomInfo> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<RoomInfo> rooms) {
+        this.rooms = rooms;
+    }
+
+    /**
+     * One entry of the room list.
+     */
+    public static class RoomInfo {
+
+        private int roomID;
+        private String name;
+        private int players;
+        private boolean started;
+
+        public RoomInfo() {}
+
+        public RoomInfo(int roomID, String name, int players, boolean started) {
+            this.roomID = roomID;
+            this.name = name;
+            this.players = players;
+            this.started = started;
+        }
+
+        public int getRoomID() {
+            return roomID;
+        }
+
+        public void setRoomID(int roomID) {
+            this.roomID = roomID;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getPlayers() {
+            return players;
+        }
+
+        public void setPlayers(int players) {
+            this.players = players;
+        }
+
+        public boolean isStarted() {
+            return started;
+        }
+
+        public void setStarted(boolean started) {
+            this.started = started;
+        }
+    }
+}
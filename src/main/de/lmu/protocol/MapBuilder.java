@@ -2,9 +2,11 @@ package de.lmu.protocol;
 
 import de.lmu.Board.Board;
 import de.lmu.Board.BoardTile;
+import de.lmu.Board.CompiledMap;
 import de.lmu.cleverecousins.Position;
 import de.lmu.protocol.messageBody.GameStartedBody;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class MapBuilder {
@@ -16,27 +18,27 @@ public class MapBuilder {
         int width = defs.size();         // X方向格数
         int height = defs.get(0).size(); // Y方向格数
 
-        Board board = new Board(width, height);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<BoardTile>[][] tiles = new List[width][height];
 
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
                 List<MapTileDefinition> tileDefs = defs.get(x).get(y);
 
+                tiles[x][y] = new ArrayList<>();
                 if (tileDefs != null) {
                     for (MapTileDefinition def : tileDefs) {
                         if (def != null) {
                             def.setX(x);
                             def.setY(y);
                             Position pos = new Position(x, y);
-                            BoardTile tile = TileFactory.createTile(def, pos, board);
-                            board.addTile(x, y, tile);
+                            tiles[x][y].add(TileFactory.createTile(def, pos));
                         }
                     }
                 }
             }
         }
-        board.findRestartPoint();
-        return board;
+        return new Board(CompiledMap.compile(tiles));
     }
 }
 
@@ -18,7 +18,7 @@ public class TileFactory {
         LogConfigurator.configureRootLogger(Level.FINE);
     }
 
-    public static BoardTile createTile(MapTileDefinition def, Position position, Board board) {
+    public static BoardTile createTile(MapTileDefinition def, Position position) {
         String isOnBoard = def.getOnBoard(); // 从 JSON 拿
 
         //System.out.println("[TileFactory] Switching on type: " + def.getType());
@@ -62,7 +62,7 @@ public class TileFactory {
                 List<Direction> directions = parseDirections(def);
                 String boardId = def.getOnBoard();
 
-                yield new ConveyorBeltTile(position, isOnBoard, directions, def.getSpeed(), board);
+                yield new ConveyorBeltTile(position, isOnBoard, directions, def.getSpeed());
             }
 
 
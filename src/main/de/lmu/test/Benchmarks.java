@@ -0,0 +1,62 @@
+package de.lmu.test;
+
+import de.lmu.util.LogConfigurator;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Shared harness of the plain {@code main} benchmarks in this package: quiet logging, warm-up
+ * and the measurement of time and allocations of one variant. Allocation numbers come from
+ * {@code com.sun.management.ThreadMXBean} and count the calling thread only.
+ */
+final class Benchmarks {
+
+    /** Benchmarks add their results here, so the JIT cannot remove the measured work. */
+    static long sink;
+
+    private static final com.sun.management.ThreadMXBean MX =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Benchmarks() {
+    }
+
+    /** Logs warnings and errors only, unless a level was set with {@link LogConfigurator#LEVEL_PROPERTY}. */
+    static void quietLogging() {
+        if (System.getProperty(LogConfigurator.LEVEL_PROPERTY) == null) {
+            System.setProperty(LogConfigurator.LEVEL_PROPERTY, "WARNING");
+        }
+    }
+
+    /**
+     * Runs all variants in turn, twice, so the JIT has compiled each of them before any is measured.
+     *
+     * @param variants the warm-up runs of the variants
+     */
+    static void warmup(Runnable... variants) {
+        for (int round = 0; round < 2; round++) {
+            for (Runnable variant : variants) {
+                variant.run();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code body} once and prints its time and allocations per operation, e.g.
+     * {@code "mask       0.00 bytes/check     1.52 ns/check"}.
+     *
+     * @param name       name of the variant
+     * @param unit       what one operation is, e.g. {@code "msg"}
+     * @param operations number of operations {@code body} performs
+     * @param body       the measured work
+     */
+    static void measure(String name, String unit, long operations, Runnable body) {
+        long tid = Thread.currentThread().threadId();
+        long bytesBefore = MX.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        body.run();
+        long nanos = System.nanoTime() - start;
+        long bytes = MX.getThreadAllocatedBytes(tid) - bytesBefore;
+        System.out.printf("%-6s %8.2f bytes/%s %8.2f ns/%s%n",
+                name, (double) bytes / operations, unit, (double) nanos / operations, unit);
+    }
+}
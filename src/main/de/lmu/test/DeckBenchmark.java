@@ -0,0 +1,134 @@
+package de.lmu.test;
+
+import de.lmu.cleverecousins.Direction;
+import de.lmu.cleverecousins.Player;
+import de.lmu.cleverecousins.Position;
+import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.cards.ProgrammingDeck;
+import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCard;
+import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compares time and allocations per programming round between the former card piles
+ * ({@code ArrayList}s of card objects, {@code remove(0)}, {@link Collections#shuffle}) and the
+ * id piles of {@link Player} and {@link ProgrammingDeck}.
+ * <p>
+ * Plain {@code main} runner like {@link WallBenchmark}, measured with {@link Benchmarks}. Argument: {@code [rounds]}. A round
+ * shuffles the draw pile, draws nine cards, programs five registers from the hand and discards
+ * hand and registers, as the server does. Before measuring, the runner checks that no card is
+ * lost or duplicated over many rounds.
+ */
+public class DeckBenchmark {
+
+    private static final int WARMUP = 50_000;
+
+    public static void main(String[] args) {
+        Benchmarks.quietLogging();
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+        verify();
+
+        Legacy legacy = new Legacy();
+        Player player = newPlayer();
+        Benchmarks.warmup(() -> legacy.run(WARMUP), () -> run(player, WARMUP));
+
+        Benchmarks.measure("legacy", "round", rounds, () -> legacy.run(rounds));
+        Benchmarks.measure("ids", "round", rounds, () -> run(player, rounds));
+    }
+
+    private static Player newPlayer() {
+        Position start = new Position(0, 0);
+        return new Player(1, new Robot(start, Direction.RIGHT), start, new SplittableRandom(42));
+    }
+
+    /** One programming round per iteration with the engine's piles. */
+    private static void run(Player player, int rounds) {
+        for (int r = 0; r < rounds; r++) {
+            player.prepareNextRoundDeck();
+            player.drawCards();
+            List<ProgrammingCard> hand = player.getHand();
+            for (int i = 0; i < 5; i++) {
+                player.getRobot().setRegister(i, hand.remove(hand.size() - 1));
+            }
+            player.discardHand();
+            player.discardUsedCards();
+        }
+    }
+
+    /** Every card of the starter deck must stay in play exactly once. */
+    private static void verify() {
+        Player player = newPlayer();
+        int[] expected = count(player);
+        for (int r = 0; r < 1_000; r++) {
+            run(player, 1);
+            int[] actual = count(player);
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("Kartenzahl verändert nach Runde " + r + ": "
+                        + Arrays.toString(actual));
+            }
+        }
+    }
+
+    private static int[] count(Player player) {
+        int[] counts = new int[ProgrammingCards.count()];
+        ProgrammingDeck drawPile = player.getDrawPile();
+        List<ProgrammingCard> drawn = drawPile.draw(drawPile.size());
+        for (ProgrammingCard card : drawn) {
+            counts[card.getId()]++;
+        }
+        drawPile.addAll(drawn);
+        ProgrammingCard card;
+        List<ProgrammingCard> discarded = new ArrayList<>();
+        while ((card = player.getDiscardDeck().draw()) != null) {
+            counts[card.getId()]++;
+            discarded.add(0, card);
+        }
+        player.getDiscardDeck().addAll(discarded);
+        return counts;
+    }
+
+    /** The former piles: card objects in array lists, drawn from the front. */
+    private static final class Legacy {
+        private final List<ProgrammingCard> drawPile = new ArrayList<>();
+        private final List<ProgrammingCard> discard = new ArrayList<>();
+        private final List<ProgrammingCard> hand = new ArrayList<>();
+        private final List<ProgrammingCard> registers = new ArrayList<>();
+
+        Legacy() {
+            drawPile.addAll(newPlayer().getDrawPile().draw(20));
+        }
+
+        void run(int rounds) {
+            for (int r = 0; r < rounds; r++) {
+                Collections.shuffle(drawPile);
+                hand.clear();
+                List<ProgrammingCard> drawn = new ArrayList<>();
+                for (int i = 0; i < 9 && !drawPile.isEmpty(); i++) {
+                    drawn.add(drawPile.remove(0));
+                }
+                hand.addAll(drawn);
+                if (hand.size() < 9) {
+                    drawPile.addAll(new ArrayList<>(discard));
+                    discard.clear();
+                    Collections.shuffle(drawPile);
+                    for (int i = hand.size(); i < 9 && !drawPile.isEmpty(); i++) {
+                        hand.add(drawPile.remove(0));
+                    }
+                }
+                for (int i = 0; i < 5; i++) {
+                    registers.add(hand.remove(hand.size() - 1));
+                }
+                discard.addAll(new ArrayList<>(hand));
+                hand.clear();
+                discard.addAll(new ArrayList<>(registers));
+                registers.clear();
+            }
+        }
+    }
+}
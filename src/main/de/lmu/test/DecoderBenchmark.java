@@ -0,0 +1,76 @@
+package de.lmu.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.lmu.cleverecousins.NetworkManager;
+import de.lmu.cleverecousins.protocol.MessageDecoder;
+import de.lmu.cleverecousins.protocol.cheats.CheatMoveMessage;
+
+import java.util.List;
+
+/**
+ * Compares allocations and time per inbound message between the former decoding path
+ * ({@code getMessageType} via {@code readTree}, then a second {@code readTree} in the handler)
+ * and the single-pass {@link MessageDecoder}.
+ * <p>
+ * Plain {@code main} runner like {@link MapTestRunner}; run it with the same classpath as the
+ * server; it measures with {@link Benchmarks}.
+ */
+public class DecoderBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final List<String> MESSAGES = List.of(
+            "{\"messageType\":\"PlayCard\",\"messageBody\":{\"card\":\"MoveII\"}}",
+            "{\"messageType\":\"SelectedCard\",\"messageBody\":{\"card\":\"TurnLeft\",\"register\":3}}",
+            "{\"messageType\":\"SetStartingPoint\",\"messageBody\":{\"x\":1,\"y\":4}}",
+            "{\"messageType\":\"PickDamage\",\"messageBody\":{\"count\":2,\"availablePiles\":[\"Spam\",\"Virus\"]}}",
+            "{\"messageType\":\"SendChat\",\"messageBody\":{\"message\":\"Hallo zusammen\",\"to\":-1}}",
+            "{\"messageType\":\"Alive\",\"messageBody\":{}}",
+            "{\"messageType\":\"CheatMove\",\"messageBody\":\"CheatMove\",\"body\":{\"steps\":2}}"
+    );
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        Benchmarks.warmup(
+                () -> run("legacy", DecoderBenchmark::legacy, WARMUP),
+                () -> run("stream", DecoderBenchmark::streaming, WARMUP));
+
+        Benchmarks.measure("legacy", "msg", ITERATIONS, () -> run("legacy", DecoderBenchmark::legacy, ITERATIONS));
+        Benchmarks.measure("stream", "msg", ITERATIONS, () -> run("stream", DecoderBenchmark::streaming, ITERATIONS));
+        System.out.println("(sink " + Benchmarks.sink + ")");
+    }
+
+    private interface Decoder {
+        long decode(String json) throws Exception;
+    }
+
+    private static void run(String name, Decoder decoder, int iterations) {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                Benchmarks.sink += decoder.decode(MESSAGES.get(i % MESSAGES.size()));
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(name + " failed", e);
+        }
+    }
+
+    /** The former path: type lookup and handler each parse the full tree. */
+    private static long legacy(String json) throws Exception {
+        String type = NetworkManager.getMessageType(json);
+        if (type.startsWith("Cheat")) {
+            CheatMoveMessage msg = objectMapper.treeToValue(objectMapper.readTree(json), CheatMoveMessage.class);
+            return msg.getBody().getSteps();
+        }
+        JsonNode body = objectMapper.readTree(json).get("messageBody");
+        return type.length() + body.size();
+    }
+
+    /** The single-pass path used by {@code ClientManager.messageDispatcher}. */
+    private static long streaming(String json) throws Exception {
+        MessageDecoder.Decoded msg = MessageDecoder.decode(json);
+        return msg.type().length() + (msg.body() != null ? 1 : 0);
+    }
+}
@@ -0,0 +1,114 @@
+package de.lmu.test;
+
+import de.lmu.Board.CompiledMap;
+import de.lmu.cleverecousins.HeadlessGame;
+import de.lmu.cleverecousins.Player;
+import de.lmu.cleverecousins.Position;
+import de.lmu.cleverecousins.cards.programmingCards.ProgrammingCard;
+import de.lmu.cleverecousins.event.EventSink;
+import de.lmu.cleverecousins.event.GameEvent;
+import de.lmu.cleverecousins.event.RecordingEventSink;
+import de.lmu.cleverecousins.protocol.MapCache;
+import de.lmu.util.LogConfigurator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Plays complete bot-vs-bot games with {@link HeadlessGame}: the production rules, no room,
+ * no sockets, no JSON and no clock.
+ * <p>
+ * The bots play like those of {@link SimulationRunner}: each takes the first free start point
+ * and programs the first five cards of its hand. The first game is recorded with a
+ * {@link RecordingEventSink} and its events are listed by type; all games are then played
+ * again with {@link EventSink#NONE} to measure the throughput.
+ * <p>
+ * Plain {@code main} runner like {@link SimulationRunner}. Arguments:
+ * {@code [games] [players] [maxRounds] [map] [seed]}.
+ */
+public class HeadlessRunner {
+
+    private static final int WARMUP = 200;
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty(LogConfigurator.LEVEL_PROPERTY) == null) {
+            System.setProperty(LogConfigurator.LEVEL_PROPERTY, "WARNING");
+        }
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        String mapName = args.length > 3 ? args[3] : "Dizzy Highway";
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        CompiledMap map = MapCache.get(mapName).map();
+
+        RecordingEventSink recording = new RecordingEventSink();
+        HeadlessGame first = playGame(map, players, maxRounds, recording, new SplittableRandom(seed));
+        Map<String, Integer> byType = new TreeMap<>();
+        for (GameEvent event : recording.getEvents()) {
+            byType.merge(event.getClass().getSimpleName(), 1, Integer::sum);
+        }
+        System.out.printf("Erstes Spiel: Gewinner %d nach %d Runden, %d Ereignisse %s%n",
+                first.getWinner(), first.getRounds(), recording.getEvents().size(), byType);
+
+        SplittableRandom warmup = new SplittableRandom(seed);
+        for (int g = 0; g < WARMUP; g++) {
+            playGame(map, players, maxRounds, EventSink.NONE, warmup.split());
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long finished = 0, rounds = 0;
+        long start = System.nanoTime();
+        for (int g = 0; g < games; g++) {
+            HeadlessGame game = playGame(map, players, maxRounds, EventSink.NONE, random.split());
+            if (game.getWinner() >= 0) finished++;
+            rounds += game.getRounds();
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d Spiele mit %d Bots auf %s in %.2f s (%.0f Spiele/s)%n",
+                games, players, mapName, wallSeconds, games / wallSeconds);
+        System.out.printf("Gewonnen: %d, Runden im Schnitt: %.1f%n", finished, (double) rounds / games);
+    }
+
+    /**
+     * Plays one game until somebody wins or {@code maxRounds} programming phases have started.
+     */
+    static HeadlessGame playGame(CompiledMap map, int players, int maxRounds, EventSink events, SplittableRandom random) {
+        HeadlessGame game = new HeadlessGame(map, players, events, random);
+        game.start();
+
+        List<Position> startPoints = game.getStartPoints();
+        Set<Position> taken = new HashSet<>();
+        while (game.getGame().getCurrentPhase() == 0) {
+            int clientID = game.getGame().getCurrentPlayerClientID();
+            Position free = null;
+            for (Position p : startPoints) {
+                if (taken.add(p)) {
+                    free = p;
+                    break;
+                }
+            }
+            if (free == null) {
+                throw new IllegalStateException("Zu wenige Startpunkte auf " + map + " für " + players + " Spieler");
+            }
+            game.chooseStartingPoint(clientID, free.getX(), free.getY());
+        }
+
+        while (!game.isOver() && game.getRounds() <= maxRounds) {
+            for (int clientID : game.getPlayerIDs()) {
+                Player player = game.getGame().getPlayer(clientID);
+                List<ProgrammingCard> hand = player.getHand();
+                // die gewählte Karte verlässt die Hand, die nächste rückt nach vorne
+                for (int register = 0; register < 5 && !hand.isEmpty(); register++) {
+                    game.selectCard(clientID, register, hand.get(0).getType());
+                }
+            }
+            game.endProgramming();
+        }
+        return game;
+    }
+}
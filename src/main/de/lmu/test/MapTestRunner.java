@@ -34,30 +34,8 @@ public class MapTestRunner {
                 break;
             }
 
-            boolean blocked = false;
-
-            List<BoardTile> tiles = board.getTilesAt(oldPos);
-            for (BoardTile tile : tiles) {
-                if (tile instanceof WallTile wall && wall.getBlockedSides().contains(robot.getDirection())) {
-                    blocked = true;
-                    logger.info("Blocked by wall on current tile.");
-                    break;
-                }
-            }
-
-            if (!blocked) {
-                Direction reverseDir = robot.getDirection().uturn();
-                List<BoardTile> targetTiles = board.getTilesAt(nextPos);
-                for (BoardTile tile : targetTiles) {
-                    if (tile instanceof WallTile wall && wall.getBlockedSides().contains(reverseDir)) {
-                        blocked = true;
-                        logger.info("Blocked by wall on target tile (reverse check).");
-                        break;
-                    }
-                }
-            }
-
-            if (blocked) {
+            // Wände beider Felder stecken in der Wandmaske des Boards
+            if (board.isBlocked(oldPos, robot.getDirection())) {
                 logger.info("Hit wall! Cannot move.");
                 break;
             }
@@ -187,30 +165,8 @@ public class MapTestRunner {
                 break;
             }
 
-            boolean blocked = false;
-
-            List<BoardTile> tiles = board.getTilesAt(oldPos);
-            for (BoardTile tile : tiles) {
-                if (tile instanceof WallTile wall && wall.getBlockedSides().contains(robot.getDirection())) {
-                    blocked = true;
-                    logger.info("Blocked by wall on current tile.");
-                    break;
-                }
-            }
-
-            if (!blocked) {
-                Direction reverseDir = robot.getDirection().uturn();
-                List<BoardTile> targetTiles = board.getTilesAt(nextPos);
-                for (BoardTile tile : targetTiles) {
-                    if (tile instanceof WallTile wall && wall.getBlockedSides().contains(reverseDir)) {
-                        blocked = true;
-                        logger.info("Blocked by wall on target tile (reverse check).");
-                        break;
-                    }
-                }
-            }
-
-            if (blocked) {
+            // Wände beider Felder stecken in der Wandmaske des Boards
+            if (board.isBlocked(oldPos, robot.getDirection())) {
                 logger.info("Hit wall! Cannot move.");
                 break;
             }
@@ -0,0 +1,184 @@
+package de.lmu.test;
+
+import de.lmu.Board.Board;
+import de.lmu.Board.CompiledMap;
+import de.lmu.cleverecousins.Direction;
+import de.lmu.cleverecousins.Position;
+import de.lmu.cleverecousins.Robot;
+import de.lmu.cleverecousins.protocol.MapCache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares time and allocations per robot step between the former movement primitives
+ * ({@link Position#moved(Direction)}, a {@code HashMap<Position, Robot>} occupancy) and the
+ * packed cells of {@link CompiledMap} with the occupancy array of {@link Board}.
+ * <p>
+ * Plain {@code main} runner like {@link WallBenchmark}, measured with {@link Benchmarks}. Arguments: {@code [map] [robots]}.
+ * The robots start on the start points and walk straight ahead; a wall, the board edge or
+ * another robot makes them turn right. After each step the robot checks the board laser
+ * beams through its field for a robot upstream, as the end of a register does. Both variants
+ * must end up with every robot on the same field.
+ */
+public class MovementBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.quietLogging();
+        String mapName = args.length > 0 ? args[0] : "Dizzy Highway";
+        int robotCount = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        CompiledMap map = MapCache.get(mapName).map();
+
+        int[] starts = new int[robotCount];
+        int found = 0;
+        for (int cell = 0; cell < map.getCellCount() && found < robotCount; cell++) {
+            if (map.is(cell, CompiledMap.START_POINT)) {
+                starts[found++] = cell;
+            }
+        }
+        if (found < robotCount) {
+            throw new IllegalArgumentException(mapName + " hat nur " + found + " Startpunkte");
+        }
+
+        verify(map, starts);
+
+        Benchmarks.warmup(() -> new Legacy(map, starts).run(WARMUP), () -> new Cells(map, starts).run(WARMUP));
+
+        long steps = (long) ITERATIONS * robotCount;
+        Legacy legacy = new Legacy(map, starts);
+        Benchmarks.measure("legacy", "step", steps, () -> legacy.run(ITERATIONS));
+        Cells cells = new Cells(map, starts);
+        Benchmarks.measure("cells", "step", steps, () -> cells.run(ITERATIONS));
+        System.out.println(mapName + ": " + robotCount + " Roboter (sink " + Benchmarks.sink + ")");
+    }
+
+    /** Both variants must move every robot along the same path. */
+    private static void verify(CompiledMap map, int[] starts) {
+        Legacy legacy = new Legacy(map, starts);
+        Cells cells = new Cells(map, starts);
+        for (int i = 0; i < 1_000; i++) {
+            legacy.run(1);
+            cells.run(1);
+            for (int r = 0; r < starts.length; r++) {
+                if (!legacy.positions[r].equals(cells.robots[r].getPosition())) {
+                    throw new IllegalStateException("Abweichung bei Roboter " + r + " nach " + i + " Runden");
+                }
+            }
+        }
+    }
+
+    /** The former primitives: a new position per step and a hash map keyed by position. */
+    private static final class Legacy {
+        private final CompiledMap map;
+        private final Position[] positions;
+        private final Direction[] directions;
+        private final Map<Position, Integer> occupancy = new HashMap<>();
+
+        Legacy(CompiledMap map, int[] starts) {
+            this.map = map;
+            this.positions = new Position[starts.length];
+            this.directions = new Direction[starts.length];
+            for (int r = 0; r < starts.length; r++) {
+                positions[r] = new Position(starts[r] % map.getWidth(), starts[r] / map.getWidth());
+                directions[r] = Direction.RIGHT;
+                occupancy.put(positions[r], r);
+            }
+        }
+
+        void run(int iterations) {
+            for (int i = 0; i < iterations; i++) {
+                for (int r = 0; r < positions.length; r++) {
+                    Position pos = positions[r];
+                    Direction dir = directions[r];
+                    Position next = pos.moved(dir);
+                    if (map.isBlocked(pos.getX(), pos.getY(), dir) || !map.isInBounds(next.getX(), next.getY())
+                            || occupancy.get(next) != null) {
+                        directions[r] = DIRECTIONS[(dir.ordinal() + 1) % 4];
+                    } else {
+                        occupancy.remove(pos);
+                        occupancy.put(next, r);
+                        positions[r] = next;
+                    }
+                    for (Direction beam : DIRECTIONS) {
+                        if (map.hasLaser(positions[r].getX(), positions[r].getY(), beam) && isShadowed(positions[r], beam)) {
+                            Benchmarks.sink++;
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean isShadowed(Position pos, Direction beam) {
+            Direction back = beam.opposite();
+            Position p = pos;
+            while (!map.isBlocked(p.getX(), p.getY(), back)) {
+                p = p.moved(back);
+                if (!map.hasLaser(p.getX(), p.getY(), beam)) {
+                    return false;
+                }
+                if (occupancy.get(p) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** The engine's primitives: packed cells, neighbour table and the board's occupancy array. */
+    private static final class Cells {
+        private final CompiledMap map;
+        private final Board board;
+        private final Robot[] robots;
+
+        Cells(CompiledMap map, int[] starts) {
+            this.map = map;
+            this.board = new Board(map);
+            this.robots = new Robot[starts.length];
+            for (int r = 0; r < starts.length; r++) {
+                robots[r] = new Robot(map.position(starts[r]), Direction.RIGHT);
+                board.placeRobot(robots[r], map.position(starts[r]));
+            }
+        }
+
+        void run(int iterations) {
+            for (int i = 0; i < iterations; i++) {
+                for (Robot robot : robots) {
+                    int cell = board.cellOf(robot);
+                    Direction dir = robot.getDirection();
+                    int next = map.neighbour(cell, dir);
+                    if (map.isBlocked(cell, dir) || next < 0 || board.getRobotAt(next) != null) {
+                        robot.rotateClockwise();
+                    } else {
+                        board.moveRobot(robot, next);
+                        cell = next;
+                    }
+                    for (Direction beam : DIRECTIONS) {
+                        if (map.hasLaser(cell, beam) && isShadowed(cell, beam)) {
+                            Benchmarks.sink++;
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean isShadowed(int cell, Direction beam) {
+            Direction back = beam.opposite();
+            int c = cell;
+            while (!map.isBlocked(c, back)) {
+                c = map.neighbour(c, back);
+                if (c < 0 || !map.hasLaser(c, beam)) {
+                    return false;
+                }
+                if (board.getRobotAt(c) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package de.lmu.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.lmu.cleverecousins.ActivationMode;
+import de.lmu.cleverecousins.ClientManager;
+import de.lmu.cleverecousins.NetworkManager;
+import de.lmu.cleverecousins.Position;
+import de.lmu.cleverecousins.RoomRegistry;
+import de.lmu.cleverecousins.SessionRegistry;
+import de.lmu.cleverecousins.network.ClientTransport;
+import de.lmu.cleverecousins.network.OutboundFrame;
+import de.lmu.util.LogConfigurator;
+import de.lmu.util.VirtualClock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plays complete bot-vs-bot games on a {@link VirtualClock}, without sockets and without waiting.
+ * <p>
+ * Every bot is a real {@link ClientManager} whose transport hands the outgoing lines to a
+ * scripted player; the answers go back through {@link ClientManager#onLine(String)}. Room, game
+ * loop, phase timer and {@code GamePhaseController} are the production classes, only the clock
+ * and the executor of the room loop are virtual, so the 30 second programming timer and the
+ * pauses between played cards cost no wall time.
+ * <p>
+ * Plain {@code main} runner like {@link MapTestRunner}; run it with the same classpath as the
+ * server. Arguments: {@code [games] [players] [maxRounds] [map]}; the system property
+ * {@value ActivationMode#PROPERTY} selects the activation mode as for the server.
+ */
+public class SimulationRunner {
+
+    /** Think time of a bot before it answers, in simulated milliseconds. */
+    private static final long THINK_MILLIS = 200;
+
+    /** Safety net against a game that stalls; no real game needs that many events. */
+    private static final long MAX_EVENTS = 5_000_000;
+
+    public static void main(String[] args) {
+        if (System.getProperty(LogConfigurator.LEVEL_PROPERTY) == null) {
+            System.setProperty(LogConfigurator.LEVEL_PROPERTY, "WARNING");
+        }
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        String map = args.length > 3 ? args[3] : "Dizzy Highway";
+
+        long finished = 0, aborted = 0, rounds = 0, events = 0, simulatedMillis = 0;
+        long start = System.nanoTime();
+        for (int g = 0; g < games; g++) {
+            Result result = playGame(players, maxRounds, map);
+            if (result.winner >= 0) finished++;
+            if (result.error != null) {
+                aborted++;
+                System.out.println("Spiel " + (g + 1) + " abgebrochen: " + result.error);
+            }
+            rounds += result.rounds;
+            events += result.events;
+            simulatedMillis += result.simulatedMillis;
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d Spiele mit %d Bots auf %s, Aktivierung %s, in %.2f s (%.0f Spiele/min)%n",
+                games, players, map, ActivationMode.fromArgs(null), wallSeconds, games / wallSeconds * 60);
+        System.out.printf("Gewonnen: %d, abgebrochen: %d, Runden im Schnitt: %.1f, Ereignisse: %d%n",
+                finished, aborted, (double) rounds / games, events);
+        System.out.printf("Simulierte Spielzeit: %.1f min (Faktor %.0f), %.1f s pro Runde%n",
+                simulatedMillis / 60000.0, simulatedMillis / 1000.0 / wallSeconds,
+                rounds == 0 ? 0 : simulatedMillis / 1000.0 / rounds);
+    }
+
+    /**
+     * Plays one game until somebody wins or {@code maxRounds} programming phases have started.
+     * An error escaping the game code aborts the game and is reported in the result.
+     */
+    static Result playGame(int players, int maxRounds, String map) {
+        VirtualClock clock = new VirtualClock();
+        RoomRegistry rooms = new RoomRegistry(new SessionRegistry(), clock, clock);
+        rooms.setActivationMode(ActivationMode.fromArgs(null));
+        Set<ClientManager> clients = ConcurrentHashMap.newKeySet();
+        Table table = new Table(map);
+
+        List<Bot> bots = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            Bot bot = new Bot(clock, table, "Bot" + (i + 1), i + 1);
+            bot.client = new ClientManager(bot, clients, rooms);
+            clients.add(bot.client);
+            bots.add(bot);
+            bot.receive("{\"messageType\":\"HelloServer\",\"messageBody\":{\"group\":\"Sim\",\"isAI\":true,\"protocol\":\"Version 1.0\"}}");
+        }
+
+        Throwable error = null;
+        try {
+            while (table.winner < 0 && table.rounds <= maxRounds && !clock.isIdle()
+                    && clock.executed() < MAX_EVENTS) {
+                clock.run(1024);
+            }
+        } catch (RuntimeException | StackOverflowError e) {
+            error = e;
+        }
+
+        for (Bot bot : bots) {
+            bot.client.onClose();
+        }
+        clock.run(MAX_EVENTS);
+        return new Result(table.winner, table.rounds, clock.executed(), clock.millis(), error);
+    }
+
+    record Result(int winner, int rounds, long events, long simulatedMillis, Throwable error) {
+    }
+
+    /** State shared by the bots of one game. */
+    private static final class Table {
+        final String map;
+        final List<Position> startPoints = new ArrayList<>();
+        final Set<Position> takenStartPoints = new HashSet<>();
+        int rounds;
+        int winner = -1;
+
+        Table(String map) {
+            this.map = map;
+        }
+    }
+
+    /**
+     * Scripted player: takes the first free start point and programs the first five cards
+     * of its hand. It receives the server's messages as its transport.
+     */
+    private static final class Bot implements ClientTransport {
+
+        private final VirtualClock clock;
+        private final Table table;
+        private final String name;
+        private final int figure;
+        private ClientManager client;
+        private int clientID;
+        private int phase;
+        private boolean mapChosen;
+        private boolean open = true;
+
+        Bot(VirtualClock clock, Table table, String name, int figure) {
+            this.clock = clock;
+            this.table = table;
+            this.name = name;
+            this.figure = figure;
+        }
+
+        @Override
+        public void send(OutboundFrame frame, boolean coalescable) throws IOException {
+            if (!open) {
+                throw new IOException("Bot " + name + " ist getrennt");
+            }
+            byte[] bytes = new byte[frame.length()];
+            frame.copyTo(bytes, 0);
+            // ein Frame kann mehrere Zeilen enthalten (ein Register in ActivationMode.SERVER)
+            for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) {
+                    onMessage(NetworkManager.getObjectMapper().readTree(line));
+                }
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        /** Delivers a line to the server as if it had been read from the socket. */
+        void receive(String json) {
+            client.onLine(json);
+        }
+
+        /** Answers after the think time. */
+        private void answer(String json) {
+            clock.schedule(() -> {
+                if (open) receive(json);
+            }, THINK_MILLIS);
+        }
+
+        private void onMessage(JsonNode message) {
+            String type = message.path("messageType").asText().replace("Message", "");
+            JsonNode body = message.path("messageBody");
+            switch (type) {
+                case "Welcome" -> {
+                    clientID = body.path("clientID").asInt();
+                    answer("{\"messageType\":\"PlayerValues\",\"messageBody\":{\"name\":\"" + name + "\",\"figure\":" + figure + "}}");
+                    answer("{\"messageType\":\"SetStatus\",\"messageBody\":{\"ready\":true}}");
+                }
+                case "SelectMap" -> {
+                    // kommt zweimal: an den ersten Bereiten und wenn alle bereit sind
+                    if (body.path("allowedClientId").asInt() == clientID && !mapChosen) {
+                        mapChosen = true;
+                        answer("{\"messageType\":\"MapSelected\",\"messageBody\":{\"mapName\":\"" + table.map + "\"}}");
+                    }
+                }
+                case "GameStarted" -> {
+                    if (table.startPoints.isEmpty()) {
+                        collectStartPoints(body.path("gameMap"));
+                    }
+                }
+                case "ActivePhase" -> {
+                    phase = body.path("phase").asInt();
+                    if (phase == 2 && isFirstBot()) table.rounds++;
+                }
+                case "StartingPointTaken" ->
+                        table.takenStartPoints.add(new Position(body.path("x").asInt(), body.path("y").asInt()));
+                case "CurrentPlayer" -> {
+                    if (phase == 0 && body.path("clientID").asInt() == clientID) {
+                        chooseStartPoint();
+                    }
+                }
+                case "YourCards" -> {
+                    JsonNode hand = body.path("cardsInHand");
+                    for (int register = 0; register < 5 && register < hand.size(); register++) {
+                        answer("{\"messageType\":\"SelectedCard\",\"messageBody\":{\"card\":\"" + hand.get(register).asText()
+                                + "\",\"register\":" + register + "}}");
+                    }
+                }
+                case "CurrentCards" -> {
+                    for (JsonNode active : body.path("activeCards")) {
+                        if (active.path("clientID").asInt() == clientID) {
+                            answer("{\"messageType\":\"PlayCard\",\"messageBody\":{\"card\":\"" + active.path("card").asText() + "\"}}");
+                        }
+                    }
+                }
+                case "GameFinished" -> table.winner = body.path("clientID").asInt();
+                default -> {
+                }
+            }
+        }
+
+        private boolean isFirstBot() {
+            return figure == 1;
+        }
+
+        /** Decides at answer time: the map arrives only after the first CurrentPlayer. */
+        private void chooseStartPoint() {
+            clock.schedule(() -> {
+                for (Position p : table.startPoints) {
+                    if (open && !table.takenStartPoints.contains(p)) {
+                        receive("{\"messageType\":\"SetStartingPoint\",\"messageBody\":{\"x\":" + p.getX() + ",\"y\":" + p.getY() + "}}");
+                        return;
+                    }
+                }
+            }, THINK_MILLIS);
+        }
+
+        private void collectStartPoints(JsonNode map) {
+            for (int x = 0; x < map.size(); x++) {
+                JsonNode column = map.get(x);
+                for (int y = 0; y < column.size(); y++) {
+                    for (JsonNode tile : column.get(y)) {
+                        if ("StartPoint".equals(tile.path("type").asText())) {
+                            table.startPoints.add(new Position(x, y));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package de.lmu.test;
+
+import de.lmu.Board.Board;
+import de.lmu.Board.BoardTile;
+import de.lmu.Board.WallTile;
+import de.lmu.cleverecousins.Direction;
+import de.lmu.cleverecousins.Position;
+import de.lmu.cleverecousins.protocol.MapBuilder;
+import de.lmu.cleverecousins.protocol.MapCache;
+import de.lmu.cleverecousins.protocol.MapLoader;
+
+/**
+ * Compares time and allocations per blocked-by-wall check between the former scan (tile lists
+ * of both fields, {@code instanceof WallTile}, {@code List.contains}) and the precompiled wall
+ * mask of {@link Board#isBlocked(int, int, Direction)}.
+ * <p>
+ * Plain {@code main} runner like {@link DecoderBenchmark}; run it with the same classpath as the
+ * server, it measures with {@link Benchmarks}. Argument: {@code [map]}. Every field of the map is checked in all four directions,
+ * and both variants must agree on every answer.
+ */
+public class WallBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.quietLogging();
+        String map = args.length > 0 ? args[0] : "Dizzy Highway";
+        Board board = MapBuilder.buildBoard(MapLoader.loadMap(MapCache.resourcePath(map)));
+
+        int checks = board.getWidth() * board.getHeight() * DIRECTIONS.length;
+        verify(board);
+
+        Benchmarks.warmup(() -> run(board, true, WARMUP), () -> run(board, false, WARMUP));
+
+        long operations = (long) ITERATIONS * checks;
+        Benchmarks.measure("scan", "check", operations, () -> run(board, true, ITERATIONS));
+        Benchmarks.measure("mask", "check", operations, () -> run(board, false, ITERATIONS));
+        System.out.println(map + ": " + checks + " Prüfungen pro Durchlauf (sink " + Benchmarks.sink + ")");
+    }
+
+    /** Both variants must give the same answer for every field and direction. */
+    private static void verify(Board board) {
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (Direction dir : DIRECTIONS) {
+                    if (scan(board, new Position(x, y), dir) != board.isBlocked(x, y, dir)) {
+                        throw new IllegalStateException("Abweichung bei (" + x + "," + y + ") " + dir);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void run(Board board, boolean legacy, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                for (int y = 0; y < board.getHeight(); y++) {
+                    for (Direction dir : DIRECTIONS) {
+                        boolean blocked = legacy ? scan(board, new Position(x, y), dir) : board.isBlocked(x, y, dir);
+                        if (blocked) Benchmarks.sink++;
+                    }
+                }
+            }
+        }
+    }
+
+    /** The former {@code GamePhaseController.isBlockedByWall}. */
+    private static boolean scan(Board board, Position pos, Direction dir) {
+        for (BoardTile tile : board.getTilesAt(pos)) {
+            if (tile instanceof WallTile wall && wall.getBlockedSides().contains(dir)) {
+                return true;
+            }
+        }
+        for (BoardTile tile : board.getTilesAt(pos.moved(dir))) {
+            if (tile instanceof WallTile wall && wall.getBlockedSides().contains(dir.opposite())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
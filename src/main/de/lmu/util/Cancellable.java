@@ -0,0 +1,14 @@
+package de.lmu.util;
+
+/**
+ * Handle of a delayed task that can still be cancelled.
+ */
+public interface Cancellable {
+
+    /**
+     * Cancels the task. A task that is already running is not interrupted.
+     *
+     * @return {@code true} if this call cancelled it
+     */
+    boolean cancel();
+}
@@ -0,0 +1,56 @@
+package de.lmu.util;
+
+/**
+ * Source of time and delays for the game.
+ * <p>
+ * All game timers (phase countdown, pauses between played cards, bot think times) schedule
+ * through a clock instead of reading the system time or sleeping themselves. The server uses
+ * {@link #system()}; a {@link VirtualClock} lets whole games run at CPU speed with the same
+ * game code.
+ */
+public interface Clock {
+
+    /**
+     * Returns the current time of this clock.
+     *
+     * @return milliseconds since an arbitrary origin
+     */
+    long millis();
+
+    /**
+     * Runs a task once after the given delay.
+     *
+     * @param task        the task; must be short, game code hands its work to a loop
+     * @param delayMillis delay in milliseconds
+     * @return a handle to cancel the task
+     */
+    Cancellable schedule(Runnable task, long delayMillis);
+
+    /**
+     * Returns the wall clock backed by the shared {@link HashedWheelTimer}.
+     *
+     * @return the system clock
+     */
+    static Clock system() {
+        return SystemClock.INSTANCE;
+    }
+
+    /** Wall-clock time, delays on the shared wheel. */
+    final class SystemClock implements Clock {
+
+        private static final SystemClock INSTANCE = new SystemClock();
+
+        private SystemClock() {
+        }
+
+        @Override
+        public long millis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public Cancellable schedule(Runnable task, long delayMillis) {
+            return HashedWheelTimer.shared().schedule(task, delayMillis);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package de.lmu.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel for the many short delays of the game (phase countdowns, pauses after a
+ * played card, heartbeats, AI think times).
+ * <p>
+ * One daemon thread advances a ring of buckets every tick; a timeout is hashed into the bucket
+ * of its deadline, so {@link #schedule(Runnable, long)} and {@link Timeout#cancel()} are O(1)
+ * regardless of how many timeouts are pending, and the number of threads no longer grows with
+ * the number of delays. Precision is one tick ({@value #DEFAULT_TICK_MILLIS} ms by default).
+ * <p>
+ * Tasks run on the wheel thread and must be short: game code hands its work to a
+ * {@code GameLoop} or another executor instead of running it here.
+ */
+public class HashedWheelTimer {
+
+    private static final Logger logger = Logger.getLogger(HashedWheelTimer.class.getName());
+
+    static {
+        LogConfigurator.configureRootLogger(Level.FINE);
+    }
+
+    /** Default tick duration in milliseconds. */
+    public static final int DEFAULT_TICK_MILLIS = 10;
+
+    /** Default number of buckets; one revolution covers about five seconds. */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /** The timer shared by the whole process. */
+    private static final HashedWheelTimer SHARED =
+            new HashedWheelTimer("wheel-timer", DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+
+    /** Duration of one tick in nanoseconds. */
+    private final long tickNanos;
+
+    /** The ring of buckets; its length is a power of two. */
+    private final Bucket[] wheel;
+
+    /** {@code wheel.length - 1}, for masking the tick into a bucket index. */
+    private final int mask;
+
+    /** Timeouts scheduled since the last tick, moved into their buckets by the wheel thread. */
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    /** Timeouts cancelled since the last tick, unlinked from their buckets by the wheel thread. */
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    /** Name of the wheel thread. */
+    private final String threadName;
+
+    /** Set once the wheel thread was started. */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /** {@link System#nanoTime()} at tick 0. */
+    private volatile long startNanos;
+
+    /**
+     * Creates a timer; its thread starts with the first scheduled timeout.
+     *
+     * @param threadName name of the wheel thread
+     * @param tickMillis duration of one tick in milliseconds
+     * @param wheelSize  number of buckets, rounded up to a power of two
+     */
+    public HashedWheelTimer(String threadName, long tickMillis, int wheelSize) {
+        this.threadName = threadName;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the timer shared by all games of this process.
+     *
+     * @return the shared timer
+     */
+    public static HashedWheelTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs a task once after the given delay.
+     *
+     * @param task        the task, run on the wheel thread
+     * @param delayMillis delay in milliseconds
+     * @return a handle to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        return add(new Timeout(task, 0), delayMillis);
+    }
+
+    /**
+     * Runs a task repeatedly, first after {@code initialDelayMillis}, then every
+     * {@code periodMillis}, until the returned handle is cancelled.
+     *
+     * @param task               the task, run on the wheel thread
+     * @param initialDelayMillis delay before the first run in milliseconds
+     * @param periodMillis       period in milliseconds
+     * @return a handle to stop the repetition
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelayMillis, long periodMillis) {
+        return add(new Timeout(task, TimeUnit.MILLISECONDS.toNanos(Math.max(1, periodMillis))), initialDelayMillis);
+    }
+
+    private Timeout add(Timeout timeout, long delayMillis) {
+        if (started.compareAndSet(false, true)) {
+            startNanos = System.nanoTime();
+            Thread.ofPlatform().name(threadName).daemon(true).start(this::run);
+        }
+        timeout.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        long tick = 0;
+        while (true) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long now;
+            while ((now = System.nanoTime()) < deadline) {
+                LockSupport.parkNanos(deadline - now);
+            }
+
+            Timeout c;
+            while ((c = cancelled.poll()) != null) {
+                if (c.bucket != null) {
+                    c.bucket.remove(c);
+                }
+            }
+            transferPending(tick);
+            wheel[(int) (tick & mask)].expire(now);
+            tick++;
+        }
+    }
+
+    /** Moves newly scheduled timeouts into the bucket of their deadline. */
+    private void transferPending(long tick) {
+        Timeout t;
+        while ((t = pending.poll()) != null) {
+            if (t.isCancelled()) {
+                continue;
+            }
+            long dueTick = Math.max(tick, (t.deadline - startNanos + tickNanos - 1) / tickNanos);
+            t.rounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (dueTick & mask)].add(t);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public final class Timeout implements Cancellable {
+
+        private static final int ACTIVE = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+
+        /** Period in nanoseconds for repeating timeouts, 0 for one-shot timeouts. */
+        private final long periodNanos;
+
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+
+        /** Absolute deadline in {@link System#nanoTime()} units. */
+        private long deadline;
+
+        /** Remaining revolutions of the wheel before the deadline is reached. */
+        private long rounds;
+
+        /** Bucket and neighbours while linked into the wheel; owned by the wheel thread. */
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long periodNanos) {
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Cancels the task. A task that is already running is not interrupted; a repeating
+         * task does not run again.
+         *
+         * @return {@code true} if this call cancelled it
+         */
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(ACTIVE, CANCELLED)) {
+                cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        /** @return whether {@link #cancel()} was called before the task expired */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /** @return whether a one-shot task has run */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (periodNanos == 0 && !state.compareAndSet(ACTIVE, EXPIRED)) {
+                return;
+            }
+            if (periodNanos != 0 && isCancelled()) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "[ERROR] Fehler in einer Timer-Aufgabe: " + e.getMessage(), e);
+            }
+            if (periodNanos != 0 && !isCancelled()) {
+                deadline += periodNanos;
+                pending.add(this);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts hashed into one slot of the wheel.
+     * Only touched by the wheel thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            t.bucket = this;
+            t.prev = tail;
+            t.next = null;
+            if (tail == null) {
+                head = t;
+            } else {
+                tail.next = t;
+            }
+            tail = t;
+        }
+
+        void remove(Timeout t) {
+            if (t.prev != null) {
+                t.prev.next = t.next;
+            } else {
+                head = t.next;
+            }
+            if (t.next != null) {
+                t.next.prev = t.prev;
+            } else {
+                tail = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+            t.bucket = null;
+        }
+
+        /** Runs every timeout of this bucket that is due in the current revolution. */
+        void expire(long now) {
+            Timeout t = head;
+            while (t != null) {
+                Timeout next = t.next;
+                if (t.isCancelled()) {
+                    remove(t);
+                } else if (t.rounds <= 0 && t.deadline <= now) {
+                    remove(t);
+                    t.expire();
+                } else if (t.rounds > 0) {
+                    t.rounds--;
+                }
+                t = next;
+            }
+        }
+    }
+}
@@ -14,12 +14,23 @@ import java.util.logging.Logger;
  */
 public class LogConfigurator {
 
+    /**
+     * System property that overrides the level requested by the callers, e.g. {@code WARNING}
+     * for simulations and benchmarks where per-message debug output would dominate the run time.
+     */
+    public static final String LEVEL_PROPERTY = "roborally.logLevel";
+
     /**
      * Sets the root logger's level and updates every already-attached handler to the same level.
+     * The system property {@value #LEVEL_PROPERTY}, if set, takes precedence.
      *
      * @param level the minimum {@link Level} to log globally (e.g. {@link Level#FINE})
      */
     public static void configureRootLogger(Level level){
+        String override = System.getProperty(LEVEL_PROPERTY);
+        if (override != null) {
+            level = Level.parse(override);
+        }
         Logger rootLogger = Logger.getLogger("");
         rootLogger.setLevel(level);
         for(Handler handler : rootLogger.getHandlers()){
@@ -0,0 +1,118 @@
+package de.lmu.util;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Simulated clock for running games without waiting.
+ * <p>
+ * Nothing runs by itself: {@link #run(long)} takes the due events one by one and jumps the
+ * time straight to the next deadline, so a 30 second countdown costs no more than any other
+ * event. Events with the same deadline run in the order they were scheduled, which makes a
+ * simulation reproducible.
+ * <p>
+ * The clock also serves as the {@link Executor} of the game loops in a simulation; their
+ * drains then run as events at the current time, on the thread that drives the clock.
+ * A virtual clock is not thread-safe and must only be used by that thread.
+ */
+public class VirtualClock implements Clock, Executor {
+
+    /** Pending events by deadline, then by scheduling order. */
+    private final PriorityQueue<Event> queue = new PriorityQueue<>();
+
+    /** Current simulated time in milliseconds. */
+    private long now;
+
+    /** Sequence number of the next event, breaks ties between equal deadlines. */
+    private long nextSeq;
+
+    /** Number of events run so far. */
+    private long executed;
+
+    @Override
+    public long millis() {
+        return now;
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delayMillis) {
+        Event event = new Event(task, now + Math.max(0, delayMillis), nextSeq++);
+        queue.add(event);
+        return event;
+    }
+
+    /**
+     * Runs a task as an event at the current time, after all events already due.
+     *
+     * @param task the task
+     */
+    @Override
+    public void execute(Runnable task) {
+        schedule(task, 0);
+    }
+
+    /**
+     * Runs events in deadline order until none are left or the limit is reached.
+     * Exceptions of a task propagate to the caller.
+     *
+     * @param maxEvents maximum number of events to run
+     * @return {@code true} if no events are left
+     */
+    public boolean run(long maxEvents) {
+        for (long i = 0; i < maxEvents; i++) {
+            Event event = queue.poll();
+            if (event == null) {
+                return true;
+            }
+            if (event.done) {
+                continue; // abgebrochen
+            }
+            event.done = true;
+            now = event.deadline;
+            executed++;
+            event.task.run();
+        }
+        return queue.isEmpty();
+    }
+
+    /** @return number of events that have run */
+    public long executed() {
+        return executed;
+    }
+
+    /** @return whether no event is pending */
+    public boolean isIdle() {
+        return queue.isEmpty();
+    }
+
+    /** A scheduled task. */
+    private static final class Event implements Cancellable, Comparable<Event> {
+
+        final Runnable task;
+        final long deadline;
+        final long seq;
+        /** Set once the event ran or was cancelled. */
+        boolean done;
+
+        Event(Runnable task, long deadline, long seq) {
+            this.task = task;
+            this.deadline = deadline;
+            this.seq = seq;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (done) {
+                return false;
+            }
+            done = true;
+            return true;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byDeadline = Long.compare(deadline, other.deadline);
+            return byDeadline != 0 ? byDeadline : Long.compare(seq, other.seq);
+        }
+    }
+}